@@ -0,0 +1,164 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.models.User;
+import leonardo.labutilities.qualitylabpro.domains.users.models.UserConfig;
+
+// saveAll-style ingest against an in-memory database: pooled sequence ids (Analytic) vs. the
+// IDENTITY ids it replaced, with the batch settings from application.properties. IDENTITY sends
+// one INSERT per row, the sequence one per 100 rows plus one id fetch per 50; H2 runs in-process,
+// so it shows the Hibernate-side cost and not the round trips a MariaDB server adds.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsIngestBenchmark {
+
+	@Param({"1000", "10000"})
+	private int size;
+
+	private SessionFactory sessionFactory;
+	private List<AnalyticsDTO> records;
+	private List<Analytic> sequenceBatch;
+	private List<IdentityAnalytic> identityBatch;
+
+	// The id mapping Analytic had before V31; every other column as in analytics
+	@Entity(name = "analytics_identity")
+	public static class IdentityAnalytic {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+
+		@Column(name = "measurement_date", nullable = false)
+		private LocalDateTime measurementDate;
+
+		@Column(name = "control_level_lot", length = 25)
+		private String controlLevelLot;
+
+		@Column(name = "reagent_lot", length = 25)
+		private String reagentLot;
+
+		@Column(name = "test_name", nullable = false, length = 25)
+		private String testName;
+
+		@Column(name = "control_level", length = 25)
+		private String controlLevel;
+
+		@Column(name = "measurement_value", nullable = false)
+		private double measurementValue;
+
+		@Column(name = "target_mean", nullable = false)
+		private double targetMean;
+
+		@Column(name = "standard_deviation", nullable = false)
+		private double standardDeviation;
+
+		@Column(nullable = false, name = "measurement_unit", length = 15)
+		private String measurementUnit;
+
+		@Column(nullable = false, length = 15)
+		private String controlRules;
+
+		@Column(nullable = false, length = 75)
+		private String description;
+
+		public IdentityAnalytic() {}
+
+		IdentityAnalytic(AnalyticsDTO values) {
+			this.measurementDate = values.date();
+			this.controlLevelLot = values.level_lot();
+			this.reagentLot = values.test_lot();
+			this.testName = values.name();
+			this.controlLevel = values.level();
+			this.measurementValue = values.value();
+			this.targetMean = values.mean();
+			this.standardDeviation = values.sd();
+			this.measurementUnit = values.unit_value();
+			this.controlRules = values.rules();
+			this.description = values.description();
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		sessionFactory = new Configuration().addAnnotatedClass(Analytic.class)
+				.addAnnotatedClass(IdentityAnalytic.class).addAnnotatedClass(User.class)
+				.addAnnotatedClass(UserConfig.class)
+				.setProperty("hibernate.connection.url",
+						"jdbc:h2:mem:ingest;MODE=MariaDB;DB_CLOSE_DELAY=-1")
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.hbm2ddl.auto", "create-drop")
+				.setProperty("hibernate.jdbc.batch_size", "100")
+				.setProperty("hibernate.order_inserts", "true").buildSessionFactory();
+		// Mirrors V30; the entity mapping still declares the older column length
+		sessionFactory.inTransaction(session -> session
+				.createNativeMutationQuery(
+						"ALTER TABLE analytics ALTER COLUMN description VARCHAR(75)")
+				.executeUpdate());
+		// Posted records carry no id
+		records = BenchmarkData.analytics(size).stream()
+				.map(analytic -> new AnalyticsDTO(null, analytic.date(), analytic.level_lot(),
+						analytic.test_lot(), analytic.name(), analytic.level(), analytic.value(),
+						analytic.mean(), analytic.sd(), analytic.unit_value(), analytic.rules(),
+						analytic.description()))
+				.toList();
+	}
+
+	// Fresh, empty tables and unsaved entities for every batch; a batch takes milliseconds, so
+	// the per-invocation setup does not distort the timing
+	@Setup(Level.Invocation)
+	public void prepareBatch() {
+		sessionFactory.inTransaction(session -> {
+			session.createNativeMutationQuery("TRUNCATE TABLE analytics").executeUpdate();
+			session.createNativeMutationQuery("TRUNCATE TABLE analytics_identity")
+					.executeUpdate();
+		});
+		sequenceBatch = records.stream().map(AnalyticMapper::toNewEntity).toList();
+		identityBatch = records.stream().map(IdentityAnalytic::new).toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public int pooledSequenceIds() {
+		sessionFactory.inTransaction(session -> sequenceBatch.forEach(session::persist));
+		return sequenceBatch.size();
+	}
+
+	@Benchmark
+	public int identityIds() {
+		sessionFactory.inTransaction(session -> identityBatch.forEach(session::persist));
+		return identityBatch.size();
+	}
+}
@@ -0,0 +1,98 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.models.User;
+import leonardo.labutilities.qualitylabpro.domains.users.models.UserConfig;
+
+// Date-range read against an in-memory database: entity hydration + mapping vs. DTO projection
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsReadPathBenchmark {
+
+	private static final String ENTITY_QUERY = """
+			SELECT ga FROM analytics ga WHERE ga.measurementDate BETWEEN :startDate AND :endDate
+			 ORDER BY ga.measurementDate DESC
+			""";
+
+	private static final String PROJECTION_QUERY = AnalyticsRepository.ANALYTICS_DTO_PROJECTION
+			+ " WHERE ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate DESC";
+
+	@Param({"10000"})
+	private int size;
+
+	private SessionFactory sessionFactory;
+	private LocalDateTime startDate;
+	private LocalDateTime endDate;
+
+	@Setup
+	public void setUp() {
+		sessionFactory = new Configuration().addAnnotatedClass(Analytic.class)
+				.addAnnotatedClass(User.class).addAnnotatedClass(UserConfig.class)
+				.setProperty("hibernate.connection.url",
+						"jdbc:h2:mem:read-path;MODE=MariaDB;DB_CLOSE_DELAY=-1")
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.hbm2ddl.auto", "create-drop")
+				.setProperty("hibernate.jdbc.batch_size", "500").buildSessionFactory();
+
+		List<AnalyticsDTO> records = BenchmarkData.analytics(size);
+		try (StatelessSession session = sessionFactory.openStatelessSession()) {
+			session.getTransaction().begin();
+			// Mirrors V30; the entity mapping still declares the older column length
+			session.createNativeMutationQuery(
+					"ALTER TABLE analytics ALTER COLUMN description VARCHAR(75)").executeUpdate();
+			records.forEach(analyticsRecord -> session
+					.insert(AnalyticMapper.toNewEntity(analyticsRecord)));
+			session.getTransaction().commit();
+		}
+		startDate = records.getFirst().date();
+		endDate = records.getLast().date();
+	}
+
+	@TearDown
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public List<AnalyticsDTO> hydrateEntitiesThenMap() {
+		return sessionFactory.fromTransaction(session -> session
+				.createSelectionQuery(ENTITY_QUERY, Analytic.class)
+				.setParameter("startDate", startDate).setParameter("endDate", endDate)
+				.getResultList().stream().map(AnalyticMapper::toRecord).toList());
+	}
+
+	@Benchmark
+	public List<AnalyticsDTO> constructorProjection() {
+		return sessionFactory.fromTransaction(session -> {
+			session.setDefaultReadOnly(true);
+			return session.createSelectionQuery(PROJECTION_QUERY, AnalyticsDTO.class)
+					.setParameter("startDate", startDate).setParameter("endDate", endDate)
+					.getResultList();
+		});
+	}
+}
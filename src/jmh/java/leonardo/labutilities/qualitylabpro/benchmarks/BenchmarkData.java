@@ -0,0 +1,34 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+
+// Deterministic control-point fixtures shared by the benchmarks
+final class BenchmarkData {
+
+	private static final String[] NAMES = {"ALB2", "ALTL", "AMYL2", "GLUC3", "CREJ2", "WBC"};
+	private static final String[] LEVELS = {"PCCC1", "PCCC2"};
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 7, 30);
+
+	private BenchmarkData() {}
+
+	static List<AnalyticsDTO> analytics(int size) {
+		SplittableRandom random = new SplittableRandom(42);
+		List<AnalyticsDTO> records = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			double mean = 100.0 + (i % NAMES.length) * 10;
+			double sd = 2.5;
+			double value = mean + random.nextGaussian() * sd * 1.2;
+			ControlClassification classification = ControlClassification.classify(value, mean, sd);
+			records.add(new AnalyticsDTO((long) i + 1, START.plusMinutes(i * 17L),
+					"LOT" + (i % 3), "R" + (i % 5), NAMES[i % NAMES.length],
+					LEVELS[(i / NAMES.length) % LEVELS.length], value, mean, sd, "mg/dL",
+					classification.getRules(), classification.getDescription()));
+		}
+		return records;
+	}
+}
@@ -0,0 +1,46 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+
+// Run with -prof gc: gc.alloc.rate.norm should report ~0 B/op for classify
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControlClassificationBenchmark {
+
+	private static final int POINTS = 1024;
+	private static final double MEAN = 118.3;
+	private static final double SD = 2.5;
+
+	private final double[] values = new double[POINTS];
+	private int cursor;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < POINTS; i++) {
+			values[i] = MEAN + (random.nextDouble() * 8 - 4) * SD;
+		}
+	}
+
+	@Benchmark
+	public ControlClassification classify() {
+		double value = values[cursor++ & (POINTS - 1)];
+		return ControlClassification.classify(value, MEAN, SD);
+	}
+}
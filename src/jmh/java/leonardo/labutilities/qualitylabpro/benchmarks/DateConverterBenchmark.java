@@ -0,0 +1,49 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import leonardo.labutilities.qualitylabpro.domains.shared.components.StringToLocalDateTimeConverter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateConverterBenchmark {
+
+	private static final String[] FORMATS = {"2024-12-16T07:53:00", "2024-12-16 07:53:00",
+			"16/12/2024 07:53:00", "2024-12-16", "16/12/2024"};
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private String[] inputs;
+	private final StringToLocalDateTimeConverter converter = new StringToLocalDateTimeConverter();
+
+	@Setup
+	public void setUp() {
+		inputs = new String[size];
+		for (int i = 0; i < size; i++) {
+			inputs[i] = FORMATS[i % FORMATS.length];
+		}
+	}
+
+	@Benchmark
+	public void convert(Blackhole blackhole) {
+		for (String input : inputs) {
+			blackhole.consume(converter.convert(input));
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ANALYTICS_WARNING_HEADER;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.HTML_TEMPLATE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.LAST_ANALYTICS_PARAGRAPH;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_ROW;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_STYLE;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailBodyBenchmark {
+
+	private static final String VALIDATIONS = "<div>Rule validation summary</div>";
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private List<AnalyticsDTO> records;
+	private final EmailService emailService = new EmailService(null);
+
+	@Setup
+	public void setUp() {
+		records = BenchmarkData.analytics(size);
+	}
+
+	@Benchmark
+	public String generateAnalyticsFailedEmailBody() {
+		return emailService.generateAnalyticsFailedEmailBody(records, VALIDATIONS);
+	}
+
+	// Baseline: the String.format path the compiled templates replaced
+	@Benchmark
+	public String legacyStringFormatBody() {
+		String formattedList = records.stream()
+				.map(analytics -> String.format(TABLE_ROW, analytics.name(), analytics.level(),
+						analytics.value().toString(), analytics.mean().toString(),
+						analytics.rules(), analytics.description(),
+						analytics.date().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))))
+				.collect(Collectors.joining("\n"));
+		return String.format(HTML_TEMPLATE, ANALYTICS_WARNING_HEADER
+				+ String.format(TABLE_STYLE, formattedList) + LAST_ANALYTICS_PARAGRAPH + "\n"
+				+ VALIDATIONS);
+	}
+}
@@ -0,0 +1,82 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.AnalyticsHelperController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.HematologyAnalyticsController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsHelperUtility;
+
+// Link building reads the current request, so each thread gets a mock one bound
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HateoasLinksBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private List<AnalyticsDTO> records;
+	private Page<AnalyticsDTO> page;
+	private Pageable pageable;
+	private final AnalyticsHelperController controller = new HematologyAnalyticsController(null);
+
+	@Setup
+	public void setUp() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET",
+				"/hematology-analytics/date-range");
+		request.setQueryString("startDate=2024-01-01 00:00:00&endDate=2024-12-31 23:59:59&page=1");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		records = BenchmarkData.analytics(size);
+		pageable = PageRequest.of(1, 100);
+		page = new PageImpl<>(records.subList(0, Math.min(100, size)), pageable, size * 3L);
+	}
+
+	@TearDown
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Benchmark
+	public List<EntityModel<AnalyticsDTO>> createEntityModel() {
+		return records.stream()
+				.map(analyticsRecord -> AnalyticsHelperUtility.createEntityModel(analyticsRecord,
+						controller))
+				.toList();
+	}
+
+	@Benchmark
+	public List<EntityModel<AnalyticsDTO>> createEntityModels() {
+		return AnalyticsHelperUtility.createEntityModels(records, controller);
+	}
+
+	@Benchmark
+	public CollectionModel<EntityModel<AnalyticsDTO>> addPaginationLinks() {
+		return AnalyticsHelperUtility.addPaginationLinks(CollectionModel.empty(), page, pageable);
+	}
+}
@@ -0,0 +1,69 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.StatisticsAccumulator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private List<AnalyticsDTO> records;
+	private double[] values;
+	private AnalyticHelperService analyticHelperService;
+
+	@Setup
+	public void setUp() {
+		records = BenchmarkData.analytics(size);
+		values = records.stream().mapToDouble(AnalyticsDTO::value).toArray();
+		analyticHelperService = new AnalyticHelperService(Mockito.mock(AnalyticsRepository.class),
+				Mockito.mock(AnalyticsAlertOutbox.class),
+				Mockito.mock(RulesProviderComponent.class),
+				Mockito.mock(AnalyticsRollupService.class),
+				Mockito.mock(AnalyticsCacheInvalidator.class),
+				Mockito.mock(AnalyticsRequestCoalescer.class),
+				Mockito.mock(AnalyticsLiveFeed.class), Mockito.mock(AnalyticsHotWindow.class),
+				Mockito.mock(ApplicationEventPublisher.class));
+	}
+
+	@Benchmark
+	public MeanAndStdDeviationDTO computeStatistics() {
+		return analyticHelperService.calcMeanAndStandardDeviationOptimized(records);
+	}
+
+	@Benchmark
+	public MeanAndStdDeviationDTO accumulatePrimitives() {
+		return StatisticsAccumulator.of(values).toMeanAndStdDeviation();
+	}
+}
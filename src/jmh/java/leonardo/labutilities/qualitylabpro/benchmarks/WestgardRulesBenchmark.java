@@ -0,0 +1,67 @@
+package leonardo.labutilities.qualitylabpro.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.WestgardRuleEngine;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+
+// Windows start empty (the mocked repository returns no history) and are fed by record()
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WestgardRulesBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private List<AnalyticsDTO> records;
+	private List<Analytic> entities;
+	private WestgardRuleEngine engine;
+	private RulesProviderComponent rulesProvider;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		records = BenchmarkData.analytics(size);
+		entities = records.stream().map(AnalyticMapper::toEntity).toList();
+		engine = new WestgardRuleEngine(Mockito.mock(AnalyticsRepository.class));
+		rulesProvider = new RulesProviderComponent(engine);
+	}
+
+	@Setup(Level.Iteration)
+	public void warmWindows() {
+		engine.invalidateAll();
+		records.forEach(analyticsRecord -> engine.evaluate(analyticsRecord.name(),
+				analyticsRecord.level(), analyticsRecord.level_lot()));
+	}
+
+	@Benchmark
+	public void recordMeasurements() {
+		engine.record(entities);
+	}
+
+	// Every record is treated as failed so each one is evaluated and reported
+	@Benchmark
+	public String findAndRenderViolations() {
+		return rulesProvider.renderViolations(rulesProvider.findViolations(entities, entities));
+	}
+}
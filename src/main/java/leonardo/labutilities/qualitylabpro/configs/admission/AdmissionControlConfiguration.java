@@ -0,0 +1,64 @@
+package leonardo.labutilities.qualitylabpro.configs.admission;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Lane sizes follow the Hikari pool; Tomcat itself is no longer capped, virtual threads are cheap
+@Configuration
+public class AdmissionControlConfiguration {
+
+	@Value("${admission.enabled:true}")
+	private boolean enabled;
+
+	@Value("${admission.lookup.max-concurrent:8}")
+	private int lookupMaxConcurrent;
+
+	@Value("${admission.lookup.max-queue:64}")
+	private int lookupMaxQueue;
+
+	@Value("${admission.lookup.max-wait:PT0.5S}")
+	private Duration lookupMaxWait;
+
+	@Value("${admission.scan.max-concurrent:4}")
+	private int scanMaxConcurrent;
+
+	@Value("${admission.scan.max-queue:16}")
+	private int scanMaxQueue;
+
+	@Value("${admission.scan.max-wait:PT5S}")
+	private Duration scanMaxWait;
+
+	@Value("${admission.retry-after:PT2S}")
+	private Duration retryAfter;
+
+	@Bean
+	AdmissionLane lookupAdmissionLane(MeterRegistry meterRegistry) {
+		return new AdmissionLane("lookup", this.lookupMaxConcurrent, this.lookupMaxQueue,
+				this.lookupMaxWait, this.retryAfter, meterRegistry);
+	}
+
+	@Bean
+	AdmissionLane scanAdmissionLane(MeterRegistry meterRegistry) {
+		return new AdmissionLane("scan", this.scanMaxConcurrent, this.scanMaxQueue,
+				this.scanMaxWait, this.retryAfter, meterRegistry);
+	}
+
+	// Default order runs after Spring Security, so unauthenticated calls never take a slot
+	@Bean
+	FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+			@Qualifier("lookupAdmissionLane") AdmissionLane lookupLane,
+			@Qualifier("scanAdmissionLane") AdmissionLane scanLane,
+			@Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+		FilterRegistrationBean<AdmissionControlFilter> registration =
+				new FilterRegistrationBean<>(
+						new AdmissionControlFilter(lookupLane, scanLane, exceptionResolver));
+		registration.setEnabled(this.enabled);
+		return registration;
+	}
+}
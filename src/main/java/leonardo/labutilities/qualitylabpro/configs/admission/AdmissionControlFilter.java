@@ -0,0 +1,120 @@
+package leonardo.labutilities.qualitylabpro.configs.admission;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling.ServiceOverloadedException;
+
+// Analytics requests need a database connection; this keeps them from all queueing on the pool
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	static final String ANALYTICS_PATTERN = "/*-analytics/**";
+	static final String LOOKUP_PATTERN = "/*-analytics/{id:[0-9]+}";
+	static final String LIVE_PATTERN = "/*-analytics/live";
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final AdmissionLane lookupLane;
+	private final AdmissionLane scanLane;
+	private final HandlerExceptionResolver exceptionResolver;
+
+	public AdmissionControlFilter(AdmissionLane lookupLane, AdmissionLane scanLane,
+			HandlerExceptionResolver exceptionResolver) {
+		this.lookupLane = lookupLane;
+		this.scanLane = scanLane;
+		this.exceptionResolver = exceptionResolver;
+	}
+
+	// Single-row reads by id are cheap and must not wait behind multi-year range scans
+	AdmissionLane laneFor(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		// Live streams stay open for minutes without touching the pool; they are capped on their own
+		if (!this.pathMatcher.match(ANALYTICS_PATTERN, path)
+				|| this.pathMatcher.match(LIVE_PATTERN, path)) {
+			return null;
+		}
+		if (HttpMethod.GET.matches(request.getMethod())
+				&& this.pathMatcher.match(LOOKUP_PATTERN, path)) {
+			return this.lookupLane;
+		}
+		return this.scanLane;
+	}
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+			throws ServletException, IOException {
+		AdmissionLane lane = this.laneFor(request);
+		if (lane == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		boolean admitted;
+		try {
+			admitted = lane.tryEnter();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			admitted = false;
+		}
+		if (!admitted) {
+			this.exceptionResolver.resolveException(request, response, null,
+					new ServiceOverloadedException(lane.name(), lane.retryAfter()));
+			return;
+		}
+
+		Runnable exit = exitOnce(lane);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			// Streaming exports keep working after this thread returns; release when they end
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ExitOnCompletion(exit));
+			} else {
+				exit.run();
+			}
+		}
+	}
+
+	private static Runnable exitOnce(AdmissionLane lane) {
+		AtomicBoolean exited = new AtomicBoolean();
+		return () -> {
+			if (exited.compareAndSet(false, true)) {
+				lane.exit();
+			}
+		};
+	}
+
+	private record ExitOnCompletion(Runnable exit) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			this.exit.run();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			this.exit.run();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			this.exit.run();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// A restarted async cycle drops its listeners; stay registered until the real end
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package leonardo.labutilities.qualitylabpro.configs.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// A fixed number of requests run at once; a bounded number wait, everyone else is turned away
+public class AdmissionLane {
+
+	static final String ACTIVE_METRIC = "http.admission.active";
+	static final String QUEUED_METRIC = "http.admission.queued";
+	static final String ADMITTED_METRIC = "http.admission.admitted";
+	static final String REJECTED_METRIC = "http.admission.rejected";
+	static final String WAIT_METRIC = "http.admission.wait";
+
+	private final String name;
+	private final int maxConcurrent;
+	private final int maxQueued;
+	private final Duration maxWait;
+	private final Duration retryAfter;
+	private final Semaphore permits;
+	private final AtomicInteger queued = new AtomicInteger();
+	private final Counter admitted;
+	private final Counter rejectedQueueFull;
+	private final Counter rejectedTimeout;
+	private final Timer wait;
+
+	public AdmissionLane(String name, int maxConcurrent, int maxQueued, Duration maxWait,
+			Duration retryAfter, MeterRegistry meterRegistry) {
+		if (maxConcurrent < 1 || maxQueued < 0) {
+			throw new IllegalArgumentException("Admission lane '" + name
+					+ "' needs at least one permit and a non-negative queue");
+		}
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+		this.maxWait = maxWait;
+		this.retryAfter = retryAfter;
+		// Fair, so queued requests are served in arrival order instead of being overtaken
+		this.permits = new Semaphore(maxConcurrent, true);
+
+		Gauge.builder(ACTIVE_METRIC, this, AdmissionLane::active)
+				.description("Requests currently running in the admission lane").tag("lane", name)
+				.register(meterRegistry);
+		Gauge.builder(QUEUED_METRIC, this, AdmissionLane::queued)
+				.description("Requests waiting for a slot in the admission lane").tag("lane", name)
+				.register(meterRegistry);
+		this.admitted = Counter.builder(ADMITTED_METRIC)
+				.description("Requests admitted by the admission lane").tag("lane", name)
+				.register(meterRegistry);
+		this.rejectedQueueFull = Counter.builder(REJECTED_METRIC)
+				.description("Requests turned away by the admission lane").tag("lane", name)
+				.tag("reason", "queue-full").register(meterRegistry);
+		this.rejectedTimeout = Counter.builder(REJECTED_METRIC)
+				.description("Requests turned away by the admission lane").tag("lane", name)
+				.tag("reason", "timeout").register(meterRegistry);
+		this.wait = Timer.builder(WAIT_METRIC)
+				.description("Time queued requests waited for a slot").tag("lane", name)
+				.register(meterRegistry);
+	}
+
+	public String name() {
+		return this.name;
+	}
+
+	public Duration retryAfter() {
+		return this.retryAfter;
+	}
+
+	public int active() {
+		return this.maxConcurrent - this.permits.availablePermits();
+	}
+
+	public int queued() {
+		return this.queued.get();
+	}
+
+	// Callers that get true must call exit() exactly once
+	public boolean tryEnter() throws InterruptedException {
+		// The timed form honours fairness; a plain tryAcquire() would jump the queue
+		if (this.permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+			this.admitted.increment();
+			return true;
+		}
+		if (this.queued.incrementAndGet() > this.maxQueued) {
+			this.queued.decrementAndGet();
+			this.rejectedQueueFull.increment();
+			return false;
+		}
+		long start = System.nanoTime();
+		try {
+			if (this.permits.tryAcquire(this.maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+				this.admitted.increment();
+				return true;
+			}
+			this.rejectedTimeout.increment();
+			return false;
+		} finally {
+			this.queued.decrementAndGet();
+			this.wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	public void exit() {
+		this.permits.release();
+	}
+}
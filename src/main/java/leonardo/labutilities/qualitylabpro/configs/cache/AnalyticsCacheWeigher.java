@@ -0,0 +1,23 @@
+package leonardo.labutilities.qualitylabpro.configs.cache;
+
+import java.util.Collection;
+import org.springframework.data.domain.Page;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+public final class AnalyticsCacheWeigher implements Weigher<Object, Object> {
+
+	public static int rows(Object value) {
+		if (value instanceof Page<?> page) {
+			return Math.max(1, page.getNumberOfElements());
+		}
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		return 1;
+	}
+
+	@Override
+	public int weigh(Object key, Object value) {
+		return rows(value);
+	}
+}
@@ -0,0 +1,58 @@
+package leonardo.labutilities.qualitylabpro.configs.cache;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+public class CacheConfiguration {
+
+	public static final String USER_PRINCIPALS = "userPrincipals";
+	public static final String MEAN_AND_STD_DEVIATION = "meanAndStdDeviation";
+	public static final String GROUPED_MEAN_AND_STD_DEVIATION =
+			"calculateGroupedMeanAndStandardDeviation";
+	public static final String ANALYTICS_BY_NAME_AND_DATE_RANGE = "analyticsByNameAndDateRange";
+	public static final String ANALYTICS_BY_NAME_WITH_PAGINATION = "AnalyticsByNameWithPagination";
+	public static final String STATISTICS_BY_NAME_AND_LEVEL = "statisticsByNameAndLevel";
+
+	public static final List<String> ANALYTICS_CACHES = List.of(MEAN_AND_STD_DEVIATION,
+			GROUPED_MEAN_AND_STD_DEVIATION, ANALYTICS_BY_NAME_AND_DATE_RANGE,
+			ANALYTICS_BY_NAME_WITH_PAGINATION, STATISTICS_BY_NAME_AND_LEVEL);
+
+	static final String ANALYTICS_SPEC_PROPERTY = "analytics.cache.spec.";
+	static final String DEFAULT_ANALYTICS_SPEC = "maximumSize=500,expireAfterAccess=600s";
+
+	private static final Duration USER_PRINCIPALS_TTL = Duration.ofSeconds(60);
+
+	// Principals expire after write so role or lock changes made outside the app still land
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> userPrincipalsCacheCustomizer() {
+		return cacheManager -> cacheManager.registerCustomCache(USER_PRINCIPALS,
+				Caffeine.newBuilder().maximumSize(1_000).expireAfterWrite(USER_PRINCIPALS_TTL)
+						.recordStats().build());
+	}
+
+	// Each analytics cache is sized on its own; Micrometer binds the stats of registered caches
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> analyticsCachesCustomizer(
+			Environment environment) {
+		return cacheManager -> ANALYTICS_CACHES.forEach(name -> cacheManager.registerCustomCache(
+				name, analyticsCache(environment.getProperty(ANALYTICS_SPEC_PROPERTY + name,
+						DEFAULT_ANALYTICS_SPEC))));
+	}
+
+	// A maximumWeight in the spec is counted in cached rows rather than entries
+	static Cache<Object, Object> analyticsCache(String spec) {
+		Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+		if (spec.contains("maximumWeight")) {
+			builder = builder.weigher(new AnalyticsCacheWeigher());
+		}
+		return builder.build();
+	}
+}
@@ -9,6 +9,7 @@ public final class ApiEndpoints {
 	public static final String USERS_PATH = "/users/**";
 	public static final String PASSWORD_PATH = "/users/password/**";
 	public static final String RECOVER_PASSWORD_PATH = "/users/password/recover";
+	public static final String ADMIN_PATH = "/admin/**";
 
 
 	public static final String SIGN_IN_PATH = "/users/sign-in";
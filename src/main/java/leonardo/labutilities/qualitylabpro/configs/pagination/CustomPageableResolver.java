@@ -49,9 +49,16 @@ public class CustomPageableResolver extends PageableHandlerMethodArgumentResolve
         String pageSize = webRequest
                 .getParameter(getParameterNameToUse(getSizeParameterName(), methodParameter));
 
+        Pageable pageable = getPageable(methodParameter, page, pageSize);
+
+        String cursor = webRequest.getParameter(KeysetPageRequest.CURSOR_PARAMETER);
+        if (cursor != null) {
+            return KeysetPageRequest.of(cursor, pageable.isPaged() ? pageable.getPageSize()
+                    : KeysetPageRequest.DEFAULT_PAGE_SIZE);
+        }
+
         Sort sort = sortResolver.resolveArgument(methodParameter, mavContainer, webRequest,
                 binderFactory);
-        Pageable pageable = getPageable(methodParameter, page, pageSize);
 
         if (!sort.isSorted()) {
             return pageable;
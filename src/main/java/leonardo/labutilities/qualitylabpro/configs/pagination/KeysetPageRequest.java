@@ -0,0 +1,77 @@
+package leonardo.labutilities.qualitylabpro.configs.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import lombok.Getter;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
+
+// Seek position on (measurement_date DESC, id DESC); an empty cursor starts from the newest row
+@Getter
+public class KeysetPageRequest extends PageRequest {
+
+	public static final String CURSOR_PARAMETER = "cursor";
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private static final LocalDateTime FIRST_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+	private static final char SEPARATOR = '|';
+
+	private final LocalDateTime cursorDate;
+	private final long cursorId;
+
+	private KeysetPageRequest(int pageSize, LocalDateTime cursorDate, long cursorId) {
+		super(0, pageSize, Sort.by(Sort.Direction.DESC, "measurementDate", "id"));
+		this.cursorDate = cursorDate;
+		this.cursorId = cursorId;
+	}
+
+	public static KeysetPageRequest first(int pageSize) {
+		return new KeysetPageRequest(pageSize, FIRST_DATE, Long.MAX_VALUE);
+	}
+
+	public static KeysetPageRequest after(LocalDateTime date, long id, int pageSize) {
+		return new KeysetPageRequest(pageSize, date, id);
+	}
+
+	public static KeysetPageRequest of(String cursor, int pageSize) {
+		if (cursor == null || cursor.isBlank()) {
+			return first(pageSize);
+		}
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+					StandardCharsets.UTF_8);
+			int separator = decoded.lastIndexOf(SEPARATOR);
+			return after(LocalDateTime.parse(decoded.substring(0, separator)),
+					Long.parseLong(decoded.substring(separator + 1)), pageSize);
+		} catch (IllegalArgumentException | DateTimeParseException
+				| StringIndexOutOfBoundsException e) {
+			throw new CustomGlobalErrorHandling.InvalidCursorException(cursor, e);
+		}
+	}
+
+	public static String encode(LocalDateTime date, long id) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((date.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof KeysetPageRequest that)) {
+			return false;
+		}
+		return super.equals(that) && this.cursorId == that.cursorId
+				&& this.cursorDate.equals(that.cursorDate);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(super.hashCode(), this.cursorDate, this.cursorId);
+	}
+}
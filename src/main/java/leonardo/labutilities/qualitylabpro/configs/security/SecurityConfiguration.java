@@ -50,6 +50,10 @@ public class SecurityConfiguration {
                               req.requestMatchers(HttpMethod.PATCH, ApiEndpoints.ADMIN_MODIFY_PATHS)
                                           .hasRole(UserRoles.ADMIN.name());
 
+                              // Operational endpoints (admin only)
+                              req.requestMatchers(ApiEndpoints.ADMIN_PATH)
+                                          .hasRole(UserRoles.ADMIN.name());
+
                               // User management (admin only)
                               req.requestMatchers(HttpMethod.DELETE, ApiEndpoints.USERS_PATH)
                                           .hasRole(UserRoles.ADMIN.name());
@@ -0,0 +1,74 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import leonardo.labutilities.qualitylabpro.configs.cache.CacheConfiguration;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+
+@Component
+public class AnalyticsCacheInvalidator {
+
+	private final CacheManager cacheManager;
+
+	public AnalyticsCacheInvalidator(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	// One eviction pass per test, spanning the dates written for it
+	public void evictMeasurements(List<Analytic> analytics) {
+		Map<String, LocalDateTime[]> rangeByName = new HashMap<>();
+		for (Analytic analytic : analytics) {
+			LocalDateTime date = analytic.getMeasurementDate();
+			rangeByName.merge(analytic.getTestName(), new LocalDateTime[] {date, date},
+					(range, single) -> new LocalDateTime[] {
+							range[0].isBefore(date) ? range[0] : date,
+							range[1].isAfter(date) ? range[1] : date});
+		}
+		afterCommit(() -> rangeByName.forEach((name, range) -> this.evict(name, range[0],
+				range[1])));
+	}
+
+	public void evictMeasurement(String name, LocalDateTime date) {
+		afterCommit(() -> this.evict(name, date, date));
+	}
+
+	public void evictTest(String name) {
+		afterCommit(() -> this.evict(name, null, null));
+	}
+
+	void evict(String name, LocalDateTime from, LocalDateTime to) {
+		for (String cacheName : CacheConfiguration.ANALYTICS_CACHES) {
+			Cache cache = this.cacheManager.getCache(cacheName);
+			if (cache instanceof CaffeineCache caffeineCache) {
+				caffeineCache.getNativeCache().asMap().keySet()
+						.removeIf(key -> !(key instanceof AnalyticsCacheKey cacheKey)
+								|| cacheKey.overlaps(name, from, to));
+			} else if (cache != null) {
+				cache.clear();
+			}
+		}
+	}
+
+	// Evicting before commit would let a concurrent reader cache the pre-write rows again
+	private static void afterCommit(Runnable eviction) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			eviction.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				eviction.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,215 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsSeriesKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsHotSeries;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import lombok.extern.slf4j.Slf4j;
+
+// Serves (name, level) range reads, and the mean/SD computed from them, without a query when
+// the range starts inside the recent window.
+// Series are warmed at startup or on first use, appended after each ingest commits and
+// dropped when their rows change in place; an empty Optional means "ask the database".
+@Slf4j
+@Component
+public class AnalyticsHotWindow implements MeterBinder, HealthIndicator {
+
+	static final String SERIES_METRIC = "analytics.hot.series";
+	static final String POINTS_METRIC = "analytics.hot.points";
+	static final String BYTES_METRIC = "analytics.hot.bytes";
+
+	private final AnalyticsRepository analyticsRepository;
+	private final Map<AnalyticsSeriesKeyDTO, AnalyticsHotSeries> series = new ConcurrentHashMap<>();
+
+	@Value("${analytics.hot-window.enabled:true}")
+	private boolean enabled;
+
+	@Value("${analytics.hot-window.window:P90D}")
+	private Duration window;
+
+	@Value("${analytics.hot-window.max-points-per-series:4096}")
+	private int maxPointsPerSeries;
+
+	public AnalyticsHotWindow(AnalyticsRepository analyticsRepository) {
+		this.analyticsRepository = analyticsRepository;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		Gauge.builder(SERIES_METRIC, this, AnalyticsHotWindow::seriesCount)
+				.description("Series held by the analytics hot window").register(registry);
+		Gauge.builder(POINTS_METRIC, this, AnalyticsHotWindow::pointCount)
+				.description("Points held by the analytics hot window").register(registry);
+		Gauge.builder(BYTES_METRIC, this, AnalyticsHotWindow::footprintBytes)
+				.description("Estimated heap held by the analytics hot window").baseUnit("bytes")
+				.register(registry);
+	}
+
+	@Override
+	public Health health() {
+		return Health.up().withDetail("enabled", this.enabled).withDetail("window", this.window)
+				.withDetail("series", this.seriesCount()).withDetail("points", this.pointCount())
+				.withDetail("bytes", this.footprintBytes()).build();
+	}
+
+	public int seriesCount() {
+		return this.series.size();
+	}
+
+	public long pointCount() {
+		return this.series.values().stream().mapToLong(AnalyticsHotSeries::size).sum();
+	}
+
+	public long footprintBytes() {
+		return this.series.values().stream().mapToLong(AnalyticsHotSeries::footprintBytes).sum();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (this.enabled) {
+			this.load();
+		}
+	}
+
+	// One query per series through the same path as lazy warm-up, so ingests racing the load
+	// are neither lost nor doubled
+	public int load() {
+		List<AnalyticsSeriesKeyDTO> keys =
+				this.analyticsRepository.findSeriesKeysByDateFrom(this.horizon());
+		for (AnalyticsSeriesKeyDTO key : keys) {
+			this.series.computeIfAbsent(key.normalized(), this::warm);
+		}
+		log.info("Analytics hot window loaded {} series, {} points, ~{} bytes",
+				this.seriesCount(), this.pointCount(), this.footprintBytes());
+		return this.seriesCount();
+	}
+
+	public Optional<List<AnalyticsDTO>> findByNameAndLevelAndDateBetween(String name,
+			String level, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+		return this.coveringSeries(name, level, startDate, endDate, pageable)
+				.map(hot -> hot.range(AnalyticsHotSeries.epochSecond(startDate),
+						AnalyticsHotSeries.epochSecond(endDate), offset(pageable),
+						limit(pageable)));
+	}
+
+	// Only committed rows are appended; without a transaction they are already committed
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAnalyticsPersisted(AnalyticsPersistedEvent event) {
+		this.recordMeasurements(event.analytics());
+	}
+
+	public void recordMeasurements(List<Analytic> persistedRecords) {
+		if (!this.enabled) {
+			return;
+		}
+		// Series that are not warm pick the points up from the database on first use
+		persistedRecords.stream().map(AnalyticMapper::toRecord)
+				.forEach(analytic -> this.series.computeIfPresent(
+						AnalyticsSeriesKeyDTO.of(analytic.name(), analytic.level()),
+						(key, hot) -> {
+							hot.append(analytic);
+							return hot;
+						}));
+	}
+
+	// Mean updates and deletes rewrite stored rows; the next read re-warms from the database
+	public void invalidate(String name, String level) {
+		if (this.enabled) {
+			afterCommit(() -> this.series.remove(AnalyticsSeriesKeyDTO.of(name, level)));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${analytics.hot-window.trim-interval:PT10M}",
+			initialDelayString = "${analytics.hot-window.trim-interval:PT10M}")
+	public void trim() {
+		if (!this.enabled) {
+			return;
+		}
+		long horizon = AnalyticsHotSeries.epochSecond(this.horizon());
+		for (AnalyticsSeriesKeyDTO key : this.series.keySet()) {
+			this.series.computeIfPresent(key, (ignored, hot) -> {
+				hot.trim(horizon);
+				return hot.size() == 0 ? null : hot;
+			});
+		}
+	}
+
+	private Optional<AnalyticsHotSeries> coveringSeries(String name, String level,
+			LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+		// Caller-supplied sorts are applied by the database
+		if (!this.enabled || name == null || startDate == null || endDate == null
+				|| pageable.getSort().isSorted()
+				|| startDate.isBefore(this.horizon())) {
+			return Optional.empty();
+		}
+		AnalyticsHotSeries hot =
+				this.series.computeIfAbsent(AnalyticsSeriesKeyDTO.of(name, level), this::warm);
+		if (hot == null || !hot.covers(AnalyticsHotSeries.epochSecond(startDate))) {
+			return Optional.empty();
+		}
+		return Optional.of(hot);
+	}
+
+	// Runs under the map's bin lock, so an append for the same series waits for it to finish
+	private AnalyticsHotSeries warm(AnalyticsSeriesKeyDTO key) {
+		LocalDateTime horizon = this.horizon();
+		List<AnalyticsDTO> recent = this.analyticsRepository
+				.findByNameAndLevelAndDateFrom(key.name(), key.level(), horizon);
+		if (recent.isEmpty()) {
+			return null;
+		}
+		AnalyticsHotSeries hot = new AnalyticsHotSeries(AnalyticsHotSeries.epochSecond(horizon),
+				this.maxPointsPerSeries);
+		recent.forEach(hot::append);
+		return hot;
+	}
+
+	private LocalDateTime horizon() {
+		return LocalDateTime.now().minus(this.window);
+	}
+
+	private static long offset(Pageable pageable) {
+		return pageable.isPaged() ? pageable.getOffset() : 0L;
+	}
+
+	private static int limit(Pageable pageable) {
+		return pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
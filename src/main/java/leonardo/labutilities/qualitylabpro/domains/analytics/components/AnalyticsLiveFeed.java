@@ -0,0 +1,158 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsLiveEventDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsLiveBuffer;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+
+// Pushes committed measurements to SSE subscribers; each subscriber drains on its own virtual thread
+@Slf4j
+@Component
+public class AnalyticsLiveFeed {
+
+	static final String SUBSCRIBERS_METRIC = "analytics.live.subscribers";
+	static final String EVENTS_METRIC = "analytics.live.events";
+
+	private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+	private final Counter delivered;
+	private final Counter discarded;
+
+	@Value("${analytics.live.buffer-size:256}")
+	private int bufferSize;
+
+	@Value("${analytics.live.max-subscribers:200}")
+	private int maxSubscribers;
+
+	@Value("${analytics.live.heartbeat-interval:PT15S}")
+	private Duration heartbeatInterval;
+
+	@Value("${analytics.live.timeout:PT30M}")
+	private Duration timeout;
+
+	public AnalyticsLiveFeed(MeterRegistry meterRegistry) {
+		Gauge.builder(SUBSCRIBERS_METRIC, this.subscribers, List::size)
+				.description("Open live analytics streams").register(meterRegistry);
+		this.delivered = Counter.builder(EVENTS_METRIC)
+				.description("Live analytics events by outcome").tag("outcome", "delivered")
+				.register(meterRegistry);
+		this.discarded = Counter.builder(EVENTS_METRIC)
+				.description("Live analytics events by outcome").tag("outcome", "discarded")
+				.register(meterRegistry);
+	}
+
+	public int subscriberCount() {
+		return this.subscribers.size();
+	}
+
+	public SseEmitter subscribe(List<String> names) {
+		if (this.subscribers.size() >= this.maxSubscribers) {
+			throw new ServiceOverloadedException("live", this.heartbeatInterval);
+		}
+		SseEmitter emitter = new SseEmitter(this.timeout.toMillis());
+		Subscriber subscriber = new Subscriber(Set.copyOf(names), emitter,
+				new AnalyticsLiveBuffer(this.bufferSize));
+		emitter.onCompletion(subscriber::close);
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(error -> subscriber.close());
+		this.subscribers.add(subscriber);
+		Thread.ofVirtual().name("analytics-live").start(subscriber::run);
+		return emitter;
+	}
+
+	// Runs once the ingest transaction commits; without one, the rows are already committed
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAnalyticsPersisted(AnalyticsPersistedEvent event) {
+		this.publish(event.analytics());
+	}
+
+	public void publish(List<Analytic> persistedRecords) {
+		persistedRecords.stream().map(AnalyticsLiveFeed::toEvent).forEach(this::offer);
+	}
+
+	private void offer(AnalyticsLiveEventDTO event) {
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.names.contains(event.analytics().name())) {
+				this.discarded.increment(subscriber.buffer.offer(event));
+			}
+		}
+	}
+
+	private static AnalyticsLiveEventDTO toEvent(Analytic analytic) {
+		ControlClassification classification = ControlClassification.classify(
+				analytic.getMeasurementValue(), analytic.getTargetMean(),
+				analytic.getStandardDeviation());
+		boolean violation = classification == ControlClassification.PLUS_2S
+				|| classification == ControlClassification.MINUS_2S
+				|| classification == ControlClassification.PLUS_3S
+				|| classification == ControlClassification.MINUS_3S;
+		return new AnalyticsLiveEventDTO(new AnalyticsDTO(analytic), classification, violation);
+	}
+
+	private final class Subscriber {
+		private final Set<String> names;
+		private final SseEmitter emitter;
+		private final AnalyticsLiveBuffer buffer;
+
+		private Subscriber(Set<String> names, SseEmitter emitter, AnalyticsLiveBuffer buffer) {
+			this.names = names;
+			this.emitter = emitter;
+			this.buffer = buffer;
+		}
+
+		// Blocking sends are fine here: a slow client only stalls its own virtual thread
+		private void run() {
+			try {
+				while (!this.buffer.isClosed()) {
+					List<AnalyticsLiveEventDTO> batch =
+							this.buffer.drain(AnalyticsLiveFeed.this.heartbeatInterval);
+					if (batch.isEmpty()) {
+						if (!this.buffer.isClosed()) {
+							this.emitter.send(SseEmitter.event().comment("heartbeat"));
+						}
+						continue;
+					}
+					for (AnalyticsLiveEventDTO event : batch) {
+						this.emitter.send(SseEmitter.event()
+								.id(String.valueOf(event.analytics().id()))
+								.name(event.violation() ? "violation" : "measurement")
+								.data(event, MediaType.APPLICATION_JSON));
+						AnalyticsLiveFeed.this.delivered.increment();
+					}
+				}
+			} catch (IOException e) {
+				log.debug("Live analytics subscriber disconnected: {}", e.getMessage());
+				this.emitter.completeWithError(e);
+			} catch (IllegalStateException e) {
+				// The emitter already completed or timed out; nothing left to tell the client
+				log.debug("Live analytics stream already closed: {}", e.getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.emitter.complete();
+			} finally {
+				this.close();
+			}
+		}
+
+		private void close() {
+			this.buffer.close();
+			AnalyticsLiveFeed.this.subscribers.remove(this);
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+// Keeps the monthly RANGE partitions of analytics (V34) ahead of the clock by splitting the
+// MAXVALUE catch-all, and checks that date-bounded reads are pruned to the partitions of their
+// range.
+@Slf4j
+@Component
+public class AnalyticsPartitionMaintenance implements HealthIndicator {
+
+	static final String CATCH_ALL = "pmax";
+	static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+	static final String PARTITIONS_QUERY = """
+			SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+			 WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'analytics'
+			 AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION
+			""";
+
+	// Same predicates as the date-bounded reads in AnalyticsRepository
+	static final Map<String, String> PRUNING_PROBES = Map.of(
+			"findByNameAndLevelAndDateBetween", """
+					SELECT ga.id FROM analytics ga WHERE ga.test_name = 'GLUC3'
+					 AND ga.control_level = 'PCCC1' AND ga.measurement_date BETWEEN ? AND ?
+					""",
+			"findByNameInAndDateBetweenPaged", """
+					SELECT ga.id FROM analytics ga WHERE ga.test_name IN ('GLUC3', 'TRIG')
+					 AND ga.measurement_date BETWEEN ? AND ?
+					""",
+			"findByDateBetween", """
+					SELECT ga.id FROM analytics ga WHERE ga.measurement_date BETWEEN ? AND ?
+					 ORDER BY ga.measurement_date DESC
+					""");
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private volatile List<String> partitions = List.of();
+	private volatile Map<String, Boolean> pruning = Map.of();
+
+	@Value("${analytics.partitions.enabled:true}")
+	private boolean enabled;
+
+	@Value("${analytics.partitions.lookahead-months:3}")
+	private int lookaheadMonths;
+
+	public AnalyticsPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public Health health() {
+		if (this.partitions.isEmpty()) {
+			return Health.unknown().withDetail("partitioned", false).build();
+		}
+		return Health.up().withDetail("partitions", this.partitions.size())
+				.withDetail("newest", this.partitions.get(this.partitions.size() - 1))
+				.withDetail("pruning", this.pruning).build();
+	}
+
+	// Partitions are created months ahead, so a failed run only logs and the nightly run retries
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (!this.enabled) {
+			return;
+		}
+		try {
+			this.maintain();
+			this.verifyPruning();
+		} catch (RuntimeException e) {
+			log.error("Analytics partition maintenance failed at startup", e);
+		}
+	}
+
+	@Scheduled(cron = "${analytics.partitions.cron:0 15 3 * * *}")
+	public void onSchedule() {
+		if (!this.enabled) {
+			return;
+		}
+		try {
+			this.maintain();
+		} catch (RuntimeException e) {
+			log.error("Analytics partition maintenance failed", e);
+		}
+	}
+
+	public int maintain() {
+		List<String> existing = this.loadPartitions();
+		if (existing.isEmpty()) {
+			log.warn("Analytics table is not partitioned; partition maintenance skipped");
+			return 0;
+		}
+		int changed = this.createAhead(existing);
+		if (changed > 0) {
+			this.loadPartitions();
+		}
+		return changed;
+	}
+
+	// A probe is pruned when EXPLAIN lists exactly the partitions of the months it spans
+	public Map<String, Boolean> verifyPruning() {
+		if (this.partitions.isEmpty()) {
+			return Map.of();
+		}
+		YearMonth current = YearMonth.now();
+		LocalDateTime startDate = current.minusMonths(1).atDay(1).atStartOfDay();
+		LocalDateTime endDate = current.atEndOfMonth().atTime(LocalTime.MAX);
+		Set<String> expected = new TreeSet<>();
+		for (YearMonth month = current.minusMonths(1); !month.isAfter(current);
+				month = month.plusMonths(1)) {
+			String name = month.format(PARTITION_NAME);
+			expected.add(this.partitions.contains(name) ? name : CATCH_ALL);
+		}
+
+		Map<String, Boolean> results = new TreeMap<>();
+		PRUNING_PROBES.forEach((query, sql) -> {
+			Set<String> scanned = this.jdbcTemplate
+					.queryForList("EXPLAIN PARTITIONS " + sql, startDate, endDate).stream()
+					.map(row -> row.get("partitions")).filter(Objects::nonNull)
+					.flatMap(value -> Arrays.stream(value.toString().split(",")))
+					.collect(Collectors.toCollection(TreeSet::new));
+			boolean pruned = scanned.equals(expected);
+			if (!pruned) {
+				log.warn("Analytics query {} scans partitions {} instead of {}", query, scanned,
+						expected);
+			}
+			results.put(query, pruned);
+		});
+		this.pruning = results;
+		return results;
+	}
+
+	private List<String> loadPartitions() {
+		List<String> loaded = this.jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class);
+		this.partitions = loaded;
+		return loaded;
+	}
+
+	// Splitting an empty catch-all is a metadata-only change
+	private int createAhead(List<String> existing) {
+		if (!existing.contains(CATCH_ALL)) {
+			log.warn("Analytics partitions have no {} catch-all; new months not created",
+					CATCH_ALL);
+			return 0;
+		}
+		YearMonth newest = existing.stream().map(AnalyticsPartitionMaintenance::month)
+				.flatMap(Optional::stream).max(YearMonth::compareTo)
+				.orElse(YearMonth.now().minusMonths(1));
+		YearMonth last = YearMonth.now().plusMonths(this.lookaheadMonths);
+		List<String> definitions = new ArrayList<>();
+		for (YearMonth month = newest.plusMonths(1); !month.isAfter(last);
+				month = month.plusMonths(1)) {
+			definitions.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('"
+					+ month.plusMonths(1).atDay(1) + "')");
+		}
+		if (definitions.isEmpty()) {
+			return 0;
+		}
+		definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+		this.jdbcTemplate.execute("ALTER TABLE analytics REORGANIZE PARTITION " + CATCH_ALL
+				+ " INTO (" + String.join(", ", definitions) + ")");
+		log.info("Analytics partitions created through {}", last);
+		return definitions.size() - 1;
+	}
+
+	private static Optional<YearMonth> month(String partition) {
+		try {
+			return Optional.of(YearMonth.parse(partition, PARTITION_NAME));
+		} catch (DateTimeParseException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Concurrent identical requests share one computation; only the first caller hits the database
+@Component
+public class AnalyticsRequestCoalescer {
+
+	static final String CALLERS_METRIC = "analytics.coalesced.callers";
+	static final String DURATION_METRIC = "analytics.coalesced.duration";
+	static final String IN_FLIGHT_METRIC = "analytics.coalesced.in.flight";
+
+	private final ConcurrentMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+
+	public AnalyticsRequestCoalescer(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		Gauge.builder(IN_FLIGHT_METRIC, this, AnalyticsRequestCoalescer::inFlightCallers)
+				.description("Callers currently running or waiting on a coalesced query")
+				.register(meterRegistry);
+	}
+
+	public int inFlightCallers() {
+		return this.flights.values().stream().mapToInt(flight -> flight.callers.get()).sum();
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T coalesce(String operation, Object key, Supplier<T> computation) {
+		FlightKey flightKey = new FlightKey(operation, key);
+		Flight created = new Flight();
+		// Joining happens under the map's lock, so the count is final once the flight is removed
+		Flight flight = this.flights.compute(flightKey, (k, existing) -> {
+			if (existing == null) {
+				return created;
+			}
+			existing.callers.incrementAndGet();
+			return existing;
+		});
+		if (flight != created) {
+			return (T) await(flight.result);
+		}
+
+		long start = System.nanoTime();
+		try {
+			T result = computation.get();
+			this.flights.remove(flightKey, flight);
+			flight.result.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			this.flights.remove(flightKey, flight);
+			flight.result.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.record(operation, flight.callers.get(), System.nanoTime() - start);
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> result) {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	private void record(String operation, int callers, long nanos) {
+		DistributionSummary.builder(CALLERS_METRIC)
+				.description("Callers served by one coalesced analytics query")
+				.tag("operation", operation).register(this.meterRegistry).record(callers);
+		Timer.builder(DURATION_METRIC).description("Time spent computing a coalesced query")
+				.tag("operation", operation).register(this.meterRegistry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	private record FlightKey(String operation, Object key) {}
+
+	private static final class Flight {
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+		private final AtomicInteger callers = new AtomicInteger(1);
+	}
+}
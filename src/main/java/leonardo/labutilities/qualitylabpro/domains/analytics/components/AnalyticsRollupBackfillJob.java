@@ -0,0 +1,64 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+import lombok.extern.slf4j.Slf4j;
+
+// Rebuilds daily rollups from history in day-range chunks, one transaction per chunk.
+// Each chunk is recomputed from raw rows, so the job can be re-run or interrupted safely.
+@Slf4j
+@Component
+public class AnalyticsRollupBackfillJob {
+
+	private final AnalyticsRollupService analyticsRollupService;
+	private final AnalyticsRepository analyticsRepository;
+
+	@Value("${analytics.rollup.backfill-on-startup:false}")
+	private boolean backfillOnStartup;
+
+	@Value("${analytics.rollup.backfill-chunk-days:31}")
+	private int chunkDays;
+
+	public AnalyticsRollupBackfillJob(AnalyticsRollupService analyticsRollupService,
+			AnalyticsRepository analyticsRepository) {
+		this.analyticsRollupService = analyticsRollupService;
+		this.analyticsRepository = analyticsRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (this.backfillOnStartup) {
+			this.backfill();
+		}
+	}
+
+	public int backfill() {
+		LocalDateTime oldest = this.analyticsRepository.findOldestMeasurementDate();
+		LocalDateTime newest = this.analyticsRepository.findNewestMeasurementDate();
+		if (oldest == null || newest == null) {
+			log.info("Analytics rollup backfill skipped: no analytics rows");
+			return 0;
+		}
+
+		int groups = 0;
+		LocalDate lastDay = newest.toLocalDate();
+		for (LocalDate day = oldest.toLocalDate(); !day.isAfter(lastDay);
+				day = day.plusDays(this.chunkDays)) {
+			LocalDate chunkEnd = day.plusDays(this.chunkDays - 1L);
+			if (chunkEnd.isAfter(lastDay)) {
+				chunkEnd = lastDay;
+			}
+			groups += this.analyticsRollupService.rebuildDays(day, chunkEnd);
+			log.debug("Analytics rollup backfill rebuilt {} to {}", day, chunkEnd);
+		}
+		log.info("Analytics rollup backfill rebuilt {} daily groups from {} to {}", groups,
+				oldest.toLocalDate(), lastDay);
+		return groups;
+	}
+}
@@ -0,0 +1,293 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.components;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+
+// Shared windows hold committed points only. Ingest evaluates on copies and the points are
+// appended once the transaction commits, so a rolled-back ingest leaves nothing behind.
+@Component
+public class WestgardRuleEngine {
+
+	static final int WINDOW_SIZE = 10;
+	private static final int RULE_7T_CONSECUTIVE = 7;
+	private static final Comparator<Analytic> BY_DATE =
+			Comparator.comparing(Analytic::getMeasurementDate);
+
+	private final AnalyticsRepository analyticsRepository;
+	private final Map<WindowKey, ZScoreWindow> windows = new ConcurrentHashMap<>();
+
+	public WestgardRuleEngine(AnalyticsRepository analyticsRepository) {
+		this.analyticsRepository = analyticsRepository;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAnalyticsPersisted(AnalyticsPersistedEvent event) {
+		this.record(event.analytics());
+	}
+
+	// Cold windows are warmed here, after the commit, so the query already returns these points
+	// and they are skipped by id. The query runs outside the map bin; only the append holds it.
+	// A commit racing the warm-up either lands in the query or appends to whichever window was
+	// installed first, and points both carry are skipped by id.
+	public void record(List<Analytic> analytics) {
+		bySeries(analytics).forEach((key, points) -> {
+			this.window(key);
+			this.windows.computeIfPresent(key, (ignored, current) -> {
+				for (Analytic analytic : points) {
+					if (!current.append(analytic.getId(), analytic.getMeasurementDate(),
+							zScore(analytic))) {
+						// Out-of-order point; drop the window so it is rebuilt in date order
+						return null;
+					}
+				}
+				return current;
+			});
+		});
+	}
+
+	// Rules broken by each point as it joins its series, computed inside the ingest transaction
+	// without touching the shared windows
+	public Map<Analytic, EnumSet<WestgardRule>> evaluate(List<Analytic> analytics) {
+		Map<Analytic, EnumSet<WestgardRule>> results = new IdentityHashMap<>();
+		bySeries(analytics).forEach((key, points) -> {
+			ZScoreWindow committed = this.windows.get(key);
+			ZScoreWindow window = committed != null ? committed.copy() : null;
+			if (window == null || !evaluateInto(window, points, results)) {
+				replay(this.latest(key), points, results);
+			}
+		});
+		return results;
+	}
+
+	public EnumSet<WestgardRule> evaluate(String name, String level, String levelLot) {
+		return this.window(new WindowKey(name, level, levelLot)).evaluate();
+	}
+
+	public void invalidate(String name, String level, String levelLot) {
+		afterCommit(() -> this.windows.remove(new WindowKey(name, level, levelLot)));
+	}
+
+	public void invalidateAll() {
+		this.windows.clear();
+	}
+
+	// Warmed without holding the map bin, so a slow query never blocks other series
+	private ZScoreWindow window(WindowKey key) {
+		ZScoreWindow window = this.windows.get(key);
+		if (window != null) {
+			return window;
+		}
+		ZScoreWindow warmed = this.warm(key);
+		ZScoreWindow installed = this.windows.putIfAbsent(key, warmed);
+		return installed != null ? installed : warmed;
+	}
+
+	private ZScoreWindow warm(WindowKey key) {
+		ZScoreWindow window = new ZScoreWindow();
+		for (Analytic analytic : this.latest(key).reversed()) {
+			window.append(analytic.getId(), analytic.getMeasurementDate(), zScore(analytic));
+		}
+		return window;
+	}
+
+	// Read inside the ingest transaction, which already sees the new points; they are merged
+	// back into the history by date, so back-dated points are judged against older ones only
+	private static void replay(List<Analytic> history, List<Analytic> points,
+			Map<Analytic, EnumSet<WestgardRule>> results) {
+		Set<Analytic> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+		batch.addAll(points);
+		Set<Long> ids = points.stream().map(Analytic::getId).filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		List<Analytic> merged = new ArrayList<>(points);
+		history.stream().filter(analytic -> !ids.contains(analytic.getId()))
+				.forEach(merged::add);
+		merged.sort(BY_DATE);
+		ZScoreWindow window = new ZScoreWindow();
+		for (Analytic analytic : merged) {
+			window.append(analytic.getId(), analytic.getMeasurementDate(), zScore(analytic));
+			if (batch.contains(analytic)) {
+				results.put(analytic, window.evaluate());
+			}
+		}
+	}
+
+	private List<Analytic> latest(WindowKey key) {
+		return this.analyticsRepository
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						key.name(), key.level(), key.levelLot());
+	}
+
+	private static boolean evaluateInto(ZScoreWindow window, List<Analytic> points,
+			Map<Analytic, EnumSet<WestgardRule>> results) {
+		for (Analytic analytic : points) {
+			if (!window.append(analytic.getId(), analytic.getMeasurementDate(),
+					zScore(analytic))) {
+				return false;
+			}
+			results.put(analytic, window.evaluate());
+		}
+		return true;
+	}
+
+	private static Map<WindowKey, List<Analytic>> bySeries(List<Analytic> analytics) {
+		return analytics.stream().sorted(BY_DATE)
+				.collect(Collectors.groupingBy(
+						analytic -> new WindowKey(analytic.getTestName(),
+								analytic.getControlLevel(), analytic.getControlLevelLot()),
+						LinkedHashMap::new, Collectors.toList()));
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private static double zScore(Analytic analytic) {
+		double sd = analytic.getStandardDeviation();
+		return sd == 0.0 ? 0.0 : (analytic.getMeasurementValue() - analytic.getTargetMean()) / sd;
+	}
+
+	private record WindowKey(String name, String level, String levelLot) {}
+
+	// Fixed ring of the latest z-scores, oldest first
+	private static final class ZScoreWindow {
+
+		private final double[] values = new double[WINDOW_SIZE];
+		private final Long[] ids = new Long[WINDOW_SIZE];
+		private int head;
+		private int size;
+		private LocalDateTime lastDate;
+
+		synchronized ZScoreWindow copy() {
+			ZScoreWindow copy = new ZScoreWindow();
+			System.arraycopy(this.values, 0, copy.values, 0, WINDOW_SIZE);
+			System.arraycopy(this.ids, 0, copy.ids, 0, WINDOW_SIZE);
+			copy.head = this.head;
+			copy.size = this.size;
+			copy.lastDate = this.lastDate;
+			return copy;
+		}
+
+		// A point already in the window is accepted and ignored
+		synchronized boolean append(Long id, LocalDateTime date, double zScore) {
+			if (id != null && this.contains(id)) {
+				return true;
+			}
+			if (this.lastDate != null && date.isBefore(this.lastDate)) {
+				return false;
+			}
+			int slot = (this.head + this.size) % WINDOW_SIZE;
+			this.values[slot] = zScore;
+			this.ids[slot] = id;
+			if (this.size < WINDOW_SIZE) {
+				this.size++;
+			} else {
+				this.head = (this.head + 1) % WINDOW_SIZE;
+			}
+			this.lastDate = date;
+			return true;
+		}
+
+		private boolean contains(Long id) {
+			for (int i = 0; i < this.size; i++) {
+				if (id.equals(this.ids[(this.head + i) % WINDOW_SIZE])) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private double fromLatest(int offset) {
+			return this.values[(this.head + this.size - 1 - offset) % WINDOW_SIZE];
+		}
+
+		synchronized EnumSet<WestgardRule> evaluate() {
+			EnumSet<WestgardRule> violations = EnumSet.noneOf(WestgardRule.class);
+			if (this.size == 0) {
+				return violations;
+			}
+			double latest = this.fromLatest(0);
+			if (Math.abs(latest) > 2) {
+				violations.add(WestgardRule.ONE_TWO_S);
+			}
+			if (Math.abs(latest) > 3) {
+				violations.add(WestgardRule.ONE_THREE_S);
+			}
+			if (this.size >= 2) {
+				double previous = this.fromLatest(1);
+				if ((latest > 2 && previous > 2) || (latest < -2 && previous < -2)) {
+					violations.add(WestgardRule.TWO_TWO_S);
+				}
+				if ((latest > 2 && previous < -2) || (latest < -2 && previous > 2)) {
+					violations.add(WestgardRule.R_FOUR_S);
+				}
+			}
+			if (this.sameSideRun(4, 1.0)) {
+				violations.add(WestgardRule.FOUR_ONE_S);
+			}
+			if (this.sameSideRun(10, 0.0)) {
+				violations.add(WestgardRule.TEN_X);
+			}
+			if (this.trendRun()) {
+				violations.add(WestgardRule.SEVEN_T);
+			}
+			return violations;
+		}
+
+		private boolean sameSideRun(int length, double limit) {
+			if (this.size < length) {
+				return false;
+			}
+			boolean above = true;
+			boolean below = true;
+			for (int i = 0; i < length && (above || below); i++) {
+				double value = this.fromLatest(i);
+				above &= value > limit;
+				below &= value < -limit;
+			}
+			return above || below;
+		}
+
+		private boolean trendRun() {
+			if (this.size < RULE_7T_CONSECUTIVE) {
+				return false;
+			}
+			boolean rising = true;
+			boolean falling = true;
+			for (int i = 0; i < RULE_7T_CONSECUTIVE - 1 && (rising || falling); i++) {
+				double newer = this.fromLatest(i);
+				double older = this.fromLatest(i + 1);
+				rising &= newer > older;
+				falling &= newer < older;
+			}
+			return rising || falling;
+		}
+	}
+}
@@ -1,10 +0,0 @@
-package leonardo.labutilities.qualitylabpro.domains.analytics.constants;
-
-import java.util.List;
-
-public class ThresholdAnalyticsRules {
-
-	private ThresholdAnalyticsRules() {}
-
-	public static final List<String> RULES = List.of("+1s", "+2s", "+3s", "-1s", "-2s", "-3s");
-}
@@ -9,20 +9,27 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.requests.AnalyticsDateRangeParamsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.requests.AnalyticsLevelDateRangeParamsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.requests.AnalyticsNameAndLevelDateRangeParamsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyteStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.DescriptiveStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -44,6 +51,11 @@ public class AnalyticsController extends AnalyticsHelperController {
 			@PageableDefault(sort = "measurementDate",
 					direction = Sort.Direction.DESC) @ParameterObject Pageable pageable) {
 		log.info("Fetching all analytics with pagination: {}", pageable);
+		if (pageable instanceof KeysetPageRequest keyset) {
+			return this.getAnalyticsByCursorWithLinks(
+					this.analyticHelperService.findAnalyticsByNameInAfterCursor(names, keyset),
+					keyset);
+		}
 		return this.getAllAnalyticsWithLinks(names, pageable);
 	}
 
@@ -55,24 +67,62 @@ public class AnalyticsController extends AnalyticsHelperController {
 	}
 
 	@GetMapping("/date-range")
-	public ResponseEntity<Page<AnalyticsDTO>> getAnalyticsDateBetween(
+	public ResponseEntity<?> getAnalyticsDateBetween(
 			@ParameterObject AnalyticsDateRangeParamsDTO params,
 			@PageableDefault(sort = "measurementDate", direction = Sort.Direction.DESC,
 					size = 1500) @ParameterObject Pageable pageable) {
 		log.info("Fetching analytics between {} and {} with pagination: {}", params.startDate(),
 				params.endDate(), pageable);
+		if (pageable instanceof KeysetPageRequest keyset) {
+			return this.getAnalyticsByCursorWithLinks(
+					this.analyticHelperService.findAnalyticsByNameInAndDateBetweenAfterCursor(
+							names, params.startDate(), params.endDate(), keyset),
+					keyset);
+		}
 		var result = this.analyticHelperService.findAnalyticsByNameInAndDateBetween(names,
 				params.startDate(), params.endDate(), pageable);
 		log.debug("Found {} analytics entries in date range", result.getTotalElements());
 		return ResponseEntity.ok(result);
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAnalyticsDateBetween(
+			@ParameterObject AnalyticsDateRangeParamsDTO params,
+			@RequestParam(defaultValue = "CSV") ExportFormat format) {
+		log.info("Exporting analytics between {} and {} as {}", params.startDate(),
+				params.endDate(), format);
+		return this.exportAnalyticsWithNames(names, params.startDate(), params.endDate(), format);
+	}
+
+	@GetMapping("/statistics")
+	public ResponseEntity<List<AnalyteStatisticsDTO>> getStatisticsByNameAndLevel(
+			@ParameterObject AnalyticsDateRangeParamsDTO params) {
+		log.info("Calculating statistics for {} analytes between {} and {}", names.size(),
+				params.startDate(), params.endDate());
+		var result = this.analyticHelperService.calculateStatisticsByNameAndLevel(names,
+				params.startDate(), params.endDate());
+		log.debug("Calculated statistics for {} analyte levels", result.size());
+		return ResponseEntity.ok(result);
+	}
+
+	@GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamNewAnalytics() {
+		log.info("Opening live analytics stream for {} analytes", names.size());
+		return this.analyticHelperService.streamNewAnalytics(names);
+	}
+
 	@GetMapping("/level-date-range")
-	public ResponseEntity<Page<AnalyticsDTO>> getAllAnalyticsByLevelDateRange(
+	public ResponseEntity<?> getAllAnalyticsByLevelDateRange(
 			@ParameterObject AnalyticsLevelDateRangeParamsDTO params,
 			@PageableDefault(size = 100) @ParameterObject Pageable pageable) {
 		log.info("Fetching analytics for level {} between {} and {}", params.level(),
 				params.startDate(), params.endDate());
+		if (pageable instanceof KeysetPageRequest keyset) {
+			return this.getAnalyticsByCursorWithLinks(
+					this.analyticHelperService.findAnalyticsByNameInByLevelAfterCursor(names,
+							params.level(), params.startDate(), params.endDate(), keyset),
+					keyset);
+		}
 		var result = this.analyticHelperService.findAnalyticsByNameInByLevel(names, params.level(),
 				params.startDate(), params.endDate(), pageable);
 		log.debug("Found {} analytics entries for level {}", result.getTotalElements(),
@@ -95,6 +145,21 @@ public class AnalyticsController extends AnalyticsHelperController {
 		return ResponseEntity.ok(result);
 	}
 
+	@GetMapping("/descriptive-statistics")
+	public ResponseEntity<DescriptiveStatisticsDTO> getDescriptiveStatistics(
+			@RequestParam String name, @RequestParam String level,
+			@RequestParam("startDate") LocalDateTime startDate,
+			@RequestParam("endDate") LocalDateTime endDate,
+			@PageableDefault(size = 100) @ParameterObject Pageable pageable) {
+		log.info("Calculating descriptive statistics for {} at level {} between {} and {}", name,
+				level, startDate, endDate);
+		var result = this.analyticHelperService.calculateDescriptiveStatistics(name, level,
+				startDate, endDate, pageable);
+		log.debug("Calculated statistics: count={}, mean={}, stdDev={}", result.count(),
+				result.mean(), result.standardDeviation());
+		return ResponseEntity.ok(result);
+	}
+
 	@GetMapping("/name-and-level-date-range")
 	public ResponseEntity<AnalyticsWithCalcDTO> getAllAnalyticsByNameAndLevelDateRange(
 			@ParameterObject AnalyticsNameAndLevelDateRangeParamsDTO params,
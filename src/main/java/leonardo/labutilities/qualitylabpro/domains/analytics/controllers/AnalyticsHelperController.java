@@ -5,9 +5,13 @@ import java.util.List;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,13 +21,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.requests.UpdateAnalyticsMeanDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestReportDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedResultsByLevelDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsExportWriter;
 import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsHelperUtility;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 
 public class AnalyticsHelperController {
 	protected final AnalyticHelperService analyticHelperService;
@@ -65,13 +74,19 @@ public class AnalyticsHelperController {
 	}
 
 	@PostMapping
-	@Transactional
 	public ResponseEntity<List<AnalyticsDTO>> postAnalytics(
 			@Valid @RequestBody List<AnalyticsDTO> values) {
 		this.analyticHelperService.saveNewAnalyticsRecords(values);
 		return ResponseEntity.status(201).build();
 	}
 
+	@PostMapping("/bulk")
+	public ResponseEntity<AnalyticsIngestReportDTO> postAnalyticsBulk(
+			@Valid @RequestBody List<AnalyticsDTO> values) {
+		AnalyticsIngestReportDTO report = this.analyticHelperService.ingestAnalyticsRecords(values);
+		return ResponseEntity.status(report.accepted() > 0 ? 201 : 200).body(report);
+	}
+
 	@PatchMapping()
 	public ResponseEntity<Void> updateAnalyticsMean(
 			@Valid @RequestBody UpdateAnalyticsMeanDTO updateAnalyticsMeanDTO) {
@@ -81,20 +96,53 @@ public class AnalyticsHelperController {
 		return ResponseEntity.noContent().build();
 	}
 
-	public ResponseEntity<CollectionModel<EntityModel<AnalyticsDTO>>> getAllAnalyticsWithLinks(
-			List<String> names, @PageableDefault(size = 100) @ParameterObject Pageable pageable) {
-		Page<AnalyticsDTO> resultsList =
-				this.analyticHelperService.findAnalyticsPagedByNameIn(names, pageable);
+	public ResponseEntity<StreamingResponseBody> exportAnalyticsWithNames(List<String> names,
+			LocalDateTime startDate, LocalDateTime endDate, ExportFormat format) {
+		if (!AnalyticsExportWriter.supports(format)) {
+			return ResponseEntity.badRequest().build();
+		}
+		String filename = String.format("analytics-%s-%s.%s", startDate.toLocalDate(),
+				endDate.toLocalDate(), AnalyticsExportWriter.fileExtension(format));
+
+		// The read-only transaction and its cursor live inside the streaming callback
+		StreamingResponseBody body = outputStream -> this.analyticHelperService
+				.exportAnalyticsByNameInAndDateBetween(names, startDate, endDate, format,
+						outputStream);
+
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(AnalyticsExportWriter.mediaType(format)))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename(filename).build().toString())
+				.body(body);
+	}
+
+	public ResponseEntity<CollectionModel<EntityModel<AnalyticsDTO>>> getAnalyticsByCursorWithLinks(
+			Slice<AnalyticsDTO> resultsSlice, KeysetPageRequest keyset) {
+		var entityModels =
+				AnalyticsHelperUtility.createEntityModels(resultsSlice.getContent(), this);
+
+		var result = AnalyticsHelperUtility.addPaginationLinks(CollectionModel.of(entityModels),
+				resultsSlice, keyset);
+		return ResponseEntity.ok(result);
+	}
 
-		var entityModels = resultsList.getContent().stream().map(
-				analyticsRecord -> AnalyticsHelperUtility.createEntityModel(analyticsRecord, this))
-				.toList();
+	// Same collection shape as getAnalyticsByCursorWithLinks, with offset page links
+	public ResponseEntity<CollectionModel<EntityModel<AnalyticsDTO>>> getAnalyticsPageWithLinks(
+			Page<AnalyticsDTO> resultsPage, Pageable pageable) {
+		var entityModels =
+				AnalyticsHelperUtility.createEntityModels(resultsPage.getContent(), this);
 
 		var result = AnalyticsHelperUtility.addPaginationLinks(CollectionModel.of(entityModels),
-				resultsList, pageable);
+				resultsPage, pageable);
 		return ResponseEntity.ok(result);
 	}
 
+	public ResponseEntity<CollectionModel<EntityModel<AnalyticsDTO>>> getAllAnalyticsWithLinks(
+			List<String> names, @PageableDefault(size = 100) @ParameterObject Pageable pageable) {
+		return this.getAnalyticsPageWithLinks(
+				this.analyticHelperService.findAnalyticsPagedByNameIn(names, pageable), pageable);
+	}
+
 	public ResponseEntity<CollectionModel<EntityModel<AnalyticsDTO>>> getAnalyticsByDateBetweenWithLinks(
 			List<String> names, LocalDateTime startDate, LocalDateTime endDate,
 			@PageableDefault(size = 100) @ParameterObject Pageable pageable) {
@@ -106,14 +154,6 @@ public class AnalyticsHelperController {
 			return ResponseEntity.noContent().build();
 		}
 
-		var entityModels = analyticsRecordPaged.getContent().stream().map(
-				analyticsRecord -> AnalyticsHelperUtility.createEntityModel(analyticsRecord, this))
-				.toList();
-
-		var collectionModel = CollectionModel.of(entityModels);
-		var result = AnalyticsHelperUtility.addPaginationLinks(collectionModel,
-				analyticsRecordPaged, pageable);
-
-		return ResponseEntity.ok(result);
+		return this.getAnalyticsPageWithLinks(analyticsRecordPaged, pageable);
 	}
 }
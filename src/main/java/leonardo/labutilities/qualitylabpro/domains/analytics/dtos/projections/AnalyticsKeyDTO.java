@@ -0,0 +1,22 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+
+public record AnalyticsKeyDTO(String name, String level, LocalDateTime date) {
+
+	public static AnalyticsKeyDTO of(AnalyticsDTO analyticsDTO) {
+		return new AnalyticsKeyDTO(analyticsDTO.name(), analyticsDTO.level(), analyticsDTO.date());
+	}
+
+	// The database collation compares names and levels case-insensitively, so in-memory
+	// duplicate checks must too
+	public AnalyticsKeyDTO normalized() {
+		return new AnalyticsKeyDTO(lowerCase(this.name), lowerCase(this.level), this.date);
+	}
+
+	private static String lowerCase(String value) {
+		return value == null ? null : value.toLowerCase(Locale.ROOT);
+	}
+}
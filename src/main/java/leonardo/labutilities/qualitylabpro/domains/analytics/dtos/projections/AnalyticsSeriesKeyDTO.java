@@ -0,0 +1,16 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections;
+
+import java.util.Locale;
+
+public record AnalyticsSeriesKeyDTO(String name, String level) {
+
+	// The database compares names case-insensitively, so the in-memory key does too
+	public static AnalyticsSeriesKeyDTO of(String name, String level) {
+		return new AnalyticsSeriesKeyDTO(name.toUpperCase(Locale.ROOT),
+				level == null ? "" : level.toUpperCase(Locale.ROOT));
+	}
+
+	public AnalyticsSeriesKeyDTO normalized() {
+		return of(this.name, this.level);
+	}
+}
@@ -0,0 +1,21 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections;
+
+public interface LevelMomentsProjection {
+
+	String getLevel();
+
+	long getCount();
+
+	double getValueMean();
+
+	// Sum of squared deviations from the mean (M2)
+	double getValueM2();
+
+	double getValueMin();
+
+	double getValueMax();
+
+	long getWarningCount();
+
+	long getRejectionCount();
+}
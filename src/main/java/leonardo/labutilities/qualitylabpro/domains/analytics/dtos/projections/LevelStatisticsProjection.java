@@ -0,0 +1,12 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections;
+
+public interface LevelStatisticsProjection {
+
+	String getLevel();
+
+	long getCount();
+
+	double getMean();
+
+	double getStandardDeviation();
+}
@@ -0,0 +1,6 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections;
+
+public interface NameLevelMomentsProjection extends LevelMomentsProjection {
+
+	String getName();
+}
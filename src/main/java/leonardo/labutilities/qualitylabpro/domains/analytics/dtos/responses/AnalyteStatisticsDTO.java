@@ -0,0 +1,14 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object containing descriptive statistics for one analyte at one control level")
+public record AnalyteStatisticsDTO(
+		@Schema(description = "Name of the analyte", example = "WBC",
+				requiredMode = Schema.RequiredMode.REQUIRED) String name,
+
+		@Schema(description = "Control level identifier", example = "Level 1",
+				requiredMode = Schema.RequiredMode.NOT_REQUIRED) String level,
+
+		@Schema(description = "Statistics over the requested date range",
+				requiredMode = Schema.RequiredMode.REQUIRED) DescriptiveStatisticsDTO statistics) {}
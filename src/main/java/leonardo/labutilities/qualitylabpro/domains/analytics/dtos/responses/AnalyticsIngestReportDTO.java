@@ -0,0 +1,16 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object summarizing a bulk analytics ingest")
+public record AnalyticsIngestReportDTO(
+		@Schema(description = "Number of rows submitted", example = "500") int received,
+
+		@Schema(description = "Number of rows stored", example = "480") int accepted,
+
+		@Schema(description = "Number of rows skipped because they already exist",
+				example = "20") int duplicates,
+
+		@Schema(description = "Per-row ingest outcome, in submission order",
+				requiredMode = Schema.RequiredMode.REQUIRED) List<AnalyticsIngestRowDTO> rows) {}
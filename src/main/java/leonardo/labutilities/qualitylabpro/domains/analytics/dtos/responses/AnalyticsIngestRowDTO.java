@@ -0,0 +1,21 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.AnalyticsIngestStatus;
+
+@Schema(description = "Data Transfer Object describing the ingest outcome of a single submitted row")
+public record AnalyticsIngestRowDTO(
+		@Schema(description = "Position of the row in the submitted batch", example = "0") int index,
+
+		@Schema(description = "Name of the analytic test", example = "Glucose") String name,
+
+		@Schema(description = "Control level identifier", example = "1") String level,
+
+		@Schema(description = "Date and time when the analysis was performed",
+				example = "2023-12-20T14:30:00") @JsonFormat(
+						pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime date,
+
+		@Schema(description = "Whether the row was stored or skipped as a duplicate",
+				example = "ACCEPTED") AnalyticsIngestStatus status) {}
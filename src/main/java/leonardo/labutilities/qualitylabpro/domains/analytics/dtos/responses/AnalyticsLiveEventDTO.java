@@ -0,0 +1,16 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+
+@Schema(description = "Data Transfer Object pushed to live subscribers for each newly stored measurement")
+public record AnalyticsLiveEventDTO(
+		@Schema(description = "The stored measurement",
+				requiredMode = Schema.RequiredMode.REQUIRED) AnalyticsDTO analytics,
+
+		@Schema(description = "Control band the measurement falls in", example = "PLUS_2S",
+				requiredMode = Schema.RequiredMode.REQUIRED) ControlClassification classification,
+
+		@Schema(description = "Whether the measurement breaks a ±2s or ±3s limit",
+				example = "true",
+				requiredMode = Schema.RequiredMode.REQUIRED) boolean violation) {}
@@ -0,0 +1,25 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object containing descriptive statistics for quality control measurements")
+public record DescriptiveStatisticsDTO(
+		@Schema(description = "Number of measurements included", example = "30",
+				requiredMode = Schema.RequiredMode.REQUIRED, minimum = "0") long count,
+
+		@Schema(description = "Average value of the measurements", example = "118.3",
+				requiredMode = Schema.RequiredMode.REQUIRED) double mean,
+
+		@Schema(description = "Population standard deviation of the measurements",
+				example = "2.5", requiredMode = Schema.RequiredMode.REQUIRED,
+				minimum = "0") double standardDeviation,
+
+		@Schema(description = "Lowest measured value", example = "113.1",
+				requiredMode = Schema.RequiredMode.REQUIRED) double min,
+
+		@Schema(description = "Highest measured value", example = "123.9",
+				requiredMode = Schema.RequiredMode.REQUIRED) double max,
+
+		@Schema(description = "Coefficient of variation as a percentage of the mean",
+				example = "2.11",
+				requiredMode = Schema.RequiredMode.REQUIRED) double coefficientOfVariation) {}
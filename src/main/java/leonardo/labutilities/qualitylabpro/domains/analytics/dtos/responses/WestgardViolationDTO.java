@@ -0,0 +1,20 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+
+@Schema(description = "Westgard rejection rule broken by a measurement when it was ingested")
+public record WestgardViolationDTO(
+		@Schema(description = "Name of the analytic test", example = "Glucose") String name,
+
+		@Schema(description = "Control level identifier", example = "1") String level,
+
+		@Schema(description = "Control level lot number", example = "LOT123") String level_lot,
+
+		@Schema(description = "Date and time of the measurement that broke the rule",
+				example = "2023-12-20T14:30:00") @JsonFormat(
+						pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime date,
+
+		@Schema(description = "Rule broken", example = "TWO_TWO_S") WestgardRule rule) {}
@@ -0,0 +1,6 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.enums;
+
+public enum AnalyticsIngestStatus {
+
+	ACCEPTED, DUPLICATE
+}
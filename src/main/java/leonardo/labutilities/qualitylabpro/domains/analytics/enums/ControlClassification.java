@@ -0,0 +1,52 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ControlClassification {
+
+	PLUS_3S("+3s", "Rule violation: exceeded positive limit (+3s)"),
+
+	MINUS_3S("-3s", "Rule violation: exceeded negative limit (-3s)"),
+
+	PLUS_2S("+2s", "Within acceptable positive range (+2s)"),
+
+	MINUS_2S("-2s", "Within acceptable negative range (-2s)"),
+
+	PLUS_1S("+1s", "Within acceptable positive range (+1s)"),
+
+	MINUS_1S("-1s", "Within acceptable negative range (-1s)"),
+
+	WITHIN_LIMITS("No rule broken", "Approved according to current Westgard configured rules");
+
+	private final String rules;
+	private final String description;
+
+	ControlClassification(String rules, String description) {
+		this.rules = rules;
+		this.description = description;
+	}
+
+	// Widest band first; a zero SD collapses every band onto the mean, as before
+	public static ControlClassification classify(double value, double mean, double sd) {
+		if (value >= mean + 3 * sd) {
+			return PLUS_3S;
+		}
+		if (value <= mean - 3 * sd) {
+			return MINUS_3S;
+		}
+		if (value >= mean + 2 * sd) {
+			return PLUS_2S;
+		}
+		if (value <= mean - 2 * sd) {
+			return MINUS_2S;
+		}
+		if (value >= mean + sd) {
+			return PLUS_1S;
+		}
+		if (value <= mean - sd) {
+			return MINUS_1S;
+		}
+		return WITHIN_LIMITS;
+	}
+}
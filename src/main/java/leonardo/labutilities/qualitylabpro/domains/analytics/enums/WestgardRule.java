@@ -0,0 +1,39 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum WestgardRule {
+
+	ONE_TWO_S("1-2s", "One observation exceeds mean ±2 SD",
+			"Warning. Inspect the run against the remaining rules before accepting it."),
+
+	ONE_THREE_S("1-3s", "One observation exceeds mean ±3 SD",
+			"Random Error. Reject run and investigate for potential systematic errors."),
+
+	TWO_TWO_S("2-2s", "Two consecutive measurements exceed the same ±2 SD limit",
+			"Systematic Error. Check calibration and reagent lots before releasing results."),
+
+	R_FOUR_S("R-4s", "Consecutive measurements differ by more than 4 SD",
+			"Random Error. Check sample handling, pipetting and instrument precision."),
+
+	FOUR_ONE_S("4-1s", "Four consecutive measurements exceed ±1 SD on same side of mean",
+			"Systematic Error. Check for calibration drift, reagent lot changes, or environmental conditions."),
+
+	TEN_X("10x", "Ten consecutive measurements on same side of mean",
+			"Systematic Error. Review calibration, reagent stability, and instrument maintenance. Recalibrate if necessary. "
+					+ "If problem persists, consider retesting patient samples."),
+
+	SEVEN_T("7T", "Seven consecutive measurements trending in the same direction",
+			"Systematic Error. Look for progressive deterioration of reagents, calibrator or instrument components.");
+
+	private final String code;
+	private final String description;
+	private final String action;
+
+	WestgardRule(String code, String description, String action) {
+		this.code = code;
+		this.description = description;
+		this.action = action;
+	}
+}
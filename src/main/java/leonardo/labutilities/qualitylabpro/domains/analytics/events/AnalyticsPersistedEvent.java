@@ -0,0 +1,9 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.events;
+
+import java.util.List;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+
+// Published inside the ingest transaction. Listeners that push to clients or update in-memory
+// state use @TransactionalEventListener, so rolled-back rows never reach them.
+public record AnalyticsPersistedEvent(List<Analytic> analytics) {
+}
@@ -0,0 +1,183 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// Name lists are interned to a discipline id; dates are kept as epoch seconds plus nanos
+public final class AnalyticsCacheKey {
+
+	static final int MAX_INTERNED_SCOPES = 4_096;
+
+	private static final long UNBOUNDED = Long.MIN_VALUE;
+	private static final ConcurrentMap<List<String>, Scope> SCOPES = new ConcurrentHashMap<>();
+	private static final AtomicInteger NEXT_SCOPE_ID = new AtomicInteger();
+
+	private final Scope scope;
+	private final String level;
+	private final long startSecond;
+	private final int startNano;
+	private final long endSecond;
+	private final int endNano;
+	private final int pageNumber;
+	private final int pageSize;
+	private final Sort sort;
+	private final int hash;
+
+	private AnalyticsCacheKey(Scope scope, String level, LocalDateTime startDate,
+			LocalDateTime endDate, Pageable pageable) {
+		this.scope = scope;
+		this.level = level;
+		this.startSecond = startDate == null ? UNBOUNDED : startDate.toEpochSecond(ZoneOffset.UTC);
+		this.startNano = startDate == null ? 0 : startDate.getNano();
+		this.endSecond = endDate == null ? UNBOUNDED : endDate.toEpochSecond(ZoneOffset.UTC);
+		this.endNano = endDate == null ? 0 : endDate.getNano();
+		// Unpaged requests have no number or size; -1 keeps them apart from any real page
+		this.pageNumber = pageable.isPaged() ? pageable.getPageNumber() : -1;
+		this.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+		this.sort = pageable.getSort();
+
+		int result = scope.hash;
+		result = 31 * result + Objects.hashCode(level);
+		result = 31 * result + Long.hashCode(this.startSecond) + this.startNano;
+		result = 31 * result + Long.hashCode(this.endSecond) + this.endNano;
+		result = 31 * result + this.pageNumber;
+		result = 31 * result + this.pageSize;
+		this.hash = 31 * result + this.sort.hashCode();
+	}
+
+	public static AnalyticsCacheKey of(String name, String level, LocalDateTime startDate,
+			LocalDateTime endDate, Pageable pageable) {
+		return new AnalyticsCacheKey(intern(List.of(name)), level, startDate, endDate, pageable);
+	}
+
+	public static AnalyticsCacheKey of(List<String> names, LocalDateTime startDate,
+			LocalDateTime endDate, Pageable pageable) {
+		return new AnalyticsCacheKey(intern(names), null, startDate, endDate, pageable);
+	}
+
+	public static AnalyticsCacheKey of(List<String> names, LocalDateTime startDate,
+			LocalDateTime endDate) {
+		return of(names, startDate, endDate, Pageable.unpaged());
+	}
+
+	// Unbounded dates: any write to the test touches the entry
+	public static AnalyticsCacheKey ofName(String name, Pageable pageable) {
+		return new AnalyticsCacheKey(intern(List.of(name)), null, null, null, pageable);
+	}
+
+	// Controllers pass the same constant list, so after the first request this is one lookup
+	private static Scope intern(List<String> names) {
+		Scope scope = SCOPES.get(names);
+		if (scope != null) {
+			return scope;
+		}
+		// Past the cap, keys still compare by names; they just skip the identity fast path
+		if (SCOPES.size() >= MAX_INTERNED_SCOPES) {
+			return new Scope(-1, List.copyOf(names));
+		}
+		return SCOPES.computeIfAbsent(List.copyOf(names),
+				copy -> new Scope(NEXT_SCOPE_ID.getAndIncrement(), copy));
+	}
+
+	public int disciplineId() {
+		return this.scope.id;
+	}
+
+	public String level() {
+		return this.level;
+	}
+
+	public int pageNumber() {
+		return this.pageNumber;
+	}
+
+	public int pageSize() {
+		return this.pageSize;
+	}
+
+	public Sort sort() {
+		return this.sort;
+	}
+
+	// A null from/to means the write is not bounded on that side
+	public boolean overlaps(String name, LocalDateTime from, LocalDateTime to) {
+		if (!this.scope.upperCaseNames.contains(name.toUpperCase(Locale.ROOT))) {
+			return false;
+		}
+		boolean endsBeforeStart = this.startSecond != UNBOUNDED && to != null
+				&& compare(to, this.startSecond, this.startNano) < 0;
+		boolean startsAfterEnd = this.endSecond != UNBOUNDED && from != null
+				&& compare(from, this.endSecond, this.endNano) > 0;
+		return !endsBeforeStart && !startsAfterEnd;
+	}
+
+	private static int compare(LocalDateTime date, long epochSecond, int nano) {
+		int bySecond = Long.compare(date.toEpochSecond(ZoneOffset.UTC), epochSecond);
+		return bySecond != 0 ? bySecond : Integer.compare(date.getNano(), nano);
+	}
+
+	// Primitives first; the interned scope usually settles on identity
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof AnalyticsCacheKey key)) {
+			return false;
+		}
+		return this.hash == key.hash && this.startSecond == key.startSecond
+				&& this.endSecond == key.endSecond && this.startNano == key.startNano
+				&& this.endNano == key.endNano && this.pageNumber == key.pageNumber
+				&& this.pageSize == key.pageSize && this.scope.sameAs(key.scope)
+				&& Objects.equals(this.level, key.level) && this.sort.equals(key.sort);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Override
+	public String toString() {
+		return "AnalyticsCacheKey[discipline=" + this.scope.id + ", names=" + this.scope.names
+				+ ", level=" + this.level + ", start=" + this.startSecond + "." + this.startNano
+				+ ", end=" + this.endSecond + "." + this.endNano + ", page=" + this.pageNumber
+				+ ", size=" + this.pageSize + ", sort=" + this.sort + "]";
+	}
+
+	private static final class Scope {
+		private final int id;
+		private final List<String> names;
+		private final Set<String> upperCaseNames;
+		private final int hash;
+
+		private Scope(int id, List<String> names) {
+			this.id = id;
+			this.names = names;
+			this.upperCaseNames = names.stream().map(name -> name.toUpperCase(Locale.ROOT))
+					.collect(Collectors.toUnmodifiableSet());
+			this.hash = names.hashCode();
+		}
+
+		// Two interned scopes are equal only when they are the same instance
+		private boolean sameAs(Scope other) {
+			if (this == other) {
+				return true;
+			}
+			if (this.id >= 0 && other.id >= 0) {
+				return false;
+			}
+			return this.names.equals(other.names);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
+
+// Writes one row at a time; nothing is retained between rows
+public final class AnalyticsExportWriter {
+
+	public static final String CSV_MEDIA_TYPE = "text/csv";
+	public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+	private static final String CSV_HEADER =
+			"id,date,level_lot,test_lot,name,level,value,mean,sd,unit_value,rules,description\n";
+	private static final DateTimeFormatter DATE_FORMATTER =
+			DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+	private static final ObjectWriter JSON_WRITER = JsonMapper.builder().findAndAddModules()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).build()
+			.writerFor(AnalyticsDTO.class);
+
+	private final ExportFormat format;
+	private final Writer writer;
+
+	private AnalyticsExportWriter(ExportFormat format, OutputStream outputStream) {
+		this.format = format;
+		this.writer = new BufferedWriter(
+				new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+	}
+
+	public static boolean supports(ExportFormat format) {
+		return format == ExportFormat.CSV || format == ExportFormat.JSON;
+	}
+
+	public static String mediaType(ExportFormat format) {
+		return format == ExportFormat.CSV ? CSV_MEDIA_TYPE : NDJSON_MEDIA_TYPE;
+	}
+
+	public static String fileExtension(ExportFormat format) {
+		return format == ExportFormat.CSV ? "csv" : "ndjson";
+	}
+
+	public static AnalyticsExportWriter of(ExportFormat format, OutputStream outputStream) {
+		if (!supports(format)) {
+			throw new IllegalArgumentException("Unsupported export format: " + format);
+		}
+		return new AnalyticsExportWriter(format, outputStream);
+	}
+
+	public void writeHeader() {
+		if (this.format == ExportFormat.CSV) {
+			this.append(CSV_HEADER);
+		}
+	}
+
+	public void write(Analytic analytic) {
+		try {
+			if (this.format == ExportFormat.CSV) {
+				this.writeCsvRow(analytic);
+			} else {
+				JSON_WRITER.writeValue(this.writer, AnalyticMapper.toRecord(analytic));
+				this.writer.write('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void flush() {
+		try {
+			this.writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeCsvRow(Analytic analytic) throws IOException {
+		this.writer.write(String.valueOf(analytic.getId()));
+		this.writer.write(',');
+		this.writer.write(analytic.getMeasurementDate().format(DATE_FORMATTER));
+		this.writer.write(',');
+		this.writeCsvField(analytic.getControlLevelLot());
+		this.writer.write(',');
+		this.writeCsvField(analytic.getReagentLot());
+		this.writer.write(',');
+		this.writeCsvField(analytic.getTestName());
+		this.writer.write(',');
+		this.writeCsvField(analytic.getControlLevel());
+		this.writer.write(',');
+		this.writer.write(Double.toString(analytic.getMeasurementValue()));
+		this.writer.write(',');
+		this.writer.write(Double.toString(analytic.getTargetMean()));
+		this.writer.write(',');
+		this.writer.write(Double.toString(analytic.getStandardDeviation()));
+		this.writer.write(',');
+		this.writeCsvField(analytic.getMeasurementUnit());
+		this.writer.write(',');
+		this.writeCsvField(analytic.getControlRules());
+		this.writer.write(',');
+		this.writeCsvField(analytic.getDescription());
+		this.writer.write('\n');
+	}
+
+	private void writeCsvField(String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			this.writer.write(value);
+			return;
+		}
+		this.writer.write('"');
+		this.writer.write(value.replace("\"", "\"\""));
+		this.writer.write('"');
+	}
+
+	private void append(String value) {
+		try {
+			this.writer.write(value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
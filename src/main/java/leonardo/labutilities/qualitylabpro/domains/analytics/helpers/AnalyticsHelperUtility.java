@@ -1,16 +1,18 @@
 package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
 import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.AnalyticsHelperController;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsLinkFactory.PageLinkTemplate;
 
 public class AnalyticsHelperUtility {
 
@@ -18,50 +20,76 @@ public class AnalyticsHelperUtility {
 
 	public static EntityModel<AnalyticsDTO> createEntityModel(AnalyticsDTO analyticsRecord,
 			AnalyticsHelperController controller) {
-		return EntityModel.of(analyticsRecord, Link.of(ServletUriComponentsBuilder
-				.fromCurrentContextPath().path("/backend")
-				.path(linkTo(methodOn(controller.getClass()).getAnalyticsById(analyticsRecord.id()))
-						.toUri().getPath())
-				.toUriString()).withSelfRel());
+		return EntityModel.of(analyticsRecord,
+				AnalyticsLinkFactory.selfLink(controller, analyticsRecord.id()));
+	}
+
+	public static List<EntityModel<AnalyticsDTO>> createEntityModels(
+			List<AnalyticsDTO> analyticsRecords, AnalyticsHelperController controller) {
+		List<EntityModel<AnalyticsDTO>> entityModels = new ArrayList<>(analyticsRecords.size());
+		if (analyticsRecords.isEmpty()) {
+			return entityModels;
+		}
+		String selfLinkPrefix = AnalyticsLinkFactory.selfLinkPrefix(controller.getClass());
+		for (AnalyticsDTO analyticsRecord : analyticsRecords) {
+			Link selfLink = analyticsRecord.id() == null
+					? AnalyticsLinkFactory.selfLink(controller, null)
+					: Link.of(selfLinkPrefix + analyticsRecord.id()).withSelfRel();
+			entityModels.add(EntityModel.of(analyticsRecord, selfLink));
+		}
+		return entityModels;
 	}
 
 	public static CollectionModel<EntityModel<AnalyticsDTO>> addPaginationLinks(
 			CollectionModel<EntityModel<AnalyticsDTO>> collectionModel, Page<AnalyticsDTO> page,
 			Pageable pageable) {
 
-		UriComponentsBuilder uriBuilder =
-				ServletUriComponentsBuilder.fromCurrentRequest().replacePath("/backend-api"
-						+ ServletUriComponentsBuilder.fromCurrentRequest().build().getPath());
+		PageLinkTemplate links = AnalyticsLinkFactory.pageLinkTemplate(
+				AnalyticsLinkFactory.currentRequestUri(), pageable.getPageSize());
 
-		collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", 0)
-				.replaceQueryParam("size", pageable.getPageSize()).toUriString()
-				.replace("%2520", "%20")).withRel("first"));
+		collectionModel.add(links.link(0, "first"));
 
 		if (page.hasPrevious()) {
-			collectionModel
-					.add(Link.of(uriBuilder.replaceQueryParam("page", pageable.getPageNumber() - 1)
-							.replaceQueryParam("size", pageable.getPageSize()).toUriString()
-							.replace("%2520", "%20")).withRel("prev"));
+			collectionModel.add(links.link(pageable.getPageNumber() - 1, "prev"));
 		}
 
 		if (page.hasNext()) {
-			collectionModel
-					.add(Link.of(uriBuilder.replaceQueryParam("page", pageable.getPageNumber() + 1)
-							.replaceQueryParam("size", pageable.getPageSize()).toUriString()
-							.replace("%2520", "%20")).withRel("next"));
+			collectionModel.add(links.link(pageable.getPageNumber() + 1, "next"));
 		}
 
-		collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", page.getTotalPages() - 1)
-				.replaceQueryParam("size", pageable.getPageSize()).toUriString()
-				.replace("%2520", "%20")).withRel("last"));
-
-		collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", pageable.getPageNumber())
-				.replaceQueryParam("size", pageable.getPageSize()).toUriString()
-				.replace("%2520", "%20")).withRel("current-page"));
+		collectionModel.add(links.link(page.getTotalPages() - 1, "last"));
+		collectionModel.add(links.link(pageable.getPageNumber(), "current-page"));
 
 		collectionModel.add(Link.of(String.valueOf(page.getTotalPages()), "totalPages"));
 		collectionModel.add(Link.of(String.valueOf(page.getNumber()), "currentPage"));
 
 		return collectionModel;
 	}
+
+	public static CollectionModel<EntityModel<AnalyticsDTO>> addPaginationLinks(
+			CollectionModel<EntityModel<AnalyticsDTO>> collectionModel, Slice<AnalyticsDTO> slice,
+			KeysetPageRequest keyset) {
+
+		UriComponentsBuilder currentRequestUri = AnalyticsLinkFactory.currentRequestUri();
+		String currentPage = AnalyticsLinkFactory.toLinkString(currentRequestUri.cloneBuilder());
+
+		UriComponentsBuilder uriBuilder = currentRequestUri.replaceQueryParam("page")
+				.replaceQueryParam("size", keyset.getPageSize());
+
+		collectionModel.add(Link.of(AnalyticsLinkFactory.toLinkString(
+				uriBuilder.replaceQueryParam(KeysetPageRequest.CURSOR_PARAMETER, "")))
+				.withRel("first"));
+
+		if (slice.hasNext()) {
+			AnalyticsDTO last = slice.getContent().getLast();
+			collectionModel.add(Link.of(AnalyticsLinkFactory.toLinkString(
+					uriBuilder.replaceQueryParam(KeysetPageRequest.CURSOR_PARAMETER,
+							KeysetPageRequest.encode(last.date(), last.id()))))
+					.withRel("next"));
+		}
+
+		collectionModel.add(Link.of(currentPage).withRel("current-page"));
+
+		return collectionModel;
+	}
 }
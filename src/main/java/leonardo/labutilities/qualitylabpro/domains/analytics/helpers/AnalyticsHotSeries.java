@@ -0,0 +1,320 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+
+// Recent points of one (name, level) series in date and id order, one primitive array per column.
+// Every stored point dated at or after coveredFrom() is present, so reads there need no query.
+public final class AnalyticsHotSeries {
+
+	static final int INITIAL_CAPACITY = 64;
+	// id and epoch second, value/mean/sd, rule code, lot/reagent lot/unit/description codes
+	static final int BYTES_PER_POINT = 2 * Long.BYTES + 3 * Double.BYTES + Byte.BYTES
+			+ 4 * Integer.BYTES;
+
+	private final int maxCapacity;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Dictionary strings = new Dictionary();
+	private final Dictionary ruleCodes = new Dictionary();
+
+	private long[] ids = new long[0];
+	private long[] epochSeconds = new long[0];
+	private double[] values = new double[0];
+	private double[] means = new double[0];
+	private double[] sds = new double[0];
+	private byte[] rules = new byte[0];
+	private int[] levelLots = new int[0];
+	private int[] testLots = new int[0];
+	private int[] units = new int[0];
+	private int[] descriptions = new int[0];
+	private String name;
+	private String level;
+	private int head;
+	private int size;
+	private long coveredFrom;
+
+	public AnalyticsHotSeries(long coveredFrom, int maxCapacity) {
+		if (maxCapacity < 1) {
+			throw new IllegalArgumentException("Hot series capacity must be positive");
+		}
+		this.coveredFrom = coveredFrom;
+		this.maxCapacity = maxCapacity;
+	}
+
+	public static long epochSecond(LocalDateTime date) {
+		return date.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	public boolean covers(long startEpochSecond) {
+		this.lock.readLock().lock();
+		try {
+			return startEpochSecond >= this.coveredFrom;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	public long coveredFrom() {
+		this.lock.readLock().lock();
+		try {
+			return this.coveredFrom;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.size;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	public long footprintBytes() {
+		this.lock.readLock().lock();
+		try {
+			return (long) this.ids.length * BYTES_PER_POINT + this.strings.footprintBytes()
+					+ this.ruleCodes.footprintBytes();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	// Returns false for points before the covered range and for ids already held
+	public boolean append(AnalyticsDTO analytic) {
+		long epochSecond = epochSecond(analytic.date());
+		this.lock.writeLock().lock();
+		try {
+			if (epochSecond < this.coveredFrom) {
+				return false;
+			}
+			// Points sharing a second are kept in id order, like the queries' tie-breaker
+			int position = this.upperBound(epochSecond);
+			for (int i = position - 1; i >= 0 && this.epochSeconds[this.slot(i)] == epochSecond;
+					i--) {
+				long id = this.ids[this.slot(i)];
+				if (id == analytic.id()) {
+					return false;
+				}
+				if (id > analytic.id()) {
+					position = i;
+				}
+			}
+			int ruleCode = this.ruleCodes.code(analytic.rules());
+			if (ruleCode > Byte.MAX_VALUE) {
+				// Not representable; stop serving this series rather than return wrong rules
+				this.coveredFrom = Long.MAX_VALUE;
+				return false;
+			}
+			if (this.size == this.ids.length) {
+				if (this.ids.length < this.maxCapacity) {
+					this.resize(Math.min(Math.max(INITIAL_CAPACITY, this.ids.length * 2),
+							this.maxCapacity));
+				} else {
+					// Full ring: the oldest point goes and coverage starts just after it
+					this.coveredFrom =
+							Math.max(this.coveredFrom, this.epochSeconds[this.head] + 1);
+					this.head = this.slot(1);
+					this.size--;
+					position--;
+					if (position < 0) {
+						return false;
+					}
+				}
+			}
+			for (int i = this.size; i > position; i--) {
+				this.move(this.slot(i - 1), this.slot(i));
+			}
+			int slot = this.slot(position);
+			this.ids[slot] = analytic.id();
+			this.epochSeconds[slot] = epochSecond;
+			this.values[slot] = analytic.value();
+			this.means[slot] = analytic.mean();
+			this.sds[slot] = analytic.sd();
+			this.rules[slot] = (byte) ruleCode;
+			this.levelLots[slot] = this.strings.code(analytic.level_lot());
+			this.testLots[slot] = this.strings.code(analytic.test_lot());
+			this.units[slot] = this.strings.code(analytic.unit_value());
+			this.descriptions[slot] = this.strings.code(analytic.description());
+			if (this.name == null) {
+				this.name = analytic.name();
+				this.level = analytic.level();
+			}
+			this.size++;
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	// Same rows, order and paging as findByNameAndLevelAndDateBetween (inclusive bounds)
+	public List<AnalyticsDTO> range(long startEpochSecond, long endEpochSecond, long offset,
+			int limit) {
+		this.lock.readLock().lock();
+		try {
+			int[] bounds = this.bounds(startEpochSecond, endEpochSecond, offset, limit);
+			List<AnalyticsDTO> results = new ArrayList<>(bounds[1] - bounds[0]);
+			for (int i = bounds[0]; i < bounds[1]; i++) {
+				results.add(this.toRecord(this.slot(i)));
+			}
+			return results;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	// Drops points older than the horizon and returns how many went
+	public int trim(long horizonEpochSecond) {
+		this.lock.writeLock().lock();
+		try {
+			int removed = 0;
+			while (this.size > 0 && this.epochSeconds[this.head] < horizonEpochSecond) {
+				this.head = this.slot(1);
+				this.size--;
+				removed++;
+			}
+			this.coveredFrom = Math.max(this.coveredFrom, horizonEpochSecond);
+			if (this.ids.length > INITIAL_CAPACITY && this.size < this.ids.length / 4) {
+				this.resize(Math.max(INITIAL_CAPACITY, this.ids.length / 2));
+			}
+			return removed;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private int[] bounds(long startEpochSecond, long endEpochSecond, long offset, int limit) {
+		int from = this.lowerBound(startEpochSecond);
+		int to = Math.max(from, this.upperBound(endEpochSecond));
+		int start = (int) Math.min(to, from + offset);
+		int end = (int) Math.min(to, (long) start + limit);
+		return new int[] {start, end};
+	}
+
+	// First logical index whose date is not before the given second
+	private int lowerBound(long epochSecond) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.epochSeconds[this.slot(middle)] < epochSecond) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// First logical index whose date is after the given second
+	private int upperBound(long epochSecond) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.epochSeconds[this.slot(middle)] <= epochSecond) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private int slot(int index) {
+		return (this.head + index) % this.ids.length;
+	}
+
+	private void move(int from, int to) {
+		this.ids[to] = this.ids[from];
+		this.epochSeconds[to] = this.epochSeconds[from];
+		this.values[to] = this.values[from];
+		this.means[to] = this.means[from];
+		this.sds[to] = this.sds[from];
+		this.rules[to] = this.rules[from];
+		this.levelLots[to] = this.levelLots[from];
+		this.testLots[to] = this.testLots[from];
+		this.units[to] = this.units[from];
+		this.descriptions[to] = this.descriptions[from];
+	}
+
+	private void resize(int capacity) {
+		long[] newIds = new long[capacity];
+		long[] newEpochSeconds = new long[capacity];
+		double[] newValues = new double[capacity];
+		double[] newMeans = new double[capacity];
+		double[] newSds = new double[capacity];
+		byte[] newRules = new byte[capacity];
+		int[] newLevelLots = new int[capacity];
+		int[] newTestLots = new int[capacity];
+		int[] newUnits = new int[capacity];
+		int[] newDescriptions = new int[capacity];
+		for (int i = 0; i < this.size; i++) {
+			int slot = this.slot(i);
+			newIds[i] = this.ids[slot];
+			newEpochSeconds[i] = this.epochSeconds[slot];
+			newValues[i] = this.values[slot];
+			newMeans[i] = this.means[slot];
+			newSds[i] = this.sds[slot];
+			newRules[i] = this.rules[slot];
+			newLevelLots[i] = this.levelLots[slot];
+			newTestLots[i] = this.testLots[slot];
+			newUnits[i] = this.units[slot];
+			newDescriptions[i] = this.descriptions[slot];
+		}
+		this.ids = newIds;
+		this.epochSeconds = newEpochSeconds;
+		this.values = newValues;
+		this.means = newMeans;
+		this.sds = newSds;
+		this.rules = newRules;
+		this.levelLots = newLevelLots;
+		this.testLots = newTestLots;
+		this.units = newUnits;
+		this.descriptions = newDescriptions;
+		this.head = 0;
+	}
+
+	private AnalyticsDTO toRecord(int slot) {
+		return new AnalyticsDTO(this.ids[slot],
+				LocalDateTime.ofEpochSecond(this.epochSeconds[slot], 0, ZoneOffset.UTC),
+				this.strings.value(this.levelLots[slot]), this.strings.value(this.testLots[slot]),
+				this.name, this.level, this.values[slot], this.means[slot], this.sds[slot],
+				this.strings.value(this.units[slot]), this.ruleCodes.value(this.rules[slot]),
+				this.strings.value(this.descriptions[slot]));
+	}
+
+	// Lots, units, rules and descriptions repeat on almost every row; each is kept once
+	private static final class Dictionary {
+		private final List<String> values = new ArrayList<>();
+		private final Map<String, Integer> codes = new HashMap<>();
+
+		private int code(String value) {
+			return this.codes.computeIfAbsent(value, ignored -> {
+				this.values.add(value);
+				return this.values.size() - 1;
+			});
+		}
+
+		private String value(int code) {
+			return this.values.get(code);
+		}
+
+		private long footprintBytes() {
+			long bytes = 0;
+			for (String value : this.values) {
+				// Rough String plus map entry overhead; enough for a footprint gauge
+				bytes += 96 + (value == null ? 0 : 2L * value.length());
+			}
+			return bytes;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.AnalyticsHelperController;
+
+public final class AnalyticsLinkFactory {
+
+	private static final String PREFIX_ATTRIBUTE = AnalyticsLinkFactory.class.getName() + ".";
+
+	// Long ids never need encoding, so the link for any id is prefix + id
+	private static final long SENTINEL_ID = 9_007_199_254_740_993L;
+	private static final String PAGE_PLACEHOLDER = "__page__";
+
+	private AnalyticsLinkFactory() {}
+
+	public static Link selfLink(AnalyticsHelperController controller, Long id) {
+		if (id == null) {
+			return Link.of(resolveSelfLink(controller.getClass(), null)).withSelfRel();
+		}
+		return Link.of(selfLinkPrefix(controller.getClass()) + id).withSelfRel();
+	}
+
+	// Resolved once per request and controller, then reused for every row of the response
+	public static String selfLinkPrefix(Class<? extends AnalyticsHelperController> controllerClass) {
+		RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+		String key = PREFIX_ATTRIBUTE + controllerClass.getName();
+		Object cached = attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+		if (cached instanceof String prefix) {
+			return prefix;
+		}
+
+		String sentinelLink = resolveSelfLink(controllerClass, SENTINEL_ID);
+		String sentinel = Long.toString(SENTINEL_ID);
+		if (!sentinelLink.endsWith(sentinel)) {
+			throw new IllegalStateException("Unexpected self link shape: " + sentinelLink);
+		}
+		String prefix = sentinelLink.substring(0, sentinelLink.length() - sentinel.length());
+		attributes.setAttribute(key, prefix, RequestAttributes.SCOPE_REQUEST);
+		return prefix;
+	}
+
+	public static UriComponentsBuilder currentRequestUri() {
+		UriComponentsBuilder current = ServletUriComponentsBuilder.fromCurrentRequest();
+		return current.replacePath("/backend-api" + current.build().getPath());
+	}
+
+	public static String toLinkString(UriComponentsBuilder uriBuilder) {
+		return uriBuilder.toUriString().replace("%2520", "%20");
+	}
+
+	public static PageLinkTemplate pageLinkTemplate(UriComponentsBuilder uriBuilder, int size) {
+		String template = toLinkString(
+				uriBuilder.replaceQueryParam("page", PAGE_PLACEHOLDER).replaceQueryParam("size", size));
+		int index = template.lastIndexOf(PAGE_PLACEHOLDER);
+		return new PageLinkTemplate(template.substring(0, index),
+				template.substring(index + PAGE_PLACEHOLDER.length()));
+	}
+
+	private static String resolveSelfLink(Class<? extends AnalyticsHelperController> controllerClass,
+			Long id) {
+		return ServletUriComponentsBuilder.fromCurrentContextPath().path("/backend")
+				.path(linkTo(methodOn(controllerClass).getAnalyticsById(id)).toUri().getPath())
+				.toUriString();
+	}
+
+	public record PageLinkTemplate(String prefix, String suffix) {
+		public Link link(int page, String rel) {
+			return Link.of(this.prefix + page + this.suffix).withRel(rel);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsLiveEventDTO;
+
+// Bounded per-subscriber queue; publishers never block on a slow reader
+public final class AnalyticsLiveBuffer {
+
+	private final int capacity;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = this.lock.newCondition();
+	private Deque<AnalyticsLiveEventDTO> pending = new ArrayDeque<>();
+	private boolean closed;
+
+	public AnalyticsLiveBuffer(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Live buffer capacity must be positive");
+		}
+		this.capacity = capacity;
+	}
+
+	// Returns how many pending events were given up to make room for this one
+	public int offer(AnalyticsLiveEventDTO event) {
+		this.lock.lock();
+		try {
+			if (this.closed) {
+				return 0;
+			}
+			int discarded = 0;
+			if (this.pending.size() >= this.capacity) {
+				discarded += this.conflate();
+			}
+			if (this.pending.size() >= this.capacity) {
+				this.pending.pollFirst();
+				discarded++;
+			}
+			this.pending.addLast(event);
+			this.notEmpty.signal();
+			return discarded;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	// A reader that fell behind only needs the newest point per series; violations always stay
+	private int conflate() {
+		Set<List<String>> seenSeries = new HashSet<>();
+		Deque<AnalyticsLiveEventDTO> kept = new ArrayDeque<>(this.pending.size());
+		Iterator<AnalyticsLiveEventDTO> newestFirst = this.pending.descendingIterator();
+		while (newestFirst.hasNext()) {
+			AnalyticsLiveEventDTO event = newestFirst.next();
+			if (event.violation() || seenSeries.add(series(event.analytics()))) {
+				kept.addFirst(event);
+			}
+		}
+		int discarded = this.pending.size() - kept.size();
+		this.pending = kept;
+		return discarded;
+	}
+
+	private static List<String> series(AnalyticsDTO analytics) {
+		return Arrays.asList(analytics.name(), analytics.level(), analytics.level_lot());
+	}
+
+	// Waits up to the timeout; an empty list means nothing arrived or the buffer was closed
+	public List<AnalyticsLiveEventDTO> drain(Duration timeout) throws InterruptedException {
+		long nanos = timeout.toNanos();
+		this.lock.lock();
+		try {
+			while (this.pending.isEmpty() && !this.closed && nanos > 0) {
+				nanos = this.notEmpty.awaitNanos(nanos);
+			}
+			if (this.closed || this.pending.isEmpty()) {
+				return List.of();
+			}
+			List<AnalyticsLiveEventDTO> batch = new ArrayList<>(this.pending);
+			this.pending.clear();
+			return batch;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void close() {
+		this.lock.lock();
+		try {
+			this.closed = true;
+			this.pending.clear();
+			this.notEmpty.signalAll();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public boolean isClosed() {
+		this.lock.lock();
+		try {
+			return this.closed;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public int size() {
+		this.lock.lock();
+		try {
+			return this.pending.size();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.helpers;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.DescriptiveStatisticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
+
+// Single-pass Welford accumulator; partial results combine with Chan's parallel update
+public final class StatisticsAccumulator implements DoubleConsumer {
+
+	private long count;
+	private double mean;
+	private double m2;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	public static StatisticsAccumulator of(double... values) {
+		StatisticsAccumulator accumulator = new StatisticsAccumulator();
+		for (double value : values) {
+			accumulator.accept(value);
+		}
+		return accumulator;
+	}
+
+	// Rebuilds a partial result from a stored count, mean and sum of squared deviations (e.g.
+	// daily rollups). Raw sums of squares are not accepted: subtracting sum * mean cancels
+	// catastrophically when the mean is large relative to the spread.
+	public static StatisticsAccumulator fromMoments(long count, double mean,
+			double sumOfSquaredDeviations, double min, double max) {
+		StatisticsAccumulator accumulator = new StatisticsAccumulator();
+		if (count > 0) {
+			accumulator.count = count;
+			accumulator.mean = mean;
+			accumulator.m2 = Math.max(0.0, sumOfSquaredDeviations);
+			accumulator.min = min;
+			accumulator.max = max;
+		}
+		return accumulator;
+	}
+
+	public static <T> Collector<T, StatisticsAccumulator, StatisticsAccumulator> summarizing(
+			ToDoubleFunction<? super T> mapper) {
+		return Collector.of(StatisticsAccumulator::new,
+				(accumulator, element) -> accumulator.accept(mapper.applyAsDouble(element)),
+				StatisticsAccumulator::merge, Collector.Characteristics.IDENTITY_FINISH,
+				Collector.Characteristics.UNORDERED);
+	}
+
+	@Override
+	public void accept(double value) {
+		this.count++;
+		double delta = value - this.mean;
+		this.mean += delta / this.count;
+		this.m2 += delta * (value - this.mean);
+		if (value < this.min) {
+			this.min = value;
+		}
+		if (value > this.max) {
+			this.max = value;
+		}
+	}
+
+	public StatisticsAccumulator merge(StatisticsAccumulator other) {
+		if (other.count == 0) {
+			return this;
+		}
+		if (this.count == 0) {
+			this.count = other.count;
+			this.mean = other.mean;
+			this.m2 = other.m2;
+			this.min = other.min;
+			this.max = other.max;
+			return this;
+		}
+		long total = this.count + other.count;
+		double delta = other.mean - this.mean;
+		this.mean += delta * other.count / total;
+		this.m2 += other.m2 + delta * delta * ((double) this.count * other.count / total);
+		this.count = total;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+		return this;
+	}
+
+	public long getCount() {
+		return this.count;
+	}
+
+	public double getMean() {
+		return this.count == 0 ? Double.NaN : this.mean;
+	}
+
+	public double getSumOfSquaredDeviations() {
+		return this.m2;
+	}
+
+	public double getVariance() {
+		return this.count == 0 ? 0.0 : this.m2 / this.count;
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(this.getVariance());
+	}
+
+	public double getMin() {
+		return this.count == 0 ? Double.NaN : this.min;
+	}
+
+	public double getMax() {
+		return this.count == 0 ? Double.NaN : this.max;
+	}
+
+	public double getCoefficientOfVariation() {
+		double currentMean = this.getMean();
+		return this.count == 0 || currentMean == 0.0 ? Double.NaN
+				: this.getStandardDeviation() / currentMean * 100.0;
+	}
+
+	public MeanAndStdDeviationDTO toMeanAndStdDeviation() {
+		return new MeanAndStdDeviationDTO(this.getMean(), this.getStandardDeviation());
+	}
+
+	public DescriptiveStatisticsDTO toDescriptiveStatistics() {
+		return new DescriptiveStatisticsDTO(this.count, this.getMean(),
+				this.getStandardDeviation(), this.getMin(), this.getMax(),
+				this.getCoefficientOfVariation());
+	}
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
 import leonardo.labutilities.qualitylabpro.domains.users.models.User;
@@ -27,7 +28,9 @@ import lombok.Setter;
 public class Analytic extends RepresentationModel<Analytic> {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analytics_seq")
+	@SequenceGenerator(name = "analytics_seq", sequenceName = "analytics_seq",
+			allocationSize = 50)
 	@EqualsAndHashCode.Include
 	private Long id;
 
@@ -0,0 +1,38 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Per-day aggregates of analytics rows; written only through AnalyticsRollupRepository upserts
+@Getter
+@NoArgsConstructor
+@Entity(name = "analytics_daily_rollup")
+public class AnalyticsDailyRollup {
+
+	@EmbeddedId
+	private AnalyticsDailyRollupId id;
+
+	@Column(name = "sample_count", nullable = false)
+	private long sampleCount;
+
+	@Column(name = "value_mean", nullable = false)
+	private double valueMean;
+
+	@Column(name = "value_m2", nullable = false)
+	private double valueM2;
+
+	@Column(name = "value_min", nullable = false)
+	private double valueMin;
+
+	@Column(name = "value_max", nullable = false)
+	private double valueMax;
+
+	@Column(name = "warning_count", nullable = false)
+	private long warningCount;
+
+	@Column(name = "rejection_count", nullable = false)
+	private long rejectionCount;
+}
@@ -0,0 +1,30 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class AnalyticsDailyRollupId implements Serializable {
+
+	@Column(name = "test_name", nullable = false, length = 25)
+	private String testName;
+
+	@Column(name = "measurement_day", nullable = false)
+	private LocalDate measurementDay;
+
+	@Column(name = "control_level", nullable = false, length = 25)
+	private String controlLevel;
+
+	@Column(name = "control_level_lot", nullable = false, length = 25)
+	private String controlLevelLot;
+}
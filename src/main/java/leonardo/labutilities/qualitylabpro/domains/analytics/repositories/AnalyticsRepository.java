@@ -1,9 +1,12 @@
 package leonardo.labutilities.qualitylabpro.domains.analytics.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,35 +15,79 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsSeriesKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelStatisticsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.NameLevelMomentsProjection;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 
 @Repository
 public interface AnalyticsRepository extends JpaRepository<Analytic, Long> {
 
+	// Selects straight into the response record so read paths skip entity hydration
+	String ANALYTICS_DTO_PROJECTION = """
+			SELECT new leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO(
+			 ga.id, ga.measurementDate, ga.controlLevelLot, ga.reagentLot, ga.testName,
+			 ga.controlLevel, ga.measurementValue, ga.targetMean, ga.standardDeviation,
+			 ga.measurementUnit, ga.controlRules, ga.description) FROM analytics ga
+			""";
+
+	// Raw moments in the same shape as AnalyticsRollupRepository's aggregates
+	String MOMENTS_COLUMNS = """
+			 COALESCE(ga.control_level, '') AS level, COUNT(*) AS count,
+			 AVG(ga.measurement_value) AS valueMean,
+			 VAR_POP(ga.measurement_value) * COUNT(*) AS valueM2,
+			 MIN(ga.measurement_value) AS valueMin, MAX(ga.measurement_value) AS valueMax,
+			 SUM(ga.control_rules IN ('+2s', '-2s')) AS warningCount,
+			 SUM(ga.control_rules IN ('+3s', '-3s')) AS rejectionCount
+			""";
+
+	String LEVEL_MOMENTS_SELECT =
+			"SELECT" + MOMENTS_COLUMNS + " FROM analytics ga WHERE ga.test_name = :name";
+
+	String NAME_LEVEL_MOMENTS_SELECT = "SELECT ga.test_name AS name," + MOMENTS_COLUMNS
+			+ " FROM analytics ga WHERE ga.test_name IN (:names)";
+
 	// Existence Checks
 	boolean existsByTestName(String name);
 
 	boolean existsByMeasurementDateAndControlLevelAndTestName(LocalDateTime date, String level,
 			String value);
 
+	// Bulk Ingest Duplicate Resolution
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("""
+			SELECT new leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsKeyDTO(
+			 ga.testName, ga.controlLevel, ga.measurementDate) FROM analytics ga
+			 WHERE ga.testName IN (:names) AND ga.controlLevel IN (:levels)
+			 AND ga.measurementDate BETWEEN :startDate AND :endDate
+			""")
+	List<AnalyticsKeyDTO> findKeysByNameInAndLevelInAndDateBetween(
+			@Param("names") Collection<String> names, @Param("levels") Collection<String> levels,
+			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
 	// Fetch Analytics by Name
-	@Query("SELECT ga FROM analytics ga WHERE ga.testName = :testName")
-	List<Analytic> findByTestName(@Param("testName") String testName, Pageable pageable);
+	@Query(ANALYTICS_DTO_PROJECTION + " WHERE ga.testName = :testName")
+	List<AnalyticsDTO> findByTestName(@Param("testName") String testName, Pageable pageable);
 
 	// Fetch Latest Analytics
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName = :name AND ga.controlLevel = :level ORDER BY ga.measurementDate DESC LIMIT 10
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name AND ga.controlLevel = :level ORDER BY ga.measurementDate DESC LIMIT 10
 			""")
 	List<AnalyticsDTO> findLast10ByTestNameAndControlLevel(@Param("name") String name,
 			@Param("level") String level);
 
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName = :name AND ga.controlLevel = :level ORDER BY ga.measurementDate DESC LIMIT 1
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name AND ga.controlLevel = :level ORDER BY ga.measurementDate DESC LIMIT 1
 			""")
 	List<AnalyticsDTO> findLastByTestNameAndControlLevel(@Param("name") String name,
 			@Param("level") String level);
 
+	List<Analytic> findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+			String testName, String controlLevel, String controlLevelLot);
+
 	// Update Operations
 	@Transactional
 	@Modifying
@@ -53,10 +100,10 @@ public interface AnalyticsRepository extends JpaRepository<Analytic, Long> {
 			@Param("mean") double mean);
 
 	// Fetch Analytics by Name and Level
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName = :name AND ga.controlLevel = :level
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name AND ga.controlLevel = :level
 			""")
-	List<Analytic> findByNameAndLevel(Pageable pageable, @Param("name") String name,
+	List<AnalyticsDTO> findByNameAndLevel(Pageable pageable, @Param("name") String name,
 			@Param("level") String level);
 
 	@Query(value = """
@@ -68,20 +115,42 @@ public interface AnalyticsRepository extends JpaRepository<Analytic, Long> {
 	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
 			@QueryHint(name = "org.hibernate.fetchSize", value = "100"),
 			@QueryHint(name = "org.hibernate.cacheable", value = "true")})
-	@Query("""
-			SELECT ga FROM analytics ga WHERE ga.testName = :name
-			AND ga.controlLevel = :level AND ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate ASC
+	@Query(ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name
+			AND ga.controlLevel = :level AND ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate ASC, ga.id ASC
 			""")
-	List<Analytic> findByNameAndLevelAndDateBetween(@Param("name") String name,
+	List<AnalyticsDTO> findByNameAndLevelAndDateBetween(@Param("name") String name,
 			@Param("level") String level, @Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate, Pageable pageable);
 
+	// Hot Window Warm-up
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("""
+			SELECT DISTINCT new leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsSeriesKeyDTO(
+			 ga.testName, ga.controlLevel) FROM analytics ga WHERE ga.measurementDate >= :startDate
+			""")
+	List<AnalyticsSeriesKeyDTO> findSeriesKeysByDateFrom(
+			@Param("startDate") LocalDateTime startDate);
+
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.cacheable", value = "false")})
+	@Query(ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name AND ga.controlLevel = :level
+			 AND ga.measurementDate >= :startDate ORDER BY ga.measurementDate ASC, ga.id ASC
+			""")
+	List<AnalyticsDTO> findByNameAndLevelAndDateFrom(@Param("name") String name,
+			@Param("level") String level, @Param("startDate") LocalDateTime startDate);
+
 	// Fetch Analytics by Multiple Names and Date
 	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
 			@QueryHint(name = "org.hibernate.fetchSize", value = "50"),
 			@QueryHint(name = "org.hibernate.cacheable", value = "true")})
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names) AND ga.controlLevel = :level AND ga.measurementDate BETWEEN
+			  :startDate AND :endDate
+			""", countQuery = """
+			SELECT COUNT(ga) FROM analytics ga WHERE
 			 ga.testName IN (:names) AND ga.controlLevel = :level AND ga.measurementDate BETWEEN
 			  :startDate AND :endDate
 			""")
@@ -89,41 +158,144 @@ public interface AnalyticsRepository extends JpaRepository<Analytic, Long> {
 			@Param("level") String level, @Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate, Pageable pageable);
 
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName IN (:names) AND ga.measurementDate BETWEEN :startDate AND :endDate
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names) AND ga.measurementDate BETWEEN :startDate AND :endDate
+			""", countQuery = """
+			SELECT COUNT(ga) FROM analytics ga WHERE ga.testName IN (:names) AND ga.measurementDate BETWEEN :startDate AND :endDate
 			""")
 	Page<AnalyticsDTO> findByNameInAndDateBetweenPaged(@Param("names") List<String> names,
 			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
 			Pageable pageable);
 
 
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName IN (:names) ORDER BY ga.measurementDate ASC
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names) ORDER BY ga.measurementDate ASC
 			""")
-	List<Analytic> findByNameIn(@Param("names") List<String> names, Pageable pageable);
+	List<AnalyticsDTO> findByNameIn(@Param("names") List<String> names, Pageable pageable);
 
-	@Query(value = """
-			SELECT ga FROM analytics ga WHERE ga.testName IN (:names) ORDER BY ga.measurementDate ASC
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names) ORDER BY ga.measurementDate ASC
+			""", countQuery = """
+			SELECT COUNT(ga) FROM analytics ga WHERE ga.testName IN (:names)
 			""")
 	Page<AnalyticsDTO> findByNameInPaged(@Param("names") List<String> names, Pageable pageable);
 
 	// General Paged Analytics
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 ORDER BY ga.measurementDate ASC
+			""", countQuery = "SELECT COUNT(ga) FROM analytics ga")
+	Page<AnalyticsDTO> findPaged(Pageable pageable);
+
+	// Keyset Pagination
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names)
+			 AND (ga.measurementDate < :cursorDate OR (ga.measurementDate = :cursorDate AND ga.id < :cursorId))
+			 ORDER BY ga.measurementDate DESC, ga.id DESC
+			""")
+	Slice<AnalyticsDTO> findByNameInAfterCursor(@Param("names") List<String> names,
+			@Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") long cursorId,
+			Pageable pageable);
+
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names)
+			 AND ga.measurementDate BETWEEN :startDate AND :endDate
+			 AND (ga.measurementDate < :cursorDate OR (ga.measurementDate = :cursorDate AND ga.id < :cursorId))
+			 ORDER BY ga.measurementDate DESC, ga.id DESC
+			""")
+	Slice<AnalyticsDTO> findByNameInAndDateBetweenAfterCursor(@Param("names") List<String> names,
+			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+			@Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") long cursorId,
+			Pageable pageable);
+
+	@Query(value = ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName IN (:names) AND ga.controlLevel = :level
+			 AND ga.measurementDate BETWEEN :startDate AND :endDate
+			 AND (ga.measurementDate < :cursorDate OR (ga.measurementDate = :cursorDate AND ga.id < :cursorId))
+			 ORDER BY ga.measurementDate DESC, ga.id DESC
+			""")
+	Slice<AnalyticsDTO> findByNameInAndLevelAndDateBetweenAfterCursor(
+			@Param("names") List<String> names, @Param("level") String level,
+			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+			@Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") long cursorId,
+			Pageable pageable);
+
+	// Streaming Export
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.cacheable", value = "false")})
 	@Query(value = """
-			SELECT ga FROM analytics ga ORDER BY ga.measurementDate ASC
+			SELECT ga FROM analytics ga WHERE ga.testName IN (:names)
+			 AND ga.measurementDate BETWEEN :startDate AND :endDate
+			 ORDER BY ga.measurementDate ASC, ga.id ASC
 			""")
-	Page<AnalyticsDTO> findPaged(Pageable pageable);
+	Stream<Analytic> streamByNameInAndDateBetween(@Param("names") List<String> names,
+			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
 	// Analytics by Date Range
-	@Query("SELECT ga FROM analytics ga WHERE ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate DESC")
-	List<Analytic> findByDateBetween(@Param("startDate") LocalDateTime startDate,
+	@QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500")})
+	@Query(ANALYTICS_DTO_PROJECTION
+			+ " WHERE ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate DESC")
+	List<AnalyticsDTO> findByDateBetween(@Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate);
 
 	// Grouped Analytics
-	@Query("""
-			SELECT ga FROM analytics ga WHERE ga.testName = :name
-			AND ga.measurementDate BETWEEN :startDate AND :endDate GROUP BY ga.controlLevel, ga.id ORDER BY ga.measurementDate ASC
+	@Query(ANALYTICS_DTO_PROJECTION + """
+			 WHERE ga.testName = :name
+			AND ga.measurementDate BETWEEN :startDate AND :endDate ORDER BY ga.measurementDate ASC
 			""")
-	List<Analytic> findByNameAndDateBetweenGroupByLevel(@Param("name") String name,
+	List<AnalyticsDTO> findByNameAndDateBetweenGroupByLevel(@Param("name") String name,
 			@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
 			Pageable pageable);
+
+	// Aggregated Statistics by Level
+	@Query(value = """
+			SELECT ga.control_level AS level, COUNT(*) AS count,
+			 AVG(ga.measurement_value) AS mean, STDDEV_POP(ga.measurement_value) AS standardDeviation
+			 FROM analytics ga WHERE ga.test_name = :name
+			 AND ga.measurement_date BETWEEN :startDate AND :endDate
+			 GROUP BY ga.control_level
+			""", nativeQuery = true)
+	List<LevelStatisticsProjection> aggregateStatisticsByNameAndDateBetweenGroupByLevel(
+			@Param("name") String name, @Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	// Partial days at the edges of a rollup-backed range
+	@Query(value = LEVEL_MOMENTS_SELECT + """
+			 AND ga.measurement_date >= :startDate AND ga.measurement_date < :endDate
+			 GROUP BY COALESCE(ga.control_level, '')
+			""", nativeQuery = true)
+	List<LevelMomentsProjection> aggregateMomentsByNameAndDateRangeGroupByLevel(
+			@Param("name") String name, @Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	@Query(value = LEVEL_MOMENTS_SELECT + """
+			 AND ga.measurement_date BETWEEN :startDate AND :endDate
+			 GROUP BY COALESCE(ga.control_level, '')
+			""", nativeQuery = true)
+	List<LevelMomentsProjection> aggregateMomentsByNameAndDateBetweenGroupByLevel(
+			@Param("name") String name, @Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	// Every analyte of a discipline in one round trip
+	@Query(value = NAME_LEVEL_MOMENTS_SELECT + """
+			 AND ga.measurement_date BETWEEN :startDate AND :endDate
+			 GROUP BY ga.test_name, COALESCE(ga.control_level, '')
+			""", nativeQuery = true)
+	List<NameLevelMomentsProjection> aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(
+			@Param("names") List<String> names, @Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	@Query(value = NAME_LEVEL_MOMENTS_SELECT + """
+			 AND ga.measurement_date >= :startDate AND ga.measurement_date < :endDate
+			 GROUP BY ga.test_name, COALESCE(ga.control_level, '')
+			""", nativeQuery = true)
+	List<NameLevelMomentsProjection> aggregateMomentsByNameInAndDateRangeGroupByNameAndLevel(
+			@Param("names") List<String> names, @Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	@Query("SELECT MIN(ga.measurementDate) FROM analytics ga")
+	LocalDateTime findOldestMeasurementDate();
+
+	@Query("SELECT MAX(ga.measurementDate) FROM analytics ga")
+	LocalDateTime findNewestMeasurementDate();
 }
@@ -0,0 +1,125 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.repositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.NameLevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.AnalyticsDailyRollup;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.AnalyticsDailyRollupId;
+
+@Repository
+public interface AnalyticsRollupRepository
+		extends JpaRepository<AnalyticsDailyRollup, AnalyticsDailyRollupId> {
+
+	// Recomputes rollup rows from the raw analytics table; callers append the WHERE clause
+	String REBUILD_FROM_ANALYTICS = """
+			INSERT INTO analytics_daily_rollup (test_name, control_level, control_level_lot,
+			 measurement_day, sample_count, value_mean, value_m2, value_min, value_max,
+			 warning_count, rejection_count)
+			SELECT ga.test_name, COALESCE(ga.control_level, ''), COALESCE(ga.control_level_lot, ''),
+			 DATE(ga.measurement_date), COUNT(*), AVG(ga.measurement_value),
+			 VAR_POP(ga.measurement_value) * COUNT(*), MIN(ga.measurement_value),
+			 MAX(ga.measurement_value), SUM(ga.control_rules IN ('+2s', '-2s')),
+			 SUM(ga.control_rules IN ('+3s', '-3s'))
+			FROM analytics ga
+			""";
+
+	String REBUILD_GROUP_AND_UPSERT = """
+			 GROUP BY ga.test_name, COALESCE(ga.control_level, ''),
+			 COALESCE(ga.control_level_lot, ''), DATE(ga.measurement_date)
+			ON DUPLICATE KEY UPDATE sample_count = VALUES(sample_count),
+			 value_mean = VALUES(value_mean), value_m2 = VALUES(value_m2),
+			 value_min = VALUES(value_min), value_max = VALUES(value_max),
+			 warning_count = VALUES(warning_count), rejection_count = VALUES(rejection_count)
+			""";
+
+	// Incremental maintenance: merges an ingest batch's per-day delta into the stored aggregates
+	// with Chan's update. Assignments run left to right, so M2 and the mean read the old count.
+	@Modifying
+	@Query(value = """
+			INSERT INTO analytics_daily_rollup (test_name, control_level, control_level_lot,
+			 measurement_day, sample_count, value_mean, value_m2, value_min, value_max,
+			 warning_count, rejection_count)
+			VALUES (:name, :level, :levelLot, :day, :count, :valueMean, :valueM2,
+			 :valueMin, :valueMax, :warningCount, :rejectionCount)
+			ON DUPLICATE KEY UPDATE value_m2 = value_m2 + VALUES(value_m2)
+			  + (VALUES(value_mean) - value_mean) * (VALUES(value_mean) - value_mean)
+			  * sample_count * VALUES(sample_count) / (sample_count + VALUES(sample_count)),
+			 value_mean = value_mean + (VALUES(value_mean) - value_mean) * VALUES(sample_count)
+			  / (sample_count + VALUES(sample_count)),
+			 sample_count = sample_count + VALUES(sample_count),
+			 value_min = LEAST(value_min, VALUES(value_min)),
+			 value_max = GREATEST(value_max, VALUES(value_max)),
+			 warning_count = warning_count + VALUES(warning_count),
+			 rejection_count = rejection_count + VALUES(rejection_count)
+			""", nativeQuery = true)
+	void accumulate(@Param("name") String name, @Param("level") String level,
+			@Param("levelLot") String levelLot, @Param("day") LocalDate day,
+			@Param("count") long count, @Param("valueMean") double valueMean,
+			@Param("valueM2") double valueM2, @Param("valueMin") double valueMin,
+			@Param("valueMax") double valueMax, @Param("warningCount") long warningCount,
+			@Param("rejectionCount") long rejectionCount);
+
+	// Per (test, level, lot) group, used after mean updates and deletes
+	@Modifying
+	@Query(value = """
+			DELETE FROM analytics_daily_rollup WHERE test_name = :name
+			 AND control_level = :level AND control_level_lot = :levelLot
+			""", nativeQuery = true)
+	int deleteGroup(@Param("name") String name, @Param("level") String level,
+			@Param("levelLot") String levelLot);
+
+	@Modifying
+	@Query(value = REBUILD_FROM_ANALYTICS + """
+			 WHERE ga.test_name = :name AND COALESCE(ga.control_level, '') = :level
+			 AND COALESCE(ga.control_level_lot, '') = :levelLot
+			""" + REBUILD_GROUP_AND_UPSERT, nativeQuery = true)
+	int rebuildGroup(@Param("name") String name, @Param("level") String level,
+			@Param("levelLot") String levelLot);
+
+	// Whole days across every test, used by the backfill job
+	@Modifying
+	@Query(value = """
+			DELETE FROM analytics_daily_rollup WHERE measurement_day BETWEEN :startDay AND :endDay
+			""", nativeQuery = true)
+	int deleteDaysBetween(@Param("startDay") LocalDate startDay,
+			@Param("endDay") LocalDate endDay);
+
+	@Modifying
+	@Query(value = REBUILD_FROM_ANALYTICS + """
+			 WHERE ga.measurement_date >= :startDate AND ga.measurement_date < :endDate
+			""" + REBUILD_GROUP_AND_UPSERT, nativeQuery = true)
+	int rebuildDateRange(@Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	// One row per day and lot: M2 does not add across days, so callers merge rows with Chan's
+	// update instead of summing them here
+	@Query(value = """
+			SELECT r.control_level AS level, r.sample_count AS count, r.value_mean AS valueMean,
+			 r.value_m2 AS valueM2, r.value_min AS valueMin, r.value_max AS valueMax,
+			 r.warning_count AS warningCount, r.rejection_count AS rejectionCount
+			 FROM analytics_daily_rollup r WHERE r.test_name = :name
+			 AND r.measurement_day BETWEEN :startDay AND :endDay
+			""", nativeQuery = true)
+	List<LevelMomentsProjection> aggregateByNameAndDayBetweenGroupByLevel(
+			@Param("name") String name, @Param("startDay") LocalDate startDay,
+			@Param("endDay") LocalDate endDay);
+
+	@Query(value = """
+			SELECT r.test_name AS name, r.control_level AS level, r.sample_count AS count,
+			 r.value_mean AS valueMean, r.value_m2 AS valueM2, r.value_min AS valueMin,
+			 r.value_max AS valueMax, r.warning_count AS warningCount,
+			 r.rejection_count AS rejectionCount
+			 FROM analytics_daily_rollup r WHERE r.test_name IN (:names)
+			 AND r.measurement_day BETWEEN :startDay AND :endDay
+			""", nativeQuery = true)
+	List<NameLevelMomentsProjection> aggregateByNameInAndDayBetweenGroupByNameAndLevel(
+			@Param("names") List<String> names, @Param("startDay") LocalDate startDay,
+			@Param("endDay") LocalDate endDay);
+}
@@ -1,30 +1,57 @@
 package leonardo.labutilities.qualitylabpro.domains.analytics.services;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
-import org.springframework.cache.annotation.CacheEvict;
+import java.util.stream.Stream;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import leonardo.labutilities.qualitylabpro.configs.cache.CacheConfiguration;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyteStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestReportDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestRowDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.DescriptiveStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedResultsByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedValuesByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.AnalyticsIngestStatus;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsExportWriter;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.StatisticsAccumulator;
 import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
 import leonardo.labutilities.qualitylabpro.domains.shared.blacklist.AnalyticsBlackList;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
 import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -32,14 +59,36 @@ import lombok.extern.slf4j.Slf4j;
 public class AnalyticHelperService implements IAnalyticHelperService {
 
         private final AnalyticsRepository analyticsRepository;
-        private final EmailService emailService;
+        private final AnalyticsAlertOutbox analyticsAlertOutbox;
         private final RulesProviderComponent controlRulesValidators;
+        private final AnalyticsRollupService analyticsRollupService;
+        private final AnalyticsCacheInvalidator analyticsCacheInvalidator;
+        private final AnalyticsRequestCoalescer analyticsRequestCoalescer;
+        private final AnalyticsLiveFeed analyticsLiveFeed;
+        private final AnalyticsHotWindow analyticsHotWindow;
+        private final ApplicationEventPublisher eventPublisher;
+
+        @PersistenceContext
+        private EntityManager entityManager;
 
         public AnalyticHelperService(AnalyticsRepository analyticsRepository,
-                        EmailService emailService, RulesProviderComponent controlRulesValidators) {
+                        AnalyticsAlertOutbox analyticsAlertOutbox,
+                        RulesProviderComponent controlRulesValidators,
+                        AnalyticsRollupService analyticsRollupService,
+                        AnalyticsCacheInvalidator analyticsCacheInvalidator,
+                        AnalyticsRequestCoalescer analyticsRequestCoalescer,
+                        AnalyticsLiveFeed analyticsLiveFeed,
+                        AnalyticsHotWindow analyticsHotWindow,
+                        ApplicationEventPublisher eventPublisher) {
                 this.analyticsRepository = analyticsRepository;
-                this.emailService = emailService;
+                this.analyticsAlertOutbox = analyticsAlertOutbox;
                 this.controlRulesValidators = controlRulesValidators;
+                this.analyticsRollupService = analyticsRollupService;
+                this.analyticsCacheInvalidator = analyticsCacheInvalidator;
+                this.analyticsRequestCoalescer = analyticsRequestCoalescer;
+                this.analyticsLiveFeed = analyticsLiveFeed;
+                this.analyticsHotWindow = analyticsHotWindow;
+                this.eventPublisher = eventPublisher;
         }
 
         public String convertLevel(String level) {
@@ -64,6 +113,11 @@ public class AnalyticHelperService implements IAnalyticHelperService {
                                 || "+2s".equals(rules));
         }
 
+        // Replaces dashboard polling: committed measurements for these names are pushed as they land
+        public SseEmitter streamNewAnalytics(List<String> names) {
+                return this.analyticsLiveFeed.subscribe(names);
+        }
+
         public void ensureNameExists(String name) {
                 if (!this.analyticsRepository.existsByTestName(name.toUpperCase())) {
                         throw new CustomGlobalErrorHandling.ResourceNotFoundException(
@@ -78,86 +132,139 @@ public class AnalyticHelperService implements IAnalyticHelperService {
                                 .toList();
         }
 
-        @Async
-        public void processFailedRecordsNotification(List<AnalyticsDTO> failedRecords) {
+        // Queued in the ingest transaction with the Westgard rules as they stand at ingest;
+        // AlertOutboxDispatcher sends the coalesced digest
+        public void processFailedRecordsNotification(List<Analytic> persistedRecords) {
+                List<Analytic> failedRecords = filterFailedRecords(persistedRecords);
                 if (!failedRecords.isEmpty()) {
-                        try {
-                                var content = this.controlRulesValidators
-                                                .validateRules(failedRecords);
-                                this.emailService.sendFailedAnalyticsNotification(failedRecords,
-                                                content);
-                        } catch (Exception e) {
-                                log.error("Error sending identifier notification: {}", e);
-                        }
+                        this.analyticsAlertOutbox.enqueue(
+                                        failedRecords.stream().map(AnalyticMapper::toRecord).toList(),
+                                        this.controlRulesValidators.findViolations(persistedRecords,
+                                                        failedRecords));
                 }
         }
 
         // STATISTICS METHODS
-        private static MeanAndStdDeviationDTO computeStatistics(List<Double> values) {
-                double sum = values.stream().mapToDouble(Double::doubleValue).sum();
-                int size = values.size();
-                double mean = sum / size;
-                double variance = values.stream().mapToDouble(value -> Math.pow(value - mean, 2))
-                                .average().orElse(0.0);
-                return new MeanAndStdDeviationDTO(mean, Math.sqrt(variance));
+        private static MeanAndStdDeviationDTO computeStatistics(List<AnalyticsDTO> records) {
+                return accumulate(records).toMeanAndStdDeviation();
         }
 
-        private static List<Double> extractRecordValues(List<AnalyticsDTO> records) {
-                return records.stream().map(AnalyticsDTO::value).toList();
+        private static StatisticsAccumulator accumulate(List<AnalyticsDTO> records) {
+                StatisticsAccumulator accumulator = new StatisticsAccumulator();
+                for (AnalyticsDTO analyticsRecord : records) {
+                        accumulator.accept(analyticsRecord.value());
+                }
+                return accumulator;
         }
 
         @Override
         public List<GroupedMeanAndStdByLevelDTO> returnMeanAndStandardDeviationForGroups(
                         List<GroupedValuesByLevelDTO> records) {
                 return records.stream().map(group -> new GroupedMeanAndStdByLevelDTO(group.level(),
-                                Collections.singletonList(computeStatistics(
-                                                extractRecordValues(group.values())))))
+                                Collections.singletonList(computeStatistics(group.values()))))
                                 .toList();
         }
 
-        @Cacheable(value = "meanAndStdDeviation",
-                        key = "{#name, #level, #dateStart, #dateEnd, #pageable.pageNumber, #pageable.pageSize}")
+        // Coalesced misses are timed by AnalyticsRequestCoalescer. There is no surrounding
+        // transaction, so waiting callers do not each hold a pooled connection.
+        @Cacheable(value = CacheConfiguration.MEAN_AND_STD_DEVIATION,
+                        key = "T(leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey).of(#name, #level, #dateStart, #dateEnd, #pageable)")
         public MeanAndStdDeviationDTO calculateMeanAndStandardDeviation(String name, String level,
                         LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
-                List<AnalyticsDTO> values = this
-                                .findAnalyticsByNameAndLevelAndDate(name, level, dateStart, dateEnd,
-                                                pageable)
-                                .stream().filter(this::isRecordValid).toList();
-                return computeStatistics(extractRecordValues(values));
+                return this.analyticsRequestCoalescer.coalesce("meanAndStdDeviation",
+                                AnalyticsCacheKey.of(name, level, dateStart, dateEnd, pageable),
+                                () -> computeStatistics(this
+                                                .findAnalyticsByNameAndLevelAndDate(name, level,
+                                                                dateStart, dateEnd, pageable)
+                                                .stream().filter(this::isRecordValid).toList()));
+        }
+
+        // Same records as calculateMeanAndStandardDeviation, with count, min, max and CV
+        public DescriptiveStatisticsDTO calculateDescriptiveStatistics(String name, String level,
+                        LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
+                return this.analyticsRequestCoalescer.coalesce("descriptiveStatistics",
+                                AnalyticsCacheKey.of(name, level, dateStart, dateEnd, pageable),
+                                () -> accumulate(this
+                                                .findAnalyticsByNameAndLevelAndDate(name, level,
+                                                                dateStart, dateEnd, pageable)
+                                                .stream().filter(this::isRecordValid).toList())
+                                                .toDescriptiveStatistics());
         }
 
         public MeanAndStdDeviationDTO calcMeanAndStandardDeviationOptimized(
                         List<AnalyticsDTO> values) {
-                return computeStatistics(extractRecordValues(values));
+                return computeStatistics(values);
         }
 
-        @Cacheable(value = "calculateGroupedMeanAndStandardDeviation",
-                        key = "{#name, #level, #dateStart, #dateEnd, #pageable.pageNumber, #pageable.pageSize}")
+        @Cacheable(value = CacheConfiguration.GROUPED_MEAN_AND_STD_DEVIATION,
+                        key = "T(leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey).of(#name, null, #startDate, #endDate, #pageable)")
         public List<GroupedMeanAndStdByLevelDTO> calculateGroupedMeanAndStandardDeviation(
                         String name, LocalDateTime startDate, LocalDateTime endDate,
                         Pageable pageable) {
-                List<AnalyticsDTO> records = this.analyticsRepository
-                                .findByNameAndDateBetweenGroupByLevel(name, startDate, endDate,
-                                                pageable)
-                                .stream().map(AnalyticMapper::toRecord).toList();
-                var values = records.stream().collect(Collectors.groupingBy(AnalyticsDTO::level))
-                                .entrySet().stream()
-                                .map(entry -> new GroupedValuesByLevelDTO(entry.getKey(),
-                                                entry.getValue()))
+                return this.analyticsRequestCoalescer.coalesce("groupedMeanAndStdDeviation",
+                                AnalyticsCacheKey.of(name, null, startDate, endDate, pageable),
+                                () -> this.aggregateMeanAndStandardDeviationByLevel(name,
+                                                startDate, endDate));
+        }
+
+        private List<GroupedMeanAndStdByLevelDTO> aggregateMeanAndStandardDeviationByLevel(
+                        String name, LocalDateTime startDate, LocalDateTime endDate) {
+                // Long ranges read whole days from the daily rollups instead of scanning raw rows
+                if (this.analyticsRollupService.covers(startDate, endDate)) {
+                        return this.analyticsRollupService.aggregateByLevel(name, startDate,
+                                        endDate);
+                }
+                // Aggregated by the database over the whole range; no per-point rows are needed
+                return this.analyticsRepository
+                                .aggregateStatisticsByNameAndDateBetweenGroupByLevel(name,
+                                                startDate, endDate)
+                                .stream()
+                                .map(stats -> new GroupedMeanAndStdByLevelDTO(stats.getLevel(),
+                                                Collections.singletonList(
+                                                                new MeanAndStdDeviationDTO(
+                                                                                stats.getMean(),
+                                                                                stats.getStandardDeviation()))))
                                 .toList();
+        }
 
-                return this.returnMeanAndStandardDeviationForGroups(values);
+        // One grouped query for every analyte of the discipline instead of one call per analyte
+        @Cacheable(value = CacheConfiguration.STATISTICS_BY_NAME_AND_LEVEL,
+                        key = "T(leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey).of(#names, #startDate, #endDate)")
+        public List<AnalyteStatisticsDTO> calculateStatisticsByNameAndLevel(List<String> names,
+                        LocalDateTime startDate, LocalDateTime endDate) {
+                return this.analyticsRequestCoalescer.coalesce("statisticsByNameAndLevel",
+                                AnalyticsCacheKey.of(names, startDate, endDate),
+                                () -> this.aggregateStatisticsByNameAndLevel(names, startDate,
+                                                endDate));
+        }
+
+        private List<AnalyteStatisticsDTO> aggregateStatisticsByNameAndLevel(List<String> names,
+                        LocalDateTime startDate, LocalDateTime endDate) {
+                if (this.analyticsRollupService.covers(startDate, endDate)) {
+                        return this.analyticsRollupService.aggregateByNameAndLevel(names,
+                                        startDate, endDate);
+                }
+                return AnalyticsRollupService.summarizeByNameAndLevel(this.analyticsRepository
+                                .aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(names,
+                                                startDate, endDate));
         }
 
         // BUSINESS LOGIC METHODS
         public List<GroupedResultsByLevelDTO> findAnalyticsWithGroupedResults(String name,
                         LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+                return this.analyticsRequestCoalescer.coalesce("groupedResults",
+                                AnalyticsCacheKey.of(name, null, startDate, endDate, pageable),
+                                () -> this.groupResultsByLevel(name, startDate, endDate,
+                                                pageable));
+        }
+
+        private List<GroupedResultsByLevelDTO> groupResultsByLevel(String name,
+                        LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
                 List<GroupedValuesByLevelDTO> analytics = this.findGroupedAnalyticsByLevel(name,
                                 startDate, endDate, pageable);
                 Map<String, MeanAndStdDeviationDTO> statsByLevel = analytics.stream()
                                 .collect(Collectors.toMap(GroupedValuesByLevelDTO::level,
-                                                group -> computeStatistics(extractRecordValues(
-                                                                group.values()))));
+                                                group -> computeStatistics(group.values())));
 
                 return analytics.stream().map(analytic -> new GroupedResultsByLevelDTO(analytic,
                                 new GroupedMeanAndStdByLevelDTO(analytic.level(),
@@ -167,12 +274,12 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public List<GroupedValuesByLevelDTO> findGroupedAnalyticsByLevel(String name,
                         LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
                 List<AnalyticsDTO> records = this.analyticsRepository
                                 .findByNameAndDateBetweenGroupByLevel(name, startDate, endDate,
-                                                pageable)
-                                .stream().map(AnalyticMapper::toRecord).toList();
+                                                pageable);
                 validateResultsNotEmpty(records,
                                 "No analytics found for the given name and date between parameters");
 
@@ -184,6 +291,7 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Page<AnalyticsDTO> findAnalyticsByNameInAndDateBetweenWithLinks(List<String> names,
                         LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
                 return this.analyticsRepository.findByNameInAndDateBetweenPaged(names, dateStart,
@@ -191,10 +299,15 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional
         public void updateAnalyticsMeanByNameAndLevelAndLevelLot(String name, String level,
                         String levelLot, double mean) {
                 this.analyticsRepository.updateMeanByNameAndLevelAndLevelLot(name, level, levelLot,
                                 mean);
+                this.controlRulesValidators.invalidate(name, level, levelLot);
+                this.analyticsRollupService.rebuildGroup(name, level, levelLot);
+                this.analyticsCacheInvalidator.evictTest(name);
+                this.analyticsHotWindow.invalidate(name, level);
         }
 
         @Override
@@ -217,37 +330,98 @@ public class AnalyticHelperService implements IAnalyticHelperService {
                                                 "AnalyticsDTO by id not found")));
         }
 
+        private Set<AnalyticsKeyDTO> findExistingKeys(List<AnalyticsDTO> valuesOfLevelsList) {
+                Set<String> names = new HashSet<>();
+                Set<String> levels = new HashSet<>();
+                LocalDateTime minDate = null;
+                LocalDateTime maxDate = null;
+                for (AnalyticsDTO values : valuesOfLevelsList) {
+                        names.add(values.name());
+                        levels.add(values.level());
+                        if (minDate == null || values.date().isBefore(minDate)) {
+                                minDate = values.date();
+                        }
+                        if (maxDate == null || values.date().isAfter(maxDate)) {
+                                maxDate = values.date();
+                        }
+                }
+                return this.analyticsRepository
+                                .findKeysByNameInAndLevelInAndDateBetween(names, levels, minDate,
+                                                maxDate)
+                                .stream().map(AnalyticsKeyDTO::normalized)
+                                .collect(Collectors.toCollection(HashSet::new));
+        }
+
+        // Runs inside the caller's transaction: rows, rollups, outbox entries and the persisted
+        // event commit or roll back together
+        private AnalyticsIngestReportDTO persistNewRecords(List<AnalyticsDTO> valuesOfLevelsList) {
+                if (valuesOfLevelsList.isEmpty()) {
+                        return new AnalyticsIngestReportDTO(0, 0, 0, List.of());
+                }
+
+                Set<AnalyticsKeyDTO> knownKeys = this.findExistingKeys(valuesOfLevelsList);
+                List<Analytic> newRecords = new ArrayList<>(valuesOfLevelsList.size());
+                List<AnalyticsIngestRowDTO> rows = new ArrayList<>(valuesOfLevelsList.size());
+
+                for (int i = 0; i < valuesOfLevelsList.size(); i++) {
+                        AnalyticsDTO values = valuesOfLevelsList.get(i);
+                        // Also rejects repeated rows inside the same batch
+                        AnalyticsIngestStatus status = knownKeys.add(AnalyticsKeyDTO.of(values).normalized())
+                                        ? AnalyticsIngestStatus.ACCEPTED
+                                        : AnalyticsIngestStatus.DUPLICATE;
+                        if (status == AnalyticsIngestStatus.ACCEPTED) {
+                                newRecords.add(AnalyticMapper.toNewEntity(values));
+                        }
+                        rows.add(new AnalyticsIngestRowDTO(i, values.name(), values.level(),
+                                        values.date(), status));
+                }
+
+                if (!newRecords.isEmpty()) {
+                        List<Analytic> persistedRecords = this.analyticsRepository.saveAll(newRecords);
+                        this.analyticsRollupService.recordMeasurements(persistedRecords);
+                        this.analyticsCacheInvalidator.evictMeasurements(persistedRecords);
+                        this.eventPublisher.publishEvent(new AnalyticsPersistedEvent(persistedRecords));
+
+                        processFailedRecordsNotification(persistedRecords);
+                }
+
+                return new AnalyticsIngestReportDTO(valuesOfLevelsList.size(), newRecords.size(),
+                                valuesOfLevelsList.size() - newRecords.size(), rows);
+        }
+
         @Override
-        @CacheEvict(value = { "analyticsByNameAndDateRange", "meanAndStdDeviation",
-                        "calculateGroupedMeanAndStandardDeviation",
-                        "AnalyticsByNameWithPagination" }, allEntries = true)
+        @Transactional
         public void saveNewAnalyticsRecords(List<AnalyticsDTO> valuesOfLevelsList) {
 
-                var newRecords = valuesOfLevelsList.stream().filter(this::isAnalyticsNonExistent)
-                                .map(AnalyticMapper::toNewEntity).toList();
+                var report = this.persistNewRecords(valuesOfLevelsList);
 
-                if (newRecords.isEmpty()) {
+                if (report.accepted() == 0) {
                         log.warn("No new analytics records to save.");
                         throw new CustomGlobalErrorHandling.DataIntegrityViolationException();
                 }
-
-                List<Analytic> persistedRecords = this.analyticsRepository.saveAll(newRecords);
-
-                List<AnalyticsDTO> failedRecords = filterFailedRecords(persistedRecords).stream()
-                                .map(AnalyticMapper::toRecord).toList();
-
-                processFailedRecordsNotification(failedRecords);
         }
 
-        @Cacheable("AnalyticsByNameWithPagination")
         @Override
+        @Transactional
+        public AnalyticsIngestReportDTO ingestAnalyticsRecords(
+                        List<AnalyticsDTO> valuesOfLevelsList) {
+                var report = this.persistNewRecords(valuesOfLevelsList);
+                log.info("Bulk ingest stored {} of {} analytics records ({} duplicates).",
+                                report.accepted(), report.received(), report.duplicates());
+                return report;
+        }
+
+        @Cacheable(value = CacheConfiguration.ANALYTICS_BY_NAME_WITH_PAGINATION,
+                        key = "T(leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey).ofName(#name, #pageable)",
+                        sync = true)
+        @Override
+        @Transactional(readOnly = true)
         public List<AnalyticsDTO> findAnalyticsByNameWithPagination(List<String> names, String name,
                         Pageable pageable) {
 
                 if (names.contains(name)) {
                         List<AnalyticsDTO> analyticsList = this.analyticsRepository
-                                        .findByTestName(name.toUpperCase(), pageable).stream()
-                                        .map(AnalyticMapper::toRecord).toList();
+                                        .findByTestName(name.toUpperCase(), pageable);
                         validateResultsNotEmpty(analyticsList,
                                         "No analytics found with the given name");
                         return analyticsList;
@@ -257,6 +431,7 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Page<AnalyticsDTO> findAnalyticsByNameInByLevelBaseMethod(List<String> names,
                         String level, LocalDateTime startDate, LocalDateTime endDate,
                         Pageable pageable) {
@@ -269,59 +444,122 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public List<AnalyticsDTO> findAnalyticsByDate(LocalDateTime dateStart,
                         LocalDateTime dateEnd) {
                 List<AnalyticsDTO> results =
-                                this.analyticsRepository.findByDateBetween(dateStart, dateEnd)
-                                                .stream().map(AnalyticMapper::toRecord).toList();
+                                this.analyticsRepository.findByDateBetween(dateStart, dateEnd);
                 validateResultsNotEmpty(results, "No analytics found for the given date range");
                 return results;
         }
 
         @Override
-        @Cacheable(value = "analyticsByNameAndDateRange",
-                        key = "{#names.hashCode(), #dateStart, #dateEnd, #pageable.pageNumber, #pageable.pageSize}")
+        @Cacheable(value = CacheConfiguration.ANALYTICS_BY_NAME_AND_DATE_RANGE,
+                        key = "T(leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey).of(#names, #dateStart, #dateEnd, #pageable)",
+                        sync = true)
+        @Transactional(readOnly = true)
         public Page<AnalyticsDTO> findAnalyticsByNameInAndDateBetween(List<String> names,
                         LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
                 return this.analyticsRepository.findByNameInAndDateBetweenPaged(names, dateStart,
                                 dateEnd, pageable);
         }
 
+        // Keyset queries skip the COUNT(*) and carry their own ORDER BY
         @Override
-        public void deleteAnalyticsById(Long id) {
-                if (!this.analyticsRepository.existsById(id)) {
-                        throw new CustomGlobalErrorHandling.ResourceNotFoundException(
-                                        "AnalyticsDTO by id not found");
+        @Transactional(readOnly = true)
+        public Slice<AnalyticsDTO> findAnalyticsByNameInAfterCursor(List<String> names,
+                        KeysetPageRequest keyset) {
+                return this.analyticsRepository.findByNameInAfterCursor(names,
+                                keyset.getCursorDate(), keyset.getCursorId(),
+                                PageRequest.ofSize(keyset.getPageSize()));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public Slice<AnalyticsDTO> findAnalyticsByNameInAndDateBetweenAfterCursor(
+                        List<String> names, LocalDateTime startDate, LocalDateTime endDate,
+                        KeysetPageRequest keyset) {
+                return this.analyticsRepository.findByNameInAndDateBetweenAfterCursor(names,
+                                startDate, endDate, keyset.getCursorDate(), keyset.getCursorId(),
+                                PageRequest.ofSize(keyset.getPageSize()));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public Slice<AnalyticsDTO> findAnalyticsByNameInByLevelAfterCursor(List<String> names,
+                        String level, LocalDateTime startDate, LocalDateTime endDate,
+                        KeysetPageRequest keyset) {
+                return this.analyticsRepository.findByNameInAndLevelAndDateBetweenAfterCursor(
+                                names, this.convertLevel(level), startDate, endDate,
+                                keyset.getCursorDate(), keyset.getCursorId(),
+                                PageRequest.ofSize(keyset.getPageSize()));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public long exportAnalyticsByNameInAndDateBetween(List<String> names,
+                        LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                        OutputStream outputStream) {
+                AnalyticsExportWriter exportWriter = AnalyticsExportWriter.of(format, outputStream);
+                exportWriter.writeHeader();
+                long rows = 0;
+                try (Stream<Analytic> analytics = this.analyticsRepository
+                                .streamByNameInAndDateBetween(names, startDate, endDate)) {
+                        for (Analytic analytic : (Iterable<Analytic>) analytics::iterator) {
+                                exportWriter.write(analytic);
+                                // Keep the persistence context from growing with the range
+                                this.entityManager.detach(analytic);
+                                rows++;
+                        }
                 }
-                this.analyticsRepository.deleteById(id);
+                exportWriter.flush();
+                log.info("Exported {} analytics rows as {}", rows, format);
+                return rows;
         }
 
+        @Override
+        public void deleteAnalyticsById(Long id) {
+                Analytic analytic = this.analyticsRepository.findById(id).orElseThrow(
+                                () -> new CustomGlobalErrorHandling.ResourceNotFoundException(
+                                                "AnalyticsDTO by id not found"));
+                this.analyticsRepository.delete(analytic);
+                this.analyticsRepository.flush();
+                this.controlRulesValidators.invalidate(analytic.getTestName(),
+                                analytic.getControlLevel(), analytic.getControlLevelLot());
+                this.analyticsRollupService.rebuildGroup(analytic.getTestName(),
+                                analytic.getControlLevel(), analytic.getControlLevelLot());
+                this.analyticsCacheInvalidator.evictMeasurement(analytic.getTestName(),
+                                analytic.getMeasurementDate());
+                this.analyticsHotWindow.invalidate(analytic.getTestName(),
+                                analytic.getControlLevel());
+        }
+
+        @Transactional(readOnly = true)
         public List<AnalyticsDTO> findAnalyticsByNameIn(List<String> names, Pageable pageable) {
-                return this.analyticsRepository.findByNameIn(names, pageable).stream()
-                                .map(AnalyticMapper::toRecord).toList();
+                return this.analyticsRepository.findByNameIn(names, pageable);
         }
 
+        @Transactional(readOnly = true)
         public Page<AnalyticsDTO> findAnalyticsPagedByNameIn(List<String> names,
                         Pageable pageable) {
                 return this.analyticsRepository.findByNameInPaged(names, pageable);
         }
 
+        @Transactional(readOnly = true)
         public List<AnalyticsDTO> findAnalyticsByNameAndLevelWithPagination(Pageable pageable,
                         String name, String level) {
                 List<AnalyticsDTO> analyticsList = this.analyticsRepository
-                                .findByNameAndLevel(pageable, name.toUpperCase(), level).stream()
-                                .map(AnalyticMapper::toRecord).toList();
+                                .findByNameAndLevel(pageable, name.toUpperCase(), level);
                 validateResultsNotEmpty(analyticsList,
                                 "No analytics found for the given name and level");
                 return analyticsList;
         }
 
+        // No surrounding transaction: reads answered by the hot window never borrow a connection
         public List<AnalyticsDTO> findAnalyticsByNameLevelAndDate(String name, String level,
                         LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
-                List<AnalyticsDTO> results = this.analyticsRepository
-                                .findByNameAndLevelAndDateBetween(name, level, dateStart, dateEnd,
-                                                pageable)
-                                .stream().map(AnalyticMapper::toRecord).toList();
+                List<AnalyticsDTO> results = this.findByNameAndLevelAndDateBetween(name, level,
+                                dateStart, dateEnd, pageable);
                 validateResultsNotEmpty(results,
                                 "No analytics found for the given name, level, dateStart, dateEnd -> parameters");
                 return results;
@@ -329,10 +567,8 @@ public class AnalyticHelperService implements IAnalyticHelperService {
 
         public AnalyticsWithCalcDTO findAnalyticsByNameLevelDateOptimized(String name, String level,
                         LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
-                List<AnalyticsDTO> results = this.analyticsRepository
-                                .findByNameAndLevelAndDateBetween(name, level, dateStart, dateEnd,
-                                                pageable)
-                                .stream().map(AnalyticMapper::toRecord).toList();
+                List<AnalyticsDTO> results = this.findByNameAndLevelAndDateBetween(name, level,
+                                dateStart, dateEnd, pageable);
 
                 var calcSdAndMean = this.calcMeanAndStandardDeviationOptimized(results);
 
@@ -344,6 +580,17 @@ public class AnalyticHelperService implements IAnalyticHelperService {
                 return analyticsWithCalcDTO;
         }
 
+        private List<AnalyticsDTO> findByNameAndLevelAndDateBetween(String name, String level,
+                        LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable) {
+                return this.analyticsHotWindow
+                                .findByNameAndLevelAndDateBetween(name, level, dateStart, dateEnd,
+                                                pageable)
+                                .orElseGet(() -> this.analyticsRepository
+                                                .findByNameAndLevelAndDateBetween(name, level,
+                                                                dateStart, dateEnd, pageable));
+        }
+
+        @Transactional(readOnly = true)
         public Page<AnalyticsDTO> findAnalyticsByNameInByLevel(List<String> names, String level,
                         LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
                 return this.findAnalyticsByNameInByLevelBaseMethod(names, this.convertLevel(level),
@@ -351,6 +598,7 @@ public class AnalyticHelperService implements IAnalyticHelperService {
         }
 
         @Override
+        @Transactional(readOnly = true)
         public List<AnalyticsDTO> findAnalyticsByNameAndLevel(Pageable pageable, String name,
                         String level) {
                 this.ensureNameExists(name);
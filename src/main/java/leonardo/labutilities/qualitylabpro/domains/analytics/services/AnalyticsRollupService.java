@@ -0,0 +1,202 @@
+package leonardo.labutilities.qualitylabpro.domains.analytics.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.NameLevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyteStatisticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.StatisticsAccumulator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.AnalyticsDailyRollupId;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRollupRepository;
+
+@Service
+public class AnalyticsRollupService {
+
+	private final AnalyticsRollupRepository rollupRepository;
+	private final AnalyticsRepository analyticsRepository;
+
+	@Value("${analytics.rollup.min-range:P31D}")
+	private Duration minRange;
+
+	public AnalyticsRollupService(AnalyticsRollupRepository rollupRepository,
+			AnalyticsRepository analyticsRepository) {
+		this.rollupRepository = rollupRepository;
+		this.analyticsRepository = analyticsRepository;
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value;
+	}
+
+	private static boolean isWarning(String rules) {
+		return "+2s".equals(rules) || "-2s".equals(rules);
+	}
+
+	private static boolean isRejection(String rules) {
+		return "+3s".equals(rules) || "-3s".equals(rules);
+	}
+
+	public boolean covers(LocalDateTime startDate, LocalDateTime endDate) {
+		return Duration.between(startDate, endDate).compareTo(this.minRange) >= 0;
+	}
+
+	// Joins the ingest transaction, so the deltas commit or roll back with the rows themselves
+	public void recordMeasurements(List<Analytic> analytics) {
+		Map<AnalyticsDailyRollupId, DailyMoments> deltas = new HashMap<>();
+		for (Analytic analytic : analytics) {
+			AnalyticsDailyRollupId key = new AnalyticsDailyRollupId(analytic.getTestName(),
+					analytic.getMeasurementDate().toLocalDate(),
+					normalize(analytic.getControlLevel()),
+					normalize(analytic.getControlLevelLot()));
+			deltas.computeIfAbsent(key, k -> new DailyMoments()).accept(analytic);
+		}
+		deltas.forEach((key, moments) -> this.rollupRepository.accumulate(key.getTestName(),
+				key.getControlLevel(), key.getControlLevelLot(), key.getMeasurementDay(),
+				moments.values.getCount(), moments.values.getMean(),
+				moments.values.getSumOfSquaredDeviations(), moments.values.getMin(),
+				moments.values.getMax(), moments.warnings, moments.rejections));
+	}
+
+	@Transactional
+	public void rebuildGroup(String name, String level, String levelLot) {
+		this.rollupRepository.deleteGroup(name, normalize(level), normalize(levelLot));
+		this.rollupRepository.rebuildGroup(name, normalize(level), normalize(levelLot));
+	}
+
+	@Transactional
+	public int rebuildDays(LocalDate startDay, LocalDate endDay) {
+		this.rollupRepository.deleteDaysBetween(startDay, endDay);
+		return this.rollupRepository.rebuildDateRange(startDay.atStartOfDay(),
+				endDay.plusDays(1).atStartOfDay());
+	}
+
+	// Whole days come from the rollups; partial days at either edge are read from raw rows
+	@Transactional(readOnly = true)
+	public List<GroupedMeanAndStdByLevelDTO> aggregateByLevel(String name,
+			LocalDateTime startDate, LocalDateTime endDate) {
+		LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+				? startDate.toLocalDate()
+				: startDate.toLocalDate().plusDays(1);
+		LocalDate lastFullDay = endDate.toLocalDate().minusDays(1);
+
+		Map<String, StatisticsAccumulator> byLevel = new TreeMap<>();
+		if (firstFullDay.isAfter(lastFullDay)) {
+			merge(byLevel, this.analyticsRepository
+					.aggregateMomentsByNameAndDateBetweenGroupByLevel(name, startDate, endDate));
+		} else {
+			if (startDate.isBefore(firstFullDay.atStartOfDay())) {
+				merge(byLevel,
+						this.analyticsRepository.aggregateMomentsByNameAndDateRangeGroupByLevel(
+								name, startDate, firstFullDay.atStartOfDay()));
+			}
+			merge(byLevel, this.rollupRepository
+					.aggregateByNameAndDayBetweenGroupByLevel(name, firstFullDay, lastFullDay));
+			merge(byLevel,
+					this.analyticsRepository.aggregateMomentsByNameAndDateBetweenGroupByLevel(
+							name, lastFullDay.plusDays(1).atStartOfDay(), endDate));
+		}
+
+		return byLevel.entrySet().stream()
+				.map(entry -> new GroupedMeanAndStdByLevelDTO(
+						entry.getKey().isEmpty() ? null : entry.getKey(),
+						Collections.singletonList(entry.getValue().toMeanAndStdDeviation())))
+				.toList();
+	}
+
+	// Same edge handling as aggregateByLevel, for every analyte of a discipline at once
+	@Transactional(readOnly = true)
+	public List<AnalyteStatisticsDTO> aggregateByNameAndLevel(List<String> names,
+			LocalDateTime startDate, LocalDateTime endDate) {
+		LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+				? startDate.toLocalDate()
+				: startDate.toLocalDate().plusDays(1);
+		LocalDate lastFullDay = endDate.toLocalDate().minusDays(1);
+
+		Map<String, Map<String, StatisticsAccumulator>> byName = new TreeMap<>();
+		if (firstFullDay.isAfter(lastFullDay)) {
+			mergeByName(byName, this.analyticsRepository
+					.aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(names, startDate,
+							endDate));
+		} else {
+			if (startDate.isBefore(firstFullDay.atStartOfDay())) {
+				mergeByName(byName, this.analyticsRepository
+						.aggregateMomentsByNameInAndDateRangeGroupByNameAndLevel(names,
+								startDate, firstFullDay.atStartOfDay()));
+			}
+			mergeByName(byName, this.rollupRepository
+					.aggregateByNameInAndDayBetweenGroupByNameAndLevel(names, firstFullDay,
+							lastFullDay));
+			mergeByName(byName, this.analyticsRepository
+					.aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(names,
+							lastFullDay.plusDays(1).atStartOfDay(), endDate));
+		}
+		return toAnalyteStatistics(byName);
+	}
+
+	public static List<AnalyteStatisticsDTO> summarizeByNameAndLevel(
+			List<NameLevelMomentsProjection> moments) {
+		Map<String, Map<String, StatisticsAccumulator>> byName = new TreeMap<>();
+		mergeByName(byName, moments);
+		return toAnalyteStatistics(byName);
+	}
+
+	private static List<AnalyteStatisticsDTO> toAnalyteStatistics(
+			Map<String, Map<String, StatisticsAccumulator>> byName) {
+		return byName.entrySet().stream()
+				.flatMap(name -> name.getValue().entrySet().stream()
+						.map(level -> new AnalyteStatisticsDTO(name.getKey(),
+								level.getKey().isEmpty() ? null : level.getKey(),
+								level.getValue().toDescriptiveStatistics())))
+				.toList();
+	}
+
+	private static void mergeByName(Map<String, Map<String, StatisticsAccumulator>> byName,
+			List<NameLevelMomentsProjection> moments) {
+		for (NameLevelMomentsProjection level : moments) {
+			accumulate(byName.computeIfAbsent(level.getName(), name -> new TreeMap<>()), level);
+		}
+	}
+
+	private static void merge(Map<String, StatisticsAccumulator> byLevel,
+			List<LevelMomentsProjection> moments) {
+		moments.forEach(level -> accumulate(byLevel, level));
+	}
+
+	private static void accumulate(Map<String, StatisticsAccumulator> byLevel,
+			LevelMomentsProjection level) {
+		StatisticsAccumulator partial = StatisticsAccumulator.fromMoments(level.getCount(),
+				level.getValueMean(), level.getValueM2(), level.getValueMin(),
+				level.getValueMax());
+		byLevel.merge(Objects.requireNonNullElse(level.getLevel(), ""), partial,
+				StatisticsAccumulator::merge);
+	}
+
+	private static final class DailyMoments {
+		private final StatisticsAccumulator values = new StatisticsAccumulator();
+		private long warnings;
+		private long rejections;
+
+		void accept(Analytic analytic) {
+			this.values.accept(analytic.getMeasurementValue());
+			if (isWarning(analytic.getControlRules())) {
+				this.warnings++;
+			} else if (isRejection(analytic.getControlRules())) {
+				this.rejections++;
+			}
+		}
+	}
+}
@@ -1,17 +1,30 @@
 package leonardo.labutilities.qualitylabpro.domains.analytics.services;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
 
 @Service
 public class CoagulationAnalyticService extends AnalyticHelperService {
 
 	public CoagulationAnalyticService(AnalyticsRepository analyticsRepository,
-			EmailService emailService, RulesProviderComponent controlRulesValidators) {
-		super(analyticsRepository, emailService, controlRulesValidators);
+			AnalyticsAlertOutbox analyticsAlertOutbox,
+			RulesProviderComponent controlRulesValidators,
+			AnalyticsRollupService analyticsRollupService,
+			AnalyticsCacheInvalidator analyticsCacheInvalidator,
+			AnalyticsRequestCoalescer analyticsRequestCoalescer,
+			AnalyticsLiveFeed analyticsLiveFeed, AnalyticsHotWindow analyticsHotWindow,
+			ApplicationEventPublisher eventPublisher) {
+		super(analyticsRepository, analyticsAlertOutbox, controlRulesValidators,
+				analyticsRollupService, analyticsCacheInvalidator, analyticsRequestCoalescer,
+				analyticsLiveFeed, analyticsHotWindow, eventPublisher);
 	}
 
 	@Override
@@ -1,13 +1,18 @@
 package leonardo.labutilities.qualitylabpro.domains.analytics.services;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestReportDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedValuesByLevelDTO;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 
 public interface IAnalyticHelperService {
 
@@ -31,6 +36,8 @@ public interface IAnalyticHelperService {
 
 	void saveNewAnalyticsRecords(List<AnalyticsDTO> valuesOfLevelsList);
 
+	AnalyticsIngestReportDTO ingestAnalyticsRecords(List<AnalyticsDTO> valuesOfLevelsList);
+
 	List<AnalyticsDTO> findAnalyticsByNameWithPagination(List<String> names, String name,
 			Pageable pageable);
 
@@ -42,6 +49,15 @@ public interface IAnalyticHelperService {
 	Page<AnalyticsDTO> findAnalyticsByNameInAndDateBetween(List<String> names,
 			LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
+	Slice<AnalyticsDTO> findAnalyticsByNameInAfterCursor(List<String> names,
+			KeysetPageRequest keyset);
+
+	Slice<AnalyticsDTO> findAnalyticsByNameInAndDateBetweenAfterCursor(List<String> names,
+			LocalDateTime startDate, LocalDateTime endDate, KeysetPageRequest keyset);
+
+	Slice<AnalyticsDTO> findAnalyticsByNameInByLevelAfterCursor(List<String> names, String level,
+			LocalDateTime startDate, LocalDateTime endDate, KeysetPageRequest keyset);
+
 	List<AnalyticsDTO> findAnalyticsByNameAndLevel(Pageable pageable, String name, String level);
 
 	List<AnalyticsDTO> findAnalyticsByNameAndLevelAndDate(String name, String level,
@@ -50,5 +66,8 @@ public interface IAnalyticHelperService {
 	AnalyticsWithCalcDTO findAnalyticsByNameLevelDate(String name, String level,
 			LocalDateTime dateStart, LocalDateTime dateEnd, Pageable pageable);
 
+	long exportAnalyticsByNameInAndDateBetween(List<String> names, LocalDateTime startDate,
+			LocalDateTime endDate, ExportFormat format, OutputStream outputStream);
+
 	void deleteAnalyticsById(Long id);
 }
@@ -1,31 +1,50 @@
 package leonardo.labutilities.qualitylabpro.domains.shared.authentication;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import leonardo.labutilities.qualitylabpro.domains.shared.authentication.dtos.responses.TokenJwtDTO;
 import leonardo.labutilities.qualitylabpro.domains.users.models.User;
 
 @Service
 public class TokenService {
 
+	private static final long MAX_VERIFIED_TOKENS = 10_000;
+
 	@Value("${api.security.token.secret}")
 	private String secret;
 
 	@Value("${api.security.issuer}")
 	private String issuer;
 
+	private volatile Algorithm algorithm;
+
+	private volatile JWTVerifier verifier;
+
+	// Keyed by token digest so raw bearer tokens are never retained; entries die at token exp
+	private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+			.maximumSize(MAX_VERIFIED_TOKENS).expireAfter(new VerifiedTokenExpiry()).build();
+
 	public TokenJwtDTO generateToken(User user) {
 		try {
-			var algorithm = Algorithm.HMAC256(this.secret);
 			return new TokenJwtDTO(JWT.create().withIssuer(this.issuer)
-					.withSubject(user.getUsername()).withExpiresAt(dateExp()).sign(algorithm),
+					.withSubject(user.getUsername()).withExpiresAt(dateExp()).sign(this.algorithm()),
 					dateExp());
 		} catch (JWTCreationException exception) {
 			throw new JWTCreationException("Error generating token", exception);
@@ -33,17 +52,77 @@ public class TokenService {
 	}
 
 	public String getSubject(String tokenJWT) {
+		var tokenHash = digest(tokenJWT);
+		var cached = this.verifiedTokens.getIfPresent(tokenHash);
+		if (cached != null) {
+			return cached.subject();
+		}
 		try {
-			var algorithm = Algorithm.HMAC256(this.secret);
-			return JWT.require(algorithm).withIssuer(this.issuer).build().verify(tokenJWT)
-					.getSubject();
+			DecodedJWT decoded = this.verifier().verify(tokenJWT);
+			if (decoded.getExpiresAtAsInstant() != null) {
+				this.verifiedTokens.put(tokenHash,
+						new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant()));
+			}
+			return decoded.getSubject();
 		} catch (JWTVerificationException exception) {
 			throw new JWTVerificationException("Invalid token: " + exception.getMessage(),
 					exception);
 		}
 	}
 
+	private Algorithm algorithm() {
+		var current = this.algorithm;
+		if (current == null) {
+			current = Algorithm.HMAC256(this.secret);
+			this.algorithm = current;
+		}
+		return current;
+	}
+
+	private JWTVerifier verifier() {
+		var current = this.verifier;
+		if (current == null) {
+			current = JWT.require(this.algorithm()).withIssuer(this.issuer).build();
+			this.verifier = current;
+		}
+		return current;
+	}
+
+	private static String digest(String tokenJWT) {
+		try {
+			var sha256 = MessageDigest.getInstance("SHA-256");
+			return Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(sha256.digest(tokenJWT.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException("SHA-256 is not available", exception);
+		}
+	}
+
 	private static Instant dateExp() {
 		return LocalDateTime.now().plusHours(1).atZone(ZoneId.systemDefault()).toInstant();
 	}
+
+	private record VerifiedToken(String subject, Instant expiresAt) {
+	}
+
+	private static final class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+
+		@Override
+		public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+			var remaining = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+				long currentDuration) {
+			return this.expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+				long currentDuration) {
+			return currentDuration;
+		}
+	}
 }
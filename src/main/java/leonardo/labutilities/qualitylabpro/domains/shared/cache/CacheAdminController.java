@@ -0,0 +1,26 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.cache;
+
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import leonardo.labutilities.qualitylabpro.domains.shared.cache.dtos.responses.CacheStatisticsDTO;
+
+@SecurityRequirement(name = "bearer-key")
+@RequestMapping("/admin/caches")
+@RestController
+public class CacheAdminController {
+
+	private final CacheStatisticsService cacheStatisticsService;
+
+	public CacheAdminController(CacheStatisticsService cacheStatisticsService) {
+		this.cacheStatisticsService = cacheStatisticsService;
+	}
+
+	@GetMapping
+	public ResponseEntity<List<CacheStatisticsDTO>> getCacheStatistics() {
+		return ResponseEntity.ok(this.cacheStatisticsService.describeCaches());
+	}
+}
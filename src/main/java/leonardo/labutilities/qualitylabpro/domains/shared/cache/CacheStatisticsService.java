@@ -0,0 +1,50 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.cache;
+
+import java.util.List;
+import java.util.Objects;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import leonardo.labutilities.qualitylabpro.configs.cache.AnalyticsCacheWeigher;
+import leonardo.labutilities.qualitylabpro.domains.shared.cache.dtos.responses.CacheStatisticsDTO;
+
+@Service
+public class CacheStatisticsService {
+
+	// Rough retained size of one cached AnalyticsDTO with its strings and dates
+	static final long ESTIMATED_BYTES_PER_ROW = 512;
+	// Caffeine node, key and wrapper per entry
+	static final long ESTIMATED_BYTES_PER_ENTRY = 256;
+
+	private final CacheManager cacheManager;
+
+	public CacheStatisticsService(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	public List<CacheStatisticsDTO> describeCaches() {
+		return this.cacheManager.getCacheNames().stream().sorted()
+				.map(this.cacheManager::getCache).filter(CaffeineCache.class::isInstance)
+				.map(cache -> describe((CaffeineCache) cache)).toList();
+	}
+
+	static CacheStatisticsDTO describe(CaffeineCache cache) {
+		Cache<Object, Object> nativeCache = cache.getNativeCache();
+		CacheStats stats = nativeCache.stats();
+		var eviction = nativeCache.policy().eviction();
+		long entries = nativeCache.estimatedSize();
+		// Iterating is cheap at these sizes and works whether the cache is weighted or not
+		long rows = nativeCache.asMap().values().stream().filter(Objects::nonNull)
+				.mapToLong(AnalyticsCacheWeigher::rows).sum();
+
+		return new CacheStatisticsDTO(cache.getName(), entries, rows,
+				eviction.map(Policy.Eviction::getMaximum).orElse(-1L),
+				eviction.map(Policy.Eviction::isWeighted).orElse(false), stats.hitCount(),
+				stats.missCount(), stats.hitRate(), stats.evictionCount(),
+				stats.evictionWeight(), stats.averageLoadPenalty() / 1_000_000.0,
+				rows * ESTIMATED_BYTES_PER_ROW + entries * ESTIMATED_BYTES_PER_ENTRY);
+	}
+}
@@ -0,0 +1,36 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.cache.dtos.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object with the runtime statistics of one cache")
+public record CacheStatisticsDTO(
+		@Schema(description = "Cache name", example = "meanAndStdDeviation") String name,
+
+		@Schema(description = "Approximate number of entries", example = "312") long entries,
+
+		@Schema(description = "Rows held by all entries", example = "48210") long rows,
+
+		@Schema(description = "Configured maximum size or weight, -1 when unbounded",
+				example = "200000") long maximum,
+
+		@Schema(description = "Whether the maximum is counted in rows instead of entries",
+				example = "true") boolean weighted,
+
+		@Schema(description = "Lookups served from the cache", example = "9120") long hitCount,
+
+		@Schema(description = "Lookups that had to query the database",
+				example = "880") long missCount,
+
+		@Schema(description = "Hits over all lookups", example = "0.912") double hitRatio,
+
+		@Schema(description = "Entries removed by size or expiry",
+				example = "41") long evictionCount,
+
+		@Schema(description = "Rows removed by size or expiry",
+				example = "5120") long evictionWeight,
+
+		@Schema(description = "Average time to compute a missing entry, in milliseconds",
+				example = "38.4") double averageLoadMillis,
+
+		@Schema(description = "Rough retained heap of the entries, in bytes",
+				example = "24683520") long estimatedBytes) {}
@@ -1,18 +1,12 @@
 package leonardo.labutilities.qualitylabpro.domains.shared.email;
 
-import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ANALYTICS_WARNING_HEADER;
 import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.EMAIL_SUBJECT_PREFIX;
-import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.HTML_TEMPLATE;
-import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.LAST_ANALYTICS_PARAGRAPH;
-import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_ROW;
-import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_STYLE;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -27,6 +21,7 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.shared.email.dto.requests.EmailDTO;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.templates.EmailTemplateRenderer;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling.EmailSendingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -131,6 +126,12 @@ public class EmailService {
 	@Async
 	public void sendFailedAnalyticsNotification(List<AnalyticsDTO> failedRecords,
 			String validationResults) {
+		this.sendFailedAnalyticsDigest(this.emailList, failedRecords, validationResults);
+	}
+
+	// Synchronous on purpose: the alert outbox needs the outcome to decide on a retry
+	public void sendFailedAnalyticsDigest(List<String> recipients,
+			List<AnalyticsDTO> failedRecords, String validationResults) {
 		if (failedRecords == null || failedRecords.isEmpty()) {
 			log.warn("No failed analytics records to send notification for");
 			return;
@@ -143,9 +144,9 @@ public class EmailService {
 		try {
 			MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
 			helper.setFrom(this.emailFrom);
-			InternetAddress[] internetAddresses = this.emailList.stream().map((String email) -> {
+			InternetAddress[] internetAddresses = recipients.stream().map((String email) -> {
 				try {
-					return new InternetAddress(email);
+					return new InternetAddress(email.trim());
 				} catch (AddressException e) {
 					log.error("Invalid identifier address: {}", email, e);
 					return null;
@@ -158,7 +159,7 @@ public class EmailService {
 			this.javaMailSender.send(mimeMessage);
 
 			log.info("Failed analytics notification sent for {} records", failedRecords.size());
-		} catch (MessagingException e) {
+		} catch (MessagingException | MailException e) {
 			log.error("Failed to send analytics notification identifier", e);
 			throw new EmailSendingException("Failed to send analytics notification", e);
 		}
@@ -166,15 +167,7 @@ public class EmailService {
 
 	public String generateAnalyticsFailedEmailBody(List<AnalyticsDTO> notPassedList,
 			String otherValidations) {
-		String formattedList = notPassedList.stream()
-				.map(analytics -> String.format(TABLE_ROW, analytics.name(), analytics.level(),
-						analytics.value().toString(), analytics.mean().toString(),
-						analytics.rules(), analytics.description(),
-						analytics.date().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))))
-				.collect(Collectors.joining("\n"));
-		return String.format(HTML_TEMPLATE,
-				ANALYTICS_WARNING_HEADER + String.format(TABLE_STYLE, formattedList)
-						+ LAST_ANALYTICS_PARAGRAPH + "\n" + otherValidations);
+		return EmailTemplateRenderer.failedAnalyticsBody(notPassedList, otherValidations);
 	}
 
 	public void notifyUserLogin(String username, String email, LocalDateTime date) {
@@ -200,18 +193,10 @@ public class EmailService {
 	public void sendUserActionEmail(String actionType, String username, String email,
 			LocalDateTime date) {
 		String subject = String.format("User %s - %s", username, actionType);
-		String content = createUserActionEmailContent(actionType, username, email, date);
+		String content = EmailTemplateRenderer.userAction(actionType, username, email, date);
 		self.sendHtmlEmailWithoutBcc(new EmailDTO(email, subject, content));
 	}
 
-	private static String createUserActionEmailContent(String actionType, String username,
-			String email, LocalDateTime date) {
-		String message = String.format(
-				"<p>User <b>%s</b> - %s notification<br>Email: <b>%s</b><br>Time: <b>%s</b></p>",
-				username, actionType, email, date);
-		return String.format(HTML_TEMPLATE, message);
-	}
-
 	private static String buildEmailBody(String email) {
 		return String.format("%n%n%s%n%nBest regards,%nLabGraph Team", email);
 	}
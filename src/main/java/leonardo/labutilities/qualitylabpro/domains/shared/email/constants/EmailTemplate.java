@@ -60,6 +60,8 @@ public class EmailTemplate {
 					    Westgard multi-rules. These violations may indicate systematic or random errors in the analytical process:
 					</p>
 					""";
+	public static final String USER_ACTION_MESSAGE =
+			"<p>User <b>%s</b> - %s notification<br>Email: <b>%s</b><br>Time: <b>%s</b></p>";
 	public static final String LAST_ANALYTICS_PARAGRAPH = """
 			<p>Please take the necessary actions to address these issues.</p>
 			""";
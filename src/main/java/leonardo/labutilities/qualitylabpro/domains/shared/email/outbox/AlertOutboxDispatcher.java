@@ -0,0 +1,27 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertOutboxDispatcher {
+
+	private final AnalyticsAlertOutbox analyticsAlertOutbox;
+
+	@Scheduled(fixedDelayString = "${alerts.outbox.poll-interval:PT15S}",
+			initialDelayString = "${alerts.outbox.poll-interval:PT15S}")
+	public void dispatch() {
+		try {
+			int digests = this.analyticsAlertOutbox.dispatchDue();
+			if (digests > 0) {
+				log.debug("Alert outbox dispatched {} digests", digests);
+			}
+		} catch (Exception e) {
+			log.error("Alert outbox dispatch failed: {}", e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "alert_outbox")
+public class AlertOutboxEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, length = 1000)
+	private String recipients;
+
+	@Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+	private String payload;
+
+	@Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+	private String violations;
+
+	@Column(nullable = false, length = 16)
+	@Enumerated(EnumType.STRING)
+	private AlertOutboxStatus status = AlertOutboxStatus.PENDING;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "last_error", length = 1000)
+	private String lastError;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+
+	@Column(name = "claim_token", length = 36)
+	private String claimToken;
+
+	@Column(name = "lease_until")
+	private LocalDateTime leaseUntil;
+
+	@Version
+	private long version;
+
+	public AlertOutboxEntry(String recipients, String payload, String violations,
+			LocalDateTime createdAt, LocalDateTime nextAttemptAt) {
+		this.recipients = recipients;
+		this.payload = payload;
+		this.violations = violations;
+		this.createdAt = createdAt;
+		this.nextAttemptAt = nextAttemptAt;
+	}
+}
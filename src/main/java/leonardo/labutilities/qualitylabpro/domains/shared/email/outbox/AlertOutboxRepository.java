@@ -0,0 +1,38 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AlertOutboxRepository extends JpaRepository<AlertOutboxEntry, Long> {
+
+	// A single statement, so the lease commits before any mail is sent and no lock or
+	// connection is held across SMTP. A concurrent poller waits for the statement only, then
+	// skips the rows it leased. Leases that expired mid-send are claimed again.
+	@Transactional
+	@Modifying
+	@Query(value = """
+			UPDATE alert_outbox SET status = 'IN_FLIGHT', claim_token = :token,
+			 lease_until = :leaseUntil, version = version + 1
+			WHERE (status = 'PENDING' AND next_attempt_at <= :now)
+			 OR (status = 'IN_FLIGHT' AND lease_until <= :now)
+			ORDER BY id LIMIT :limit
+			""", nativeQuery = true)
+	int claimDue(@Param("token") String token, @Param("now") LocalDateTime now,
+			@Param("leaseUntil") LocalDateTime leaseUntil, @Param("limit") int limit);
+
+	List<AlertOutboxEntry> findByClaimTokenOrderByIdAsc(String claimToken);
+
+	@Query("""
+			SELECT MIN(o.nextAttemptAt) FROM alert_outbox o
+			WHERE o.recipients = :recipients AND o.status = :status AND o.attempts = 0
+			""")
+	LocalDateTime findOpenWindowDeadline(@Param("recipients") String recipients,
+			@Param("status") AlertOutboxStatus status);
+}
@@ -0,0 +1,5 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+public enum AlertOutboxStatus {
+	PENDING, IN_FLIGHT, SENT, DEAD
+}
@@ -0,0 +1,189 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.WestgardViolationDTO;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AnalyticsAlertOutbox {
+
+	private static final TypeReference<List<AnalyticsDTO>> PAYLOAD_TYPE = new TypeReference<>() {};
+	private static final TypeReference<List<WestgardViolationDTO>> VIOLATIONS_TYPE =
+			new TypeReference<>() {};
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final AlertOutboxRepository alertOutboxRepository;
+	private final EmailService emailService;
+	private final RulesProviderComponent controlRulesValidators;
+	private final ObjectMapper objectMapper;
+
+	@Value("${email.to.send.list}")
+	private String recipients;
+
+	@Value("${alerts.outbox.coalesce-window:PT2M}")
+	private Duration coalesceWindow;
+
+	@Value("${alerts.outbox.initial-backoff:PT30S}")
+	private Duration initialBackoff;
+
+	@Value("${alerts.outbox.max-backoff:PT30M}")
+	private Duration maxBackoff;
+
+	@Value("${alerts.outbox.max-attempts:8}")
+	private int maxAttempts;
+
+	@Value("${alerts.outbox.batch-size:500}")
+	private int batchSize;
+
+	@Value("${alerts.outbox.lease:PT5M}")
+	private Duration lease;
+
+	public AnalyticsAlertOutbox(AlertOutboxRepository alertOutboxRepository,
+			EmailService emailService, RulesProviderComponent controlRulesValidators,
+			ObjectMapper objectMapper) {
+		this.alertOutboxRepository = alertOutboxRepository;
+		this.emailService = emailService;
+		this.controlRulesValidators = controlRulesValidators;
+		this.objectMapper = objectMapper;
+	}
+
+	// Joins the caller's transaction so the alert commits or rolls back with the ingest
+	@Transactional
+	public void enqueue(List<AnalyticsDTO> failedRecords, List<WestgardViolationDTO> violations) {
+		if (failedRecords.isEmpty()) {
+			return;
+		}
+		var now = LocalDateTime.now();
+		var deadline = this.alertOutboxRepository.findOpenWindowDeadline(this.recipients,
+				AlertOutboxStatus.PENDING);
+		var nextAttemptAt = deadline != null ? deadline : now.plus(this.coalesceWindow);
+
+		this.alertOutboxRepository.save(new AlertOutboxEntry(this.recipients,
+				this.write(failedRecords), this.write(violations), now, nextAttemptAt));
+		log.debug("Queued alert for {} failed records, due at {}", failedRecords.size(),
+				nextAttemptAt);
+	}
+
+	// Lease, send, then record the outcome: each database step is its own short transaction
+	// and the SMTP exchange runs outside all of them
+	public int dispatchDue() {
+		var now = LocalDateTime.now();
+		var token = UUID.randomUUID().toString();
+		if (this.alertOutboxRepository.claimDue(token, now, now.plus(this.lease),
+				this.batchSize) == 0) {
+			return 0;
+		}
+		var claimed = this.alertOutboxRepository.findByClaimTokenOrderByIdAsc(token);
+
+		Map<String, List<AlertOutboxEntry>> byRecipients = new LinkedHashMap<>();
+		for (AlertOutboxEntry entry : claimed) {
+			byRecipients.computeIfAbsent(entry.getRecipients(), key -> new ArrayList<>())
+					.add(entry);
+		}
+
+		int sent = 0;
+		for (var group : byRecipients.entrySet()) {
+			if (this.sendDigest(group.getKey(), group.getValue())) {
+				sent++;
+			}
+		}
+		return sent;
+	}
+
+	private boolean sendDigest(String recipientList, List<AlertOutboxEntry> entries) {
+		boolean sent;
+		try {
+			List<AnalyticsDTO> records = new ArrayList<>();
+			List<WestgardViolationDTO> violations = new ArrayList<>();
+			for (AlertOutboxEntry entry : entries) {
+				records.addAll(this.objectMapper.readValue(entry.getPayload(), PAYLOAD_TYPE));
+				violations.addAll(
+						this.objectMapper.readValue(entry.getViolations(), VIOLATIONS_TYPE));
+			}
+			var validationResults = this.controlRulesValidators.renderViolations(violations);
+			this.emailService.sendFailedAnalyticsDigest(List.of(recipientList.split(",")),
+					records, validationResults);
+
+			var sentAt = LocalDateTime.now();
+			entries.forEach(entry -> {
+				entry.setStatus(AlertOutboxStatus.SENT);
+				entry.setSentAt(sentAt);
+				entry.setLastError(null);
+			});
+			log.info("Sent alert digest of {} records from {} queued alerts", records.size(),
+					entries.size());
+			sent = true;
+		} catch (Exception e) {
+			log.warn("Alert digest delivery failed, scheduling retry: {}", e.getMessage());
+			var failedAt = LocalDateTime.now();
+			entries.forEach(entry -> this.scheduleRetry(entry, e, failedAt));
+			sent = false;
+		}
+		this.release(entries);
+		return sent;
+	}
+
+	// The version check fails when the lease expired and another poller claimed the rows;
+	// that poller now owns the outcome
+	private void release(List<AlertOutboxEntry> entries) {
+		entries.forEach(entry -> {
+			entry.setClaimToken(null);
+			entry.setLeaseUntil(null);
+		});
+		try {
+			this.alertOutboxRepository.saveAll(entries);
+		} catch (OptimisticLockingFailureException e) {
+			log.warn("Alert outbox lease expired before the outcome was recorded: {}",
+					e.getMessage());
+		}
+	}
+
+	private void scheduleRetry(AlertOutboxEntry entry, Exception cause, LocalDateTime now) {
+		int attempts = entry.getAttempts() + 1;
+		entry.setAttempts(attempts);
+		entry.setLastError(truncate(String.valueOf(cause.getMessage())));
+		if (attempts >= this.maxAttempts) {
+			entry.setStatus(AlertOutboxStatus.DEAD);
+			log.error("Alert outbox entry {} gave up after {} attempts", entry.getId(),
+					attempts);
+			return;
+		}
+		entry.setStatus(AlertOutboxStatus.PENDING);
+		entry.setNextAttemptAt(now.plus(this.backoff(attempts)));
+	}
+
+	Duration backoff(int attempts) {
+		var delay = this.initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(this.maxBackoff) > 0 ? this.maxBackoff : delay;
+	}
+
+	private String write(List<?> values) {
+		try {
+			return this.objectMapper.writeValueAsString(values);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize alert payload", e);
+		}
+	}
+
+	private static String truncate(String message) {
+		return message.length() <= MAX_ERROR_LENGTH ? message
+				: message.substring(0, MAX_ERROR_LENGTH);
+	}
+}
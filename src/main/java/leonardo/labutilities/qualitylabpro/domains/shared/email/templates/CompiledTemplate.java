@@ -0,0 +1,70 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.templates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Parses a String.format template using only %s and %% into literal segments once
+public final class CompiledTemplate {
+
+	private final String[] segments;
+	private final int literalLength;
+
+	private CompiledTemplate(String[] segments) {
+		this.segments = segments;
+		int length = 0;
+		for (String segment : segments) {
+			length += segment.length();
+		}
+		this.literalLength = length;
+	}
+
+	public static CompiledTemplate compile(String formatTemplate) {
+		List<String> segments = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i < formatTemplate.length(); i++) {
+			char c = formatTemplate.charAt(i);
+			if (c != '%') {
+				current.append(c);
+				continue;
+			}
+			char next = i + 1 < formatTemplate.length() ? formatTemplate.charAt(i + 1) : 0;
+			if (next == 's') {
+				segments.add(current.toString());
+				current.setLength(0);
+			} else if (next == '%') {
+				current.append('%');
+			} else {
+				throw new IllegalArgumentException(
+						"Unsupported format specifier at index " + i + " in email template");
+			}
+			i++;
+		}
+		segments.add(current.toString());
+		return new CompiledTemplate(segments.toArray(String[]::new));
+	}
+
+	public int slots() {
+		return this.segments.length - 1;
+	}
+
+	public int literalLength() {
+		return this.literalLength;
+	}
+
+	public StringBuilder appendSegment(StringBuilder out, int index) {
+		return out.append(this.segments[index]);
+	}
+
+	// Values are HTML-escaped; use appendSegment directly to splice trusted markup
+	public StringBuilder render(StringBuilder out, CharSequence... values) {
+		if (values.length != this.slots()) {
+			throw new IllegalArgumentException(
+					"Template expects " + this.slots() + " values but got " + values.length);
+		}
+		out.append(this.segments[0]);
+		for (int i = 0; i < values.length; i++) {
+			HtmlEscaper.appendEscaped(out, values[i]).append(this.segments[i + 1]);
+		}
+		return out;
+	}
+}
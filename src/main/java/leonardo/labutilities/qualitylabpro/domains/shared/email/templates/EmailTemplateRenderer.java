@@ -0,0 +1,101 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.templates;
+
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ANALYTICS_WARNING_HEADER;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ERROR_MESSAGE_TEMPLATE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.HTML_TEMPLATE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.LAST_ANALYTICS_PARAGRAPH;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_ROW;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_STYLE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.USER_ACTION_MESSAGE;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+
+public final class EmailTemplateRenderer {
+
+	private static final CompiledTemplate PAGE = CompiledTemplate.compile(HTML_TEMPLATE);
+	private static final CompiledTemplate TABLE = CompiledTemplate.compile(TABLE_STYLE);
+	private static final CompiledTemplate ROW = CompiledTemplate.compile(TABLE_ROW);
+	private static final CompiledTemplate RULE_VIOLATION =
+			CompiledTemplate.compile(ERROR_MESSAGE_TEMPLATE);
+	private static final CompiledTemplate USER_ACTION =
+			CompiledTemplate.compile(USER_ACTION_MESSAGE);
+
+	private static final DateTimeFormatter ROW_DATE_FORMAT =
+			DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+	// Upper bound of the seven cell values in a typical row, so the builder never regrows
+	private static final int ESTIMATED_ROW_VALUES_LENGTH = 160;
+
+	private EmailTemplateRenderer() {}
+
+	public static String failedAnalyticsBody(List<AnalyticsDTO> rows, String otherValidations) {
+		int capacity = PAGE.literalLength() + ANALYTICS_WARNING_HEADER.length()
+				+ TABLE.literalLength()
+				+ rows.size() * (ROW.literalLength() + ESTIMATED_ROW_VALUES_LENGTH + 1)
+				+ LAST_ANALYTICS_PARAGRAPH.length() + 1 + otherValidations.length();
+		// The header is not Latin-1, so switch the builder to UTF-16 before reserving capacity
+		StringBuilder out = PAGE.appendSegment(new StringBuilder(), 0)
+				.append(ANALYTICS_WARNING_HEADER);
+		out.ensureCapacity(capacity);
+		TABLE.appendSegment(out, 0);
+		for (int i = 0; i < rows.size(); i++) {
+			if (i > 0) {
+				out.append('\n');
+			}
+			appendRow(out, rows.get(i));
+		}
+		TABLE.appendSegment(out, 1).append(LAST_ANALYTICS_PARAGRAPH).append('\n')
+				.append(otherValidations);
+		return PAGE.appendSegment(out, 1).toString();
+	}
+
+	public static StringBuilder appendRuleViolation(StringBuilder out, String code,
+			String testName, String level, String issue, String action) {
+		return RULE_VIOLATION.render(out, code, testName, level, issue, action);
+	}
+
+	public static String userAction(String actionType, String username, String email,
+			LocalDateTime date) {
+		StringBuilder out = new StringBuilder(PAGE.literalLength() + USER_ACTION.literalLength()
+				+ ESTIMATED_ROW_VALUES_LENGTH);
+		PAGE.appendSegment(out, 0);
+		USER_ACTION.render(out, username, actionType, email, String.valueOf(date));
+		return PAGE.appendSegment(out, 1).toString();
+	}
+
+	private static void appendRow(StringBuilder out, AnalyticsDTO analytics) {
+		ROW.appendSegment(out, 0);
+		HtmlEscaper.appendEscaped(out, analytics.name());
+		ROW.appendSegment(out, 1);
+		HtmlEscaper.appendEscaped(out, analytics.level());
+		ROW.appendSegment(out, 2).append(analytics.value().doubleValue());
+		ROW.appendSegment(out, 3).append(analytics.mean().doubleValue());
+		ROW.appendSegment(out, 4);
+		HtmlEscaper.appendEscaped(out, analytics.rules());
+		ROW.appendSegment(out, 5);
+		HtmlEscaper.appendEscaped(out, analytics.description());
+		ROW.appendSegment(out, 6);
+		appendRowDate(out, analytics.date());
+		ROW.appendSegment(out, 7);
+	}
+
+	// Same output as "yyyy-MM-dd HH:mm" for four-digit years, without a formatter per row
+	private static void appendRowDate(StringBuilder out, LocalDateTime date) {
+		int year = date.getYear();
+		if (year < 1000 || year > 9999) {
+			ROW_DATE_FORMAT.formatTo(date, out);
+			return;
+		}
+		out.append(year).append('-');
+		appendTwoDigits(out, date.getMonthValue()).append('-');
+		appendTwoDigits(out, date.getDayOfMonth()).append(' ');
+		appendTwoDigits(out, date.getHour()).append(':');
+		appendTwoDigits(out, date.getMinute());
+	}
+
+	private static StringBuilder appendTwoDigits(StringBuilder out, int value) {
+		return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+}
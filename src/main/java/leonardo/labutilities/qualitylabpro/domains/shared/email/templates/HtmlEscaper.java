@@ -0,0 +1,40 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.templates;
+
+public final class HtmlEscaper {
+
+	private HtmlEscaper() {}
+
+	public static StringBuilder appendEscaped(StringBuilder out, CharSequence value) {
+		if (value == null) {
+			return out;
+		}
+		int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			String replacement = replacement(value.charAt(i));
+			if (replacement != null) {
+				out.append(value, start, i).append(replacement);
+				start = i + 1;
+			}
+		}
+		return out.append(value, start, length);
+	}
+
+	public static String escape(CharSequence value) {
+		if (value == null) {
+			return "";
+		}
+		return appendEscaped(new StringBuilder(value.length() + 16), value).toString();
+	}
+
+	private static String replacement(char c) {
+		return switch (c) {
+			case '&' -> "&amp;";
+			case '<' -> "&lt;";
+			case '>' -> "&gt;";
+			case '"' -> "&quot;";
+			case '\'' -> "&#39;";
+			default -> null;
+		};
+	}
+}
@@ -1,10 +1,12 @@
 package leonardo.labutilities.qualitylabpro.domains.shared.exception;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -59,6 +61,38 @@ public class CustomGlobalErrorHandling {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiError);
 	}
 
+	@ApiResponses(value = { @ApiResponse(responseCode = "400", description = "Invalid cursor",
+			content = @Content(schema = @Schema(implementation = ApiError.class))) })
+	@ExceptionHandler(InvalidCursorException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ResponseEntity<ApiError> handleInvalidCursor(InvalidCursorException ex,
+			HttpServletRequest request) {
+		ApiError apiError =
+				ApiError.of(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+		apiError.details().add("Use the cursor returned in the 'next' link of the previous page.");
+
+		log.error("Invalid cursor at {}: {}", request.getRequestURI(), ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+	}
+
+	@ApiResponses(value = { @ApiResponse(responseCode = "503", description = "Server is busy",
+			content = @Content(schema = @Schema(implementation = ApiError.class))) })
+	@ExceptionHandler(ServiceOverloadedException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ResponseEntity<ApiError> handleServiceOverloaded(ServiceOverloadedException ex,
+			HttpServletRequest request) {
+		ApiError apiError = ApiError.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(),
+				request.getRequestURI());
+		apiError.details().add("Too many concurrent requests. Retry after the indicated delay.");
+
+		log.warn("Request to {} rejected by the '{}' admission lane", request.getRequestURI(),
+				ex.getLane());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER,
+						String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+				.body(apiError);
+	}
+
 	@ApiResponses(
 			value = { @ApiResponse(responseCode = "401", description = "Authentication failed",
 					content = @Content(schema = @Schema(implementation = ApiError.class))) })
@@ -282,4 +316,29 @@ public class CustomGlobalErrorHandling {
 			super(message, cause);
 		}
 	}
+
+	public static class InvalidCursorException extends RuntimeException {
+		public InvalidCursorException(String cursor, Throwable cause) {
+			super("Invalid pagination cursor: " + cursor, cause);
+		}
+	}
+
+	public static class ServiceOverloadedException extends RuntimeException {
+		private final String lane;
+		private final Duration retryAfter;
+
+		public ServiceOverloadedException(String lane, Duration retryAfter) {
+			super("Service overloaded - no capacity left for this request.");
+			this.lane = lane;
+			this.retryAfter = retryAfter;
+		}
+
+		public String getLane() {
+			return this.lane;
+		}
+
+		public Duration getRetryAfter() {
+			return this.retryAfter;
+		}
+	}
 }
@@ -1,7 +1,7 @@
 package leonardo.labutilities.qualitylabpro.domains.shared.mappers;
 
-import leonardo.labutilities.qualitylabpro.domains.analytics.components.SpecsValidatorComponent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
 import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 
 public class AnalyticMapper {
@@ -10,8 +10,6 @@ public class AnalyticMapper {
 
 	}
 
-	private static SpecsValidatorComponent rulesValidatorComponent = new SpecsValidatorComponent();
-
 	private static Analytic toEntityRulesValidator(AnalyticsDTO analyticsDTO) {
 		Analytic analytic = new Analytic();
 		analytic.setId(analyticsDTO.id());
@@ -24,10 +22,10 @@ public class AnalyticMapper {
 		analytic.setTargetMean(analyticsDTO.mean());
 		analytic.setStandardDeviation(analyticsDTO.sd());
 		analytic.setMeasurementUnit(analyticsDTO.unit_value());
-		rulesValidatorComponent.validator(analyticsDTO.value(), analyticsDTO.mean(),
-				analyticsDTO.sd());
-		analytic.setControlRules(rulesValidatorComponent.getRules());
-		analytic.setDescription(rulesValidatorComponent.getDescription());
+		ControlClassification classification = ControlClassification
+				.classify(analyticsDTO.value(), analyticsDTO.mean(), analyticsDTO.sd());
+		analytic.setControlRules(classification.getRules());
+		analytic.setDescription(classification.getDescription());
 
 		return analytic;
 	}
@@ -1,6 +1,8 @@
 package leonardo.labutilities.qualitylabpro.domains.users.repositories;
 
 import java.util.List;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import leonardo.labutilities.qualitylabpro.configs.cache.CacheConfiguration;
 import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 import leonardo.labutilities.qualitylabpro.domains.users.models.User;
 
@@ -17,6 +20,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	boolean existsByEmail(String email);
 
+	@Cacheable(value = CacheConfiguration.USER_PRINCIPALS, key = "#username",
+			unless = "#result == null")
 	UserDetails getReferenceOneByUsername(String username);
 
 	User findOneByUsername(String username);
@@ -36,13 +41,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	@Transactional
 	@Modifying
+	@CacheEvict(value = CacheConfiguration.USER_PRINCIPALS, key = "#username")
 	@Query("UPDATE users u SET u.password = :newPassword WHERE u.username = :username")
 	void setPasswordWhereByUsername(@Param("username") String username,
 			@Param("newPassword") String newPassword);
 
 	@Transactional
 	@Modifying
+	@CacheEvict(value = CacheConfiguration.USER_PRINCIPALS, allEntries = true)
 	@Query("UPDATE users u SET u.password = :newPassword  WHERE u.email = :email")
 	void setPasswordWhereByEmail(String email, String newPassword);
 
+	@Override
+	@CacheEvict(value = CacheConfiguration.USER_PRINCIPALS, key = "#entity.username")
+	void delete(User entity);
+
+	@Override
+	@CacheEvict(value = CacheConfiguration.USER_PRINCIPALS, allEntries = true)
+	void deleteById(Long id);
+
 }
@@ -0,0 +1,14 @@
+SET @analytics_seq_start = (SELECT COALESCE(MAX(id), 0) + 1 FROM analytics);
+
+SET @ddl = CONCAT('CREATE SEQUENCE IF NOT EXISTS analytics_seq START WITH ',
+    @analytics_seq_start, ' INCREMENT BY 50 MINVALUE 1 NOCACHE');
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Hibernate reserves blocks of 50 ids per sequence call (pooled-lo), so AUTO_INCREMENT could
+-- hand a manual insert an id inside a reserved block. Ids now come only from analytics_seq:
+-- inserts that omit id take NEXT VALUE FOR analytics_seq, which lies outside every reserved block.
+ALTER TABLE analytics
+    MODIFY id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR analytics_seq);
@@ -0,0 +1,23 @@
+-- Violations are the Westgard results evaluated at ingest, so the digest reports the rules as
+-- they stood then. Dispatch leases rows in one short statement and sends outside any
+-- transaction; an expired lease is claimed again, and the version fences the late completion
+-- of the old one
+CREATE TABLE alert_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipients VARCHAR(1000) NOT NULL,
+    payload MEDIUMTEXT NOT NULL,
+    violations MEDIUMTEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    claim_token CHAR(36),
+    lease_until DATETIME(6),
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_alert_outbox_status_next_attempt ON alert_outbox (status, next_attempt_at);
+CREATE INDEX idx_alert_outbox_claim_token ON alert_outbox (claim_token);
@@ -0,0 +1,19 @@
+-- Each day keeps its mean and sum of squared deviations (M2) rather than raw sums, whose
+-- variance cancels catastrophically for high-mean, low-SD controls
+CREATE TABLE analytics_daily_rollup (
+    test_name VARCHAR(25) NOT NULL,
+    control_level VARCHAR(25) NOT NULL DEFAULT '',
+    control_level_lot VARCHAR(25) NOT NULL DEFAULT '',
+    measurement_day DATE NOT NULL,
+    sample_count BIGINT NOT NULL,
+    value_mean DOUBLE NOT NULL,
+    value_m2 DOUBLE NOT NULL,
+    value_min DOUBLE NOT NULL,
+    value_max DOUBLE NOT NULL,
+    warning_count BIGINT NOT NULL DEFAULT 0,
+    rejection_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (test_name, measurement_day, control_level, control_level_lot)
+);
+
+CREATE INDEX analytics_daily_rollup_lot_idx
+ON analytics_daily_rollup (test_name, control_level, control_level_lot);
@@ -0,0 +1,66 @@
+-- Partitioned InnoDB tables cannot hold foreign keys. The triggers below stand in for them:
+-- deleting a user still clears its ids (ON DELETE SET NULL), and inserts or updates naming a
+-- missing user fail with SQLSTATE 23000, as the foreign keys did. What is lost: the check does
+-- not lock the user row, so a user deleted while an insert naming it is still uncommitted leaves
+-- a dangling id behind, and each written row pays one users primary-key lookup.
+ALTER TABLE analytics
+    DROP FOREIGN KEY IF EXISTS FK_analytics_owner_user_id,
+    DROP FOREIGN KEY IF EXISTS FK_analytics_validator_user_id;
+
+CREATE TRIGGER users_before_delete_analytics BEFORE DELETE ON users FOR EACH ROW
+    UPDATE analytics
+    SET owner_user_id = IF(owner_user_id = OLD.id, NULL, owner_user_id),
+        validator_user_id = IF(validator_user_id = OLD.id, NULL, validator_user_id)
+    WHERE owner_user_id = OLD.id OR validator_user_id = OLD.id;
+
+CREATE TRIGGER analytics_before_insert_users BEFORE INSERT ON analytics FOR EACH ROW
+BEGIN
+    IF (NEW.owner_user_id IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM users WHERE id = NEW.owner_user_id))
+        OR (NEW.validator_user_id IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM users WHERE id = NEW.validator_user_id)) THEN
+        SIGNAL SQLSTATE '23000' SET MESSAGE_TEXT = 'analytics row references a missing user';
+    END IF;
+END;
+
+CREATE TRIGGER analytics_before_update_users BEFORE UPDATE ON analytics FOR EACH ROW
+BEGIN
+    IF (NEW.owner_user_id IS NOT NULL AND NOT (NEW.owner_user_id <=> OLD.owner_user_id)
+            AND NOT EXISTS (SELECT 1 FROM users WHERE id = NEW.owner_user_id))
+        OR (NEW.validator_user_id IS NOT NULL
+            AND NOT (NEW.validator_user_id <=> OLD.validator_user_id)
+            AND NOT EXISTS (SELECT 1 FROM users WHERE id = NEW.validator_user_id)) THEN
+        SIGNAL SQLSTATE '23000' SET MESSAGE_TEXT = 'analytics row references a missing user';
+    END IF;
+END;
+
+-- Every unique key must contain the partitioning column
+ALTER TABLE analytics
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, measurement_date);
+
+-- One partition per month from the oldest row to three months ahead, then a catch-all that
+-- AnalyticsPartitionMaintenance splits as time moves on. The start is clamped to ten years back
+-- so a stray old date cannot push the recursion past its depth limit; the first partition has no
+-- lower bound and holds anything older.
+SET @first_month = (SELECT DATE_FORMAT(GREATEST(COALESCE(MIN(measurement_date), CURRENT_DATE),
+    CURRENT_DATE - INTERVAL 10 YEAR), '%Y-%m-01') FROM analytics);
+SET @last_month = DATE_FORMAT(CURRENT_DATE + INTERVAL 3 MONTH, '%Y-%m-01');
+
+WITH RECURSIVE months (month_start) AS (
+    SELECT CAST(@first_month AS DATE)
+    UNION ALL
+    SELECT month_start + INTERVAL 1 MONTH FROM months WHERE month_start < @last_month
+)
+SELECT GROUP_CONCAT(CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+    ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, ''')')
+    ORDER BY month_start SEPARATOR ', ')
+INTO @partitions
+FROM months;
+
+SET @ddl = CONCAT('ALTER TABLE analytics PARTITION BY RANGE COLUMNS (measurement_date) (',
+    @partitions, ', PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
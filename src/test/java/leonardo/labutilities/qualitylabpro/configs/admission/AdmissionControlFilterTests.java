@@ -0,0 +1,149 @@
+package leonardo.labutilities.qualitylabpro.configs.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling.ServiceOverloadedException;
+
+class AdmissionControlFilterTests {
+
+	private SimpleMeterRegistry meterRegistry;
+	private AdmissionLane lookupLane;
+	private AdmissionLane scanLane;
+	private HandlerExceptionResolver exceptionResolver;
+	private AdmissionControlFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.lookupLane = new AdmissionLane("lookup", 2, 0, Duration.ZERO, Duration.ofSeconds(1),
+				this.meterRegistry);
+		this.scanLane = new AdmissionLane("scan", 1, 0, Duration.ZERO, Duration.ofSeconds(3),
+				this.meterRegistry);
+		this.exceptionResolver = mock(HandlerExceptionResolver.class);
+		this.filter =
+				new AdmissionControlFilter(this.lookupLane, this.scanLane, this.exceptionResolver);
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setAsyncSupported(true);
+		return request;
+	}
+
+	private double rejected(String lane, String reason) {
+		return this.meterRegistry.get(AdmissionLane.REJECTED_METRIC).tag("lane", lane)
+				.tag("reason", reason).counter().count();
+	}
+
+	@Test
+	@DisplayName("GET by id goes to the lookup lane, everything else under analytics to scan")
+	void laneFor_ShouldSeparateLookupsFromScans() {
+		assertSame(this.lookupLane,
+				this.filter.laneFor(request("GET", "/biochemistry-analytics/42")));
+		assertSame(this.scanLane, this.filter
+				.laneFor(request("GET", "/biochemistry-analytics/grouped-by-level/mean-deviation")));
+		assertSame(this.scanLane,
+				this.filter.laneFor(request("GET", "/generic-analytics/date-range")));
+		assertSame(this.scanLane,
+				this.filter.laneFor(request("DELETE", "/hematology-analytics/42")));
+		assertSame(this.scanLane, this.filter.laneFor(request("POST", "/coagulation-analytics")));
+		assertNull(this.filter.laneFor(request("GET", "/hematology-analytics/live")));
+		assertNull(this.filter.laneFor(request("GET", "/users/sign-in")));
+		assertNull(this.filter.laneFor(request("GET", "/actuator/health")));
+	}
+
+	@Test
+	@DisplayName("Admitted request releases its slot when the chain returns")
+	void doFilter_WhenAdmitted_ShouldReleaseSlotAfterChain() throws Exception {
+		AtomicInteger activeDuringChain = new AtomicInteger(-1);
+		FilterChain chain = (req, res) -> activeDuringChain.set(this.scanLane.active());
+
+		this.filter.doFilter(request("GET", "/generic-analytics/date-range"),
+				new MockHttpServletResponse(), chain);
+
+		assertEquals(1, activeDuringChain.get());
+		assertEquals(0, this.scanLane.active());
+		verify(this.exceptionResolver, never()).resolveException(any(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Full lane rejects through the exception resolver without running the chain")
+	void doFilter_WhenLaneIsFull_ShouldRejectWithRetryAfter() throws Exception {
+		assertTrue(this.scanLane.tryEnter());
+		FilterChain chain = mock(FilterChain.class);
+		MockHttpServletRequest request = request("GET", "/generic-analytics/date-range");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		this.filter.doFilter(request, response, chain);
+
+		verify(chain, never()).doFilter(any(), any());
+		verify(this.exceptionResolver).resolveException(eq(request), eq(response), isNull(),
+				argThat(ex -> ex instanceof ServiceOverloadedException overloaded
+						&& "scan".equals(overloaded.getLane())
+						&& Duration.ofSeconds(3).equals(overloaded.getRetryAfter())));
+		assertEquals(1.0, this.rejected("scan", "queue-full"));
+	}
+
+	@Test
+	@DisplayName("A busy scan lane does not block lookups by id")
+	void doFilter_WhenScanLaneIsFull_ShouldStillAdmitLookups() throws Exception {
+		assertTrue(this.scanLane.tryEnter());
+		FilterChain chain = mock(FilterChain.class);
+
+		this.filter.doFilter(request("GET", "/generic-analytics/7"), new MockHttpServletResponse(),
+				chain);
+
+		verify(chain).doFilter(any(), any());
+		verify(this.exceptionResolver, never()).resolveException(any(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Streaming responses hold their slot until the async request completes")
+	void doFilter_WhenAsyncStarted_ShouldReleaseOnCompletion() throws Exception {
+		MockHttpServletRequest request = request("GET", "/generic-analytics/export");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> req.startAsync(req, res);
+
+		this.filter.doFilter(request, response, chain);
+
+		assertEquals(1, this.scanLane.active());
+		((MockAsyncContext) request.getAsyncContext()).complete();
+		assertEquals(0, this.scanLane.active());
+	}
+
+	@Test
+	@DisplayName("Queued request times out when no slot frees up")
+	void tryEnter_WhenQueuedPastMaxWait_ShouldRejectAsTimeout() throws Exception {
+		AdmissionLane lane = new AdmissionLane("queued", 1, 1, Duration.ofMillis(20),
+				Duration.ofSeconds(1), this.meterRegistry);
+		assertTrue(lane.tryEnter());
+
+		assertFalse(lane.tryEnter());
+
+		assertEquals(0, lane.queued());
+		assertEquals(1.0, this.rejected("queued", "timeout"));
+		lane.exit();
+		assertTrue(lane.tryEnter());
+	}
+}
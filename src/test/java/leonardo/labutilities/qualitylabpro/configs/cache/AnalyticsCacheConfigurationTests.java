@@ -0,0 +1,141 @@
+package leonardo.labutilities.qualitylabpro.configs.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
+import leonardo.labutilities.qualitylabpro.utils.AnalyticsHelperMocks;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = {"spring.cache.type=caffeine",
+		"analytics.cache.spec.meanAndStdDeviation=maximumSize=10,expireAfterWrite=1m"})
+class AnalyticsCacheConfigurationTests {
+
+	private static final AnalyticsRepository repository = mock(AnalyticsRepository.class);
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final Pageable PAGE = PageRequest.of(0, 100);
+
+	@Configuration
+	@EnableCaching(proxyTargetClass = true)
+	@ImportAutoConfiguration(CacheAutoConfiguration.class)
+	@Import(CacheConfiguration.class)
+	static class Config {
+		@Bean
+		EntityManagerFactory entityManagerFactory() {
+			return mock(EntityManagerFactory.class);
+		}
+
+		@Bean
+		AnalyticHelperService analyticHelperService() {
+			return new AnalyticHelperService(repository, mock(AnalyticsAlertOutbox.class),
+					mock(RulesProviderComponent.class), mock(AnalyticsRollupService.class),
+					mock(AnalyticsCacheInvalidator.class),
+					new AnalyticsRequestCoalescer(new SimpleMeterRegistry()),
+					mock(AnalyticsLiveFeed.class), mock(AnalyticsHotWindow.class),
+					mock(ApplicationEventPublisher.class));
+		}
+	}
+
+	@Autowired
+	private AnalyticHelperService analyticHelperService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void setUp() {
+		reset(repository);
+		CacheConfiguration.ANALYTICS_CACHES
+				.forEach(name -> this.cacheManager.getCache(name).clear());
+		when(repository.findByNameAndLevelAndDateBetween(any(), any(), any(), any(), any()))
+				.thenReturn(AnalyticsHelperMocks.createSampleRecordList());
+	}
+
+	private CacheStats stats(String name) {
+		return ((CaffeineCache) this.cacheManager.getCache(name)).getNativeCache().stats();
+	}
+
+	@Test
+	void analyticsCaches_AreRegisteredWithStatsAndOwnSpec() {
+		for (String name : CacheConfiguration.ANALYTICS_CACHES) {
+			assertTrue(this.cacheManager.getCache(name) instanceof CaffeineCache, name);
+		}
+		var eviction = ((CaffeineCache) this.cacheManager
+				.getCache(CacheConfiguration.MEAN_AND_STD_DEVIATION)).getNativeCache().policy()
+				.eviction().orElseThrow();
+		assertEquals(10, eviction.getMaximum());
+	}
+
+	@Test
+	void calculateMeanAndStandardDeviation_RepeatedCall_RecordsHitAndMiss() {
+		this.analyticHelperService.calculateMeanAndStandardDeviation("GLUC3", "pccc1", START,
+				START.plusDays(30), PAGE);
+		this.analyticHelperService.calculateMeanAndStandardDeviation("GLUC3", "pccc1", START,
+				START.plusDays(30), PAGE);
+
+		verify(repository, times(1)).findByNameAndLevelAndDateBetween(eq("GLUC3"), any(),
+				any(), any(), any());
+		CacheStats stats = this.stats(CacheConfiguration.MEAN_AND_STD_DEVIATION);
+		assertEquals(1, stats.hitCount());
+		assertEquals(1, stats.missCount());
+	}
+
+	@Test
+	void calculateGroupedMeanAndStandardDeviation_DifferentRanges_AreCachedSeparately() {
+		this.analyticHelperService.calculateGroupedMeanAndStandardDeviation("GLUC3", START,
+				START.plusDays(7), PAGE);
+		this.analyticHelperService.calculateGroupedMeanAndStandardDeviation("GLUC3", START,
+				START.plusDays(14), PAGE);
+
+		verify(repository, times(2)).aggregateStatisticsByNameAndDateBetweenGroupByLevel(
+				eq("GLUC3"), any(), any());
+	}
+
+	@Test
+	void analyticsCache_WithMaximumWeight_CountsCachedRows() {
+		Cache<Object, Object> cache = CacheConfiguration.analyticsCache("maximumWeight=3");
+
+		cache.put("first", List.of(1, 2));
+		cache.put("second", List.of(3, 4));
+		cache.cleanUp();
+
+		assertEquals(1, cache.estimatedSize());
+		assertEquals(2, cache.policy().eviction().orElseThrow().weightedSize().orElseThrow());
+	}
+}
@@ -0,0 +1,93 @@
+package leonardo.labutilities.qualitylabpro.configs.cache;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import leonardo.labutilities.qualitylabpro.domains.users.models.User;
+import leonardo.labutilities.qualitylabpro.domains.users.repositories.UserRepository;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "spring.cache.type=caffeine")
+class UserPrincipalCacheTests {
+
+	private static final UserRepository delegate = mock(UserRepository.class);
+
+	@Configuration
+	@EnableCaching
+	@ImportAutoConfiguration(CacheAutoConfiguration.class)
+	@Import(CacheConfiguration.class)
+	static class Config {
+		@Bean
+		UserRepository userRepository() {
+			return delegate;
+		}
+	}
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final User user = new User("testuser", "encoded", "test@example.com");
+
+	@BeforeEach
+	void setUp() {
+		reset(delegate);
+		this.cacheManager.getCache(CacheConfiguration.USER_PRINCIPALS).clear();
+		when(delegate.getReferenceOneByUsername("testuser")).thenReturn(this.user);
+	}
+
+	@Test
+	void getReferenceOneByUsername_RepeatedLookups_HitsRepositoryOnce() {
+		assertSame(this.user, this.userRepository.getReferenceOneByUsername("testuser"));
+		assertSame(this.user, this.userRepository.getReferenceOneByUsername("testuser"));
+
+		verify(delegate, times(1)).getReferenceOneByUsername("testuser");
+	}
+
+	@Test
+	void setPasswordWhereByUsername_EvictsCachedPrincipal() {
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		this.userRepository.setPasswordWhereByUsername("testuser", "new-encoded");
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		verify(delegate, times(2)).getReferenceOneByUsername("testuser");
+	}
+
+	@Test
+	void setPasswordWhereByEmail_EvictsCachedPrincipals() {
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		this.userRepository.setPasswordWhereByEmail("test@example.com", "new-encoded");
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		verify(delegate, times(2)).getReferenceOneByUsername("testuser");
+	}
+
+	@Test
+	void delete_EvictsCachedPrincipal() {
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		this.userRepository.delete(this.user);
+		this.userRepository.getReferenceOneByUsername("testuser");
+
+		verify(delegate, times(2)).getReferenceOneByUsername("testuser");
+	}
+}
@@ -0,0 +1,39 @@
+package leonardo.labutilities.qualitylabpro.configs.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
+
+class KeysetPageRequestTests {
+
+	@Test
+	@DisplayName("Should decode the same seek position that was encoded")
+	void of_WithEncodedCursor_ShouldRoundTrip() {
+		LocalDateTime date = LocalDateTime.of(2024, 12, 16, 7, 53, 12);
+
+		KeysetPageRequest keyset = KeysetPageRequest.of(KeysetPageRequest.encode(date, 42L), 50);
+
+		assertEquals(date, keyset.getCursorDate());
+		assertEquals(42L, keyset.getCursorId());
+		assertEquals(50, keyset.getPageSize());
+		assertEquals(0, keyset.getPageNumber());
+	}
+
+	@Test
+	@DisplayName("Should start from the newest row when the cursor is empty")
+	void of_WithEmptyCursor_ShouldReturnFirstPage() {
+		assertEquals(KeysetPageRequest.first(20), KeysetPageRequest.of("", 20));
+	}
+
+	@Test
+	@DisplayName("Should reject cursors that were not produced by the API")
+	void of_WithTamperedCursor_ShouldThrow() {
+		assertThrows(CustomGlobalErrorHandling.InvalidCursorException.class,
+				() -> KeysetPageRequest.of("bm90LWEtY3Vyc29y", 20));
+		assertThrows(CustomGlobalErrorHandling.InvalidCursorException.class,
+				() -> KeysetPageRequest.of("%%%", 20));
+	}
+}
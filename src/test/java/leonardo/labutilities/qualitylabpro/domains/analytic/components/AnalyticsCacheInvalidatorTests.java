@@ -0,0 +1,116 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import leonardo.labutilities.qualitylabpro.configs.cache.CacheConfiguration;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+
+class AnalyticsCacheInvalidatorTests {
+
+	private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final LocalDateTime FEBRUARY = LocalDateTime.of(2025, 2, 1, 0, 0);
+	private static final PageRequest PAGE = PageRequest.of(0, 100);
+
+	private Cache meanCache;
+	private Cache rangeCache;
+	private Cache byNameCache;
+	private AnalyticsCacheInvalidator invalidator;
+
+	@BeforeEach
+	void setUp() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		this.meanCache = cacheManager.getCache(CacheConfiguration.MEAN_AND_STD_DEVIATION);
+		this.rangeCache = cacheManager.getCache(CacheConfiguration.ANALYTICS_BY_NAME_AND_DATE_RANGE);
+		this.byNameCache =
+				cacheManager.getCache(CacheConfiguration.ANALYTICS_BY_NAME_WITH_PAGINATION);
+		this.invalidator = new AnalyticsCacheInvalidator(cacheManager);
+	}
+
+	private static Analytic measurement(String name, LocalDateTime date) {
+		Analytic analytic = new Analytic();
+		analytic.setTestName(name);
+		analytic.setControlLevel("low");
+		analytic.setMeasurementDate(date);
+		return analytic;
+	}
+
+	@Test
+	@DisplayName("Should evict only entries whose test and date range cover the new rows")
+	void evictMeasurements_ShouldKeepUnrelatedEntries() {
+		var wbcJanuary = AnalyticsCacheKey.of("WBC", "low", JANUARY, JANUARY.plusDays(30), PAGE);
+		var wbcFebruary = AnalyticsCacheKey.of("WBC", "low", FEBRUARY, FEBRUARY.plusDays(27), PAGE);
+		var glucoseJanuary =
+				AnalyticsCacheKey.of("GLUC3", "PCCC1", JANUARY, JANUARY.plusDays(30), PAGE);
+		var biochemistryRange =
+				AnalyticsCacheKey.of(List.of("GLUC3", "ALB2"), JANUARY, JANUARY.plusDays(30), PAGE);
+		var hematologyRange =
+				AnalyticsCacheKey.of(List.of("WBC", "RBC"), JANUARY, JANUARY.plusDays(30), PAGE);
+		var wbcLatest = AnalyticsCacheKey.ofName("WBC", PAGE);
+		this.meanCache.put(wbcJanuary, "stale");
+		this.meanCache.put(wbcFebruary, "kept");
+		this.meanCache.put(glucoseJanuary, "kept");
+		this.rangeCache.put(biochemistryRange, "kept");
+		this.rangeCache.put(hematologyRange, "stale");
+		this.byNameCache.put(wbcLatest, "stale");
+
+		this.invalidator.evictMeasurements(List.of(measurement("WBC", JANUARY.plusDays(10)),
+				measurement("WBC", JANUARY.plusDays(12))));
+
+		assertNull(this.meanCache.get(wbcJanuary));
+		assertNotNull(this.meanCache.get(wbcFebruary));
+		assertNotNull(this.meanCache.get(glucoseJanuary));
+		assertNotNull(this.rangeCache.get(biochemistryRange));
+		assertNull(this.rangeCache.get(hematologyRange));
+		assertNull(this.byNameCache.get(wbcLatest));
+	}
+
+	@Test
+	@DisplayName("Should evict every date range of a test when its mean changes")
+	void evictTest_ShouldEvictAllRangesOfTheTest() {
+		var wbcJanuary = AnalyticsCacheKey.of("WBC", "low", JANUARY, JANUARY.plusDays(30), PAGE);
+		var wbcFebruary = AnalyticsCacheKey.of("WBC", "low", FEBRUARY, FEBRUARY.plusDays(27), PAGE);
+		var glucoseJanuary =
+				AnalyticsCacheKey.of("GLUC3", "PCCC1", JANUARY, JANUARY.plusDays(30), PAGE);
+		this.meanCache.put(wbcJanuary, "stale");
+		this.meanCache.put(wbcFebruary, "stale");
+		this.meanCache.put(glucoseJanuary, "kept");
+
+		this.invalidator.evictTest("wbc");
+
+		assertNull(this.meanCache.get(wbcJanuary));
+		assertNull(this.meanCache.get(wbcFebruary));
+		assertNotNull(this.meanCache.get(glucoseJanuary));
+	}
+
+	@Test
+	@DisplayName("Should defer eviction until the surrounding transaction commits")
+	void evictMeasurement_InsideTransaction_ShouldWaitForCommit() {
+		var wbcJanuary = AnalyticsCacheKey.of("WBC", "low", JANUARY, JANUARY.plusDays(30), PAGE);
+		this.meanCache.put(wbcJanuary, "stale");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.invalidator.evictMeasurement("WBC", JANUARY.plusDays(3));
+			assertNotNull(this.meanCache.get(wbcJanuary));
+
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertNull(this.meanCache.get(wbcJanuary));
+	}
+}
@@ -0,0 +1,153 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsSeriesKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+
+class AnalyticsHotWindowTests {
+
+	private static final LocalDateTime TODAY =
+			LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+
+	private AnalyticsRepository analyticsRepository;
+	private AnalyticsHotWindow hotWindow;
+
+	@BeforeEach
+	void setUp() {
+		this.analyticsRepository = mock(AnalyticsRepository.class);
+		this.hotWindow = new AnalyticsHotWindow(this.analyticsRepository);
+		ReflectionTestUtils.setField(this.hotWindow, "enabled", true);
+		ReflectionTestUtils.setField(this.hotWindow, "window", Duration.ofDays(30));
+		ReflectionTestUtils.setField(this.hotWindow, "maxPointsPerSeries", 64);
+	}
+
+	private static AnalyticsDTO point(long id, int daysAgo, double value) {
+		return new AnalyticsDTO(id, TODAY.minusDays(daysAgo), "LOT1", "TEST1", "GLUC3", "PCCC1",
+				value, 100.0, 2.0, "mg/dL", "No rule broken", "Approved");
+	}
+
+	private void givenStoredSeries(AnalyticsDTO... points) {
+		when(this.analyticsRepository.findSeriesKeysByDateFrom(any()))
+				.thenReturn(List.of(new AnalyticsSeriesKeyDTO("GLUC3", "PCCC1")));
+		when(this.analyticsRepository.findByNameAndLevelAndDateFrom(eq("GLUC3"), eq("PCCC1"),
+				any())).thenReturn(List.of(points));
+	}
+
+	@Test
+	@DisplayName("Should answer reads inside the window from memory after the startup load")
+	void findByNameAndLevelAndDateBetween_AfterLoad_ShouldNotQuery() {
+		this.givenStoredSeries(point(1, 10, 99.0), point(2, 5, 101.0), point(3, 1, 103.0));
+		assertEquals(1, this.hotWindow.load());
+
+		var results = this.hotWindow.findByNameAndLevelAndDateBetween("gluc3", "pccc1",
+				TODAY.minusDays(7), TODAY, PageRequest.of(0, 100));
+
+		assertEquals(List.of(2L, 3L),
+				results.orElseThrow().stream().map(AnalyticsDTO::id).toList());
+		verify(this.analyticsRepository, times(1)).findByNameAndLevelAndDateFrom(any(), any(),
+				any());
+	}
+
+	@Test
+	@DisplayName("Should leave ranges that start before the window and sorted pages to the database")
+	void findByNameAndLevelAndDateBetween_OutsideWindow_ShouldFallBack() {
+		this.givenStoredSeries(point(1, 10, 99.0));
+		this.hotWindow.load();
+
+		assertTrue(this.hotWindow.findByNameAndLevelAndDateBetween("GLUC3", "PCCC1",
+				TODAY.minusDays(60), TODAY, PageRequest.of(0, 100)).isEmpty());
+		assertTrue(this.hotWindow.findByNameAndLevelAndDateBetween("GLUC3", "PCCC1",
+				TODAY.minusDays(7), TODAY, PageRequest.of(0, 100, Sort.by("value"))).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Should append committed measurements to warm series")
+	void recordMeasurements_ShouldAppendToWarmSeries() {
+		this.givenStoredSeries(point(1, 3, 99.0));
+		this.hotWindow.load();
+
+		this.hotWindow.onAnalyticsPersisted(
+				new AnalyticsPersistedEvent(List.of(AnalyticMapper.toEntity(point(2, 0, 104.0)))));
+
+		var results = this.hotWindow.findByNameAndLevelAndDateBetween("GLUC3", "PCCC1",
+				TODAY.minusDays(7), TODAY, Pageable.unpaged());
+		assertEquals(List.of(1L, 2L),
+				results.orElseThrow().stream().map(AnalyticsDTO::id).toList());
+		assertEquals(2, this.hotWindow.pointCount());
+	}
+
+	@Test
+	@DisplayName("Should re-warm a series from the database after it is invalidated")
+	void invalidate_ShouldDropSeriesUntilNextRead() {
+		this.givenStoredSeries(point(1, 3, 99.0));
+		this.hotWindow.load();
+
+		this.hotWindow.invalidate("GLUC3", "PCCC1");
+		assertEquals(0, this.hotWindow.seriesCount());
+
+		this.hotWindow.findByNameAndLevelAndDateBetween("GLUC3", "PCCC1", TODAY.minusDays(7),
+				TODAY, Pageable.unpaged());
+		verify(this.analyticsRepository, times(2)).findByNameAndLevelAndDateFrom(any(), any(),
+				any());
+	}
+
+	@Test
+	@DisplayName("Should not keep series for names with no recent points")
+	void findByNameAndLevelAndDateBetween_UnknownSeries_ShouldFallBack() {
+		when(this.analyticsRepository.findByNameAndLevelAndDateFrom(any(), any(), any()))
+				.thenReturn(List.of());
+
+		assertTrue(this.hotWindow.findByNameAndLevelAndDateBetween("NOPE", "PCCC1",
+				TODAY.minusDays(7), TODAY, Pageable.unpaged()).isEmpty());
+		assertEquals(0, this.hotWindow.seriesCount());
+	}
+
+	@Test
+	@DisplayName("Should report its footprint through the bound gauges")
+	void bindTo_ShouldExposeFootprintGauges() {
+		this.givenStoredSeries(point(1, 3, 99.0), point(2, 2, 100.0));
+		this.hotWindow.load();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+		this.hotWindow.bindTo(registry);
+
+		assertEquals(1.0, registry.get("analytics.hot.series").gauge().value());
+		assertEquals(2.0, registry.get("analytics.hot.points").gauge().value());
+		assertTrue(registry.get("analytics.hot.bytes").gauge().value() > 0);
+		assertEquals(2L, this.hotWindow.health().getDetails().get("points"));
+	}
+
+	@Test
+	@DisplayName("Should do nothing when disabled")
+	void disabled_ShouldAlwaysFallBack() {
+		ReflectionTestUtils.setField(this.hotWindow, "enabled", false);
+
+		assertTrue(this.hotWindow.findByNameAndLevelAndDateBetween("GLUC3", "PCCC1",
+				TODAY.minusDays(7), TODAY, Pageable.unpaged()).isEmpty());
+		verifyNoMoreInteractions(this.analyticsRepository);
+	}
+}
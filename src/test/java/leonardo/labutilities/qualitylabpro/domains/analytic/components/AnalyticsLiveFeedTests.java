@@ -0,0 +1,50 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling.ServiceOverloadedException;
+
+class AnalyticsLiveFeedTests {
+
+	private SimpleMeterRegistry meterRegistry;
+	private AnalyticsLiveFeed liveFeed;
+
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.liveFeed = new AnalyticsLiveFeed(this.meterRegistry);
+		ReflectionTestUtils.setField(this.liveFeed, "bufferSize", 8);
+		ReflectionTestUtils.setField(this.liveFeed, "maxSubscribers", 2);
+		ReflectionTestUtils.setField(this.liveFeed, "heartbeatInterval", Duration.ofSeconds(15));
+		ReflectionTestUtils.setField(this.liveFeed, "timeout", Duration.ofMinutes(1));
+	}
+
+	@Test
+	@DisplayName("Should track open subscribers in the gauge")
+	void subscribe_ShouldRegisterSubscriber() {
+		assertNotNull(this.liveFeed.subscribe(List.of("GLUC3")));
+
+		assertEquals(1, this.liveFeed.subscriberCount());
+		assertEquals(1.0, this.meterRegistry.get("analytics.live.subscribers").gauge().value());
+	}
+
+	@Test
+	@DisplayName("Should turn away subscribers past the configured maximum")
+	void subscribe_PastMaximum_ShouldReject() {
+		this.liveFeed.subscribe(List.of("GLUC3"));
+		this.liveFeed.subscribe(List.of("GLUC3"));
+
+		ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+				() -> this.liveFeed.subscribe(List.of("GLUC3")));
+		assertEquals("live", exception.getLane());
+	}
+}
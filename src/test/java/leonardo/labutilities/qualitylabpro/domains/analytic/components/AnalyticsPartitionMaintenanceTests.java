@@ -0,0 +1,137 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsPartitionMaintenance;
+
+class AnalyticsPartitionMaintenanceTests {
+
+	private static final DateTimeFormatter PARTITION_NAME =
+			DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+	private JdbcTemplate jdbcTemplate;
+	private AnalyticsPartitionMaintenance maintenance;
+
+	@BeforeEach
+	void setUp() {
+		this.jdbcTemplate = mock(JdbcTemplate.class);
+		this.maintenance = new AnalyticsPartitionMaintenance(this.jdbcTemplate);
+		ReflectionTestUtils.setField(this.maintenance, "lookaheadMonths", 3);
+	}
+
+	private static String partition(YearMonth month) {
+		return month.format(PARTITION_NAME);
+	}
+
+	private void givenPartitions(YearMonth first, YearMonth last) {
+		List<String> partitions = new ArrayList<>();
+		for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+			partitions.add(partition(month));
+		}
+		partitions.add("pmax");
+		when(this.jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(partitions);
+	}
+
+	@Test
+	@DisplayName("Should split the catch-all into the missing months up to the lookahead")
+	void maintain_ShouldCreateFuturePartitions() {
+		YearMonth now = YearMonth.now();
+		this.givenPartitions(now.minusMonths(2), now.plusMonths(1));
+
+		assertEquals(2, this.maintenance.maintain());
+
+		verify(this.jdbcTemplate).execute("ALTER TABLE analytics REORGANIZE PARTITION pmax INTO ("
+				+ "PARTITION " + partition(now.plusMonths(2)) + " VALUES LESS THAN ('"
+				+ now.plusMonths(3).atDay(1) + "'), PARTITION " + partition(now.plusMonths(3))
+				+ " VALUES LESS THAN ('" + now.plusMonths(4).atDay(1) + "'), "
+				+ "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+	}
+
+	@Test
+	@DisplayName("Should leave partitions alone when they already reach the lookahead")
+	void maintain_WhenAhead_ShouldNotAlterTable() {
+		YearMonth now = YearMonth.now();
+		this.givenPartitions(now.minusMonths(2), now.plusMonths(3));
+
+		assertEquals(0, this.maintenance.maintain());
+
+		verify(this.jdbcTemplate, never()).execute(anyString());
+	}
+
+	@Test
+	@DisplayName("Should report each probe as pruned only when it scans the months of its range")
+	void verifyPruning_ShouldCompareScannedPartitions() {
+		YearMonth now = YearMonth.now();
+		this.givenPartitions(now.minusMonths(12), now.plusMonths(3));
+		this.maintenance.maintain();
+		String pruned = partition(now.minusMonths(1)) + "," + partition(now);
+		when(this.jdbcTemplate.queryForList(startsWith("EXPLAIN PARTITIONS"),
+				any(LocalDateTime.class), any(LocalDateTime.class)))
+				.thenReturn(List.of(Map.of("partitions", pruned)));
+		when(this.jdbcTemplate.queryForList(startsWith(
+				"EXPLAIN PARTITIONS SELECT ga.id FROM analytics ga WHERE ga.measurement_date"),
+				any(LocalDateTime.class), any(LocalDateTime.class)))
+				.thenReturn(List.of(Map.of("partitions", pruned + ",pmax")));
+
+		Map<String, Boolean> results = this.maintenance.verifyPruning();
+
+		assertTrue(results.get("findByNameAndLevelAndDateBetween"));
+		assertTrue(results.get("findByNameInAndDateBetweenPaged"));
+		assertFalse(results.get("findByDateBetween"));
+		assertEquals(Status.UP, this.maintenance.health().getStatus());
+	}
+
+	@Test
+	@DisplayName("Should skip maintenance and report unknown health on an unpartitioned table")
+	void maintain_WhenNotPartitioned_ShouldSkip() {
+		when(this.jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+		assertEquals(0, this.maintenance.maintain());
+
+		assertTrue(this.maintenance.verifyPruning().isEmpty());
+		assertEquals(Status.UNKNOWN, this.maintenance.health().getStatus());
+		verify(this.jdbcTemplate, never()).execute(anyString());
+	}
+
+	@Test
+	@DisplayName("Should log and carry on when maintenance fails during startup")
+	void onApplicationReady_WhenMaintenanceFails_ShouldNotPropagate() {
+		ReflectionTestUtils.setField(this.maintenance, "enabled", true);
+		when(this.jdbcTemplate.queryForList(anyString(), eq(String.class)))
+				.thenThrow(new DataAccessResourceFailureException("information_schema unavailable"));
+
+		assertDoesNotThrow(() -> this.maintenance.onApplicationReady());
+	}
+
+	@Test
+	@DisplayName("Should not touch the table unless enabled")
+	void onApplicationReady_WhenDisabled_ShouldSkipMaintenance() {
+		ReflectionTestUtils.setField(this.maintenance, "enabled", false);
+		this.maintenance.onApplicationReady();
+
+		verify(this.jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+	}
+}
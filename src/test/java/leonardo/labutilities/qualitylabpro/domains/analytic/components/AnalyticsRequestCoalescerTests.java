@@ -0,0 +1,104 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
+import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
+
+class AnalyticsRequestCoalescerTests {
+
+	private static final int CALLERS = 8;
+
+	private SimpleMeterRegistry meterRegistry;
+	private AnalyticsRequestCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.coalescer = new AnalyticsRequestCoalescer(this.meterRegistry);
+	}
+
+	private DistributionSummary callers(String operation) {
+		return this.meterRegistry.get("analytics.coalesced.callers").tag("operation", operation)
+				.summary();
+	}
+
+	@Test
+	@DisplayName("Should run one computation for concurrent identical requests")
+	void coalesce_WithConcurrentIdenticalRequests_ShouldShareOneComputation() throws Exception {
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Object shared = new Object();
+		List<Future<Object>> results = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CALLERS; i++) {
+				results.add(executor.submit(() -> this.coalescer.coalesce("stats", "GLUC3", () -> {
+					computations.incrementAndGet();
+					awaitQuietly(release);
+					return shared;
+				})));
+			}
+			// Every caller is either running the computation or waiting on it
+			while (this.coalescer.inFlightCallers() < CALLERS) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+			for (Future<Object> result : results) {
+				assertSame(shared, result.get(5, TimeUnit.SECONDS));
+			}
+		}
+
+		assertEquals(1, computations.get());
+		assertEquals(1, this.callers("stats").count());
+		assertEquals(CALLERS, this.callers("stats").totalAmount());
+	}
+
+	@Test
+	@DisplayName("Should run again once the previous flight has finished")
+	void coalesce_WithSequentialRequests_ShouldComputeEachTime() {
+		AtomicInteger computations = new AtomicInteger();
+
+		this.coalescer.coalesce("stats", "GLUC3", computations::incrementAndGet);
+		this.coalescer.coalesce("stats", "GLUC3", computations::incrementAndGet);
+		this.coalescer.coalesce("grouped", "GLUC3", computations::incrementAndGet);
+
+		assertEquals(3, computations.get());
+		assertEquals(2, this.callers("stats").count());
+		assertEquals(1, this.callers("grouped").count());
+	}
+
+	@Test
+	@DisplayName("Should hand the computation's exception to every caller")
+	void coalesce_WhenComputationFails_ShouldRethrowAndClearFlight() {
+		assertThrows(CustomGlobalErrorHandling.ResourceNotFoundException.class,
+				() -> this.coalescer.coalesce("stats", "GLUC3", () -> {
+					throw new CustomGlobalErrorHandling.ResourceNotFoundException("missing");
+				}));
+
+		assertEquals("ok", this.coalescer.coalesce("stats", "GLUC3", () -> "ok"));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.WestgardRuleEngine;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.WestgardViolationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+
+@ExtendWith(MockitoExtension.class)
+class RulesProviderComponentTests {
+
+	private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 16, 8, 30);
+
+	@Mock
+	private WestgardRuleEngine westgardRuleEngine;
+
+	private RulesProviderComponent rulesProvider;
+
+	@BeforeEach
+	void setUp() {
+		this.rulesProvider = new RulesProviderComponent(this.westgardRuleEngine);
+	}
+
+	private static Analytic failed(String name) {
+		Analytic analytic = new Analytic();
+		analytic.setTestName(name);
+		analytic.setControlLevel("PCCC2");
+		analytic.setControlLevelLot("0774707");
+		analytic.setMeasurementDate(DATE);
+		analytic.setControlRules("+3s");
+		return analytic;
+	}
+
+	@Test
+	@DisplayName("Should report rejection rules of failed records and leave 1-2s out")
+	void findViolations_WithWarningAndRejectionRules_ShouldKeepRejectionsOnly() {
+		Analytic altl = failed("ALTL");
+		Map<Analytic, EnumSet<WestgardRule>> rules = new IdentityHashMap<>();
+		rules.put(altl, EnumSet.of(WestgardRule.ONE_TWO_S, WestgardRule.ONE_THREE_S));
+		when(this.westgardRuleEngine.evaluate(List.of(altl))).thenReturn(rules);
+
+		var violations = this.rulesProvider.findViolations(List.of(altl), List.of(altl));
+
+		assertEquals(List.of(new WestgardViolationDTO("ALTL", "PCCC2", "0774707", DATE,
+				WestgardRule.ONE_THREE_S)), violations);
+	}
+
+	@Test
+	@DisplayName("Should not evaluate rules when no record failed")
+	void findViolations_WithoutFailedRecords_ShouldReturnEmpty() {
+		assertTrue(this.rulesProvider.findViolations(List.of(failed("ALTL")), List.of())
+				.isEmpty());
+	}
+
+	@Test
+	@DisplayName("Should render one line per series and rule")
+	void renderViolations_WithRepeatedRule_ShouldRenderOnce() {
+		var violation = new WestgardViolationDTO("ALTL", "PCCC2", "0774707", DATE,
+				WestgardRule.TWO_TWO_S);
+
+		String html = this.rulesProvider.renderViolations(List.of(violation,
+				new WestgardViolationDTO("ALTL", "PCCC2", "0774707", DATE.plusHours(1),
+						WestgardRule.TWO_TWO_S)));
+
+		assertEquals(html.indexOf("2-2s"), html.lastIndexOf("2-2s"));
+		assertFalse(html.contains("1-2s"));
+	}
+}
@@ -0,0 +1,203 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.WestgardRuleEngine;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WestgardRuleEngineTests {
+
+	private static final String NAME = "ALB2";
+	private static final String LEVEL = "PCCC1";
+	private static final String LOT = "0774693";
+	private static final LocalDateTime START = LocalDateTime.of(2024, 12, 1, 8, 0);
+
+	@Mock
+	private AnalyticsRepository analyticsRepository;
+
+	private WestgardRuleEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		this.engine = new WestgardRuleEngine(this.analyticsRepository);
+	}
+
+	private static Analytic point(int day, double zScore) {
+		Analytic analytic = new Analytic();
+		analytic.setId(day + 1L);
+		analytic.setTestName(NAME);
+		analytic.setControlLevel(LEVEL);
+		analytic.setControlLevelLot(LOT);
+		analytic.setMeasurementDate(START.plusDays(day));
+		analytic.setTargetMean(100.0);
+		analytic.setStandardDeviation(2.0);
+		analytic.setMeasurementValue(100.0 + zScore * 2.0);
+		return analytic;
+	}
+
+	// Repository returns newest first
+	private void warmWith(double... zScores) {
+		List<Analytic> history = new ArrayList<>();
+		for (int i = zScores.length - 1; i >= 0; i--) {
+			history.add(point(i, zScores[i]));
+		}
+		when(this.analyticsRepository
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						NAME, LEVEL, LOT)).thenReturn(history);
+	}
+
+	@Test
+	@DisplayName("Should report no violations for an in-control window")
+	void evaluate_WithInControlWindow_ShouldReturnNoViolations() {
+		this.warmWith(0.5, -0.3, 0.8, -1.2, 0.1);
+
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Should flag 1-2s and 1-3s on the latest observation")
+	void evaluate_WithLatestBeyondThreeSigma_ShouldFlagSingleRules() {
+		this.warmWith(0.2, 3.4);
+
+		assertEquals(EnumSet.of(WestgardRule.ONE_TWO_S, WestgardRule.ONE_THREE_S),
+				this.engine.evaluate(NAME, LEVEL, LOT));
+	}
+
+	@Test
+	@DisplayName("Should flag 2-2s for two consecutive points beyond the same 2 SD limit")
+	void evaluate_WithTwoPointsBeyondTwoSigma_ShouldFlag22s() {
+		this.warmWith(0.1, -2.3, -2.5);
+
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).contains(WestgardRule.TWO_TWO_S));
+	}
+
+	@Test
+	@DisplayName("Should flag R-4s when consecutive points straddle opposite 2 SD limits")
+	void evaluate_WithOppositeTwoSigmaPoints_ShouldFlagR4s() {
+		this.warmWith(2.4, -2.1);
+
+		var violations = this.engine.evaluate(NAME, LEVEL, LOT);
+		assertTrue(violations.contains(WestgardRule.R_FOUR_S));
+		assertTrue(!violations.contains(WestgardRule.TWO_TWO_S));
+	}
+
+	@Test
+	@DisplayName("Should flag 4-1s, 10x and 7T for a drifting run")
+	void evaluate_WithDriftingRun_ShouldFlagSystematicRules() {
+		this.warmWith(0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 1.1, 1.2, 1.3, 1.4);
+
+		var violations = this.engine.evaluate(NAME, LEVEL, LOT);
+		assertTrue(violations.contains(WestgardRule.FOUR_ONE_S));
+		assertTrue(violations.contains(WestgardRule.TEN_X));
+		assertTrue(violations.contains(WestgardRule.SEVEN_T));
+	}
+
+	@Test
+	@DisplayName("Should update a warm window from ingested points without querying again")
+	void record_WithWarmWindow_ShouldEvaluateWithoutRepositoryRoundTrip() {
+		this.warmWith(0.1, 0.2);
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).isEmpty());
+
+		this.engine.record(List.of(point(3, 2.5), point(2, 2.2)));
+
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).contains(WestgardRule.TWO_TWO_S));
+		verify(this.analyticsRepository, times(1))
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						NAME, LEVEL, LOT);
+	}
+
+	@Test
+	@DisplayName("Should rebuild the window after it is invalidated")
+	void invalidate_WithWarmWindow_ShouldReloadFromRepository() {
+		this.warmWith(0.1);
+		this.engine.evaluate(NAME, LEVEL, LOT);
+
+		this.engine.invalidate(NAME, LEVEL, LOT);
+		this.engine.evaluate(NAME, LEVEL, LOT);
+
+		verify(this.analyticsRepository, times(2))
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						NAME, LEVEL, LOT);
+	}
+
+	@Test
+	@DisplayName("Should evaluate an ingested batch without changing the shared window")
+	void evaluate_WithIngestedBatch_ShouldLeaveCommittedWindowUntouched() {
+		this.warmWith(0.1, 0.2);
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).isEmpty());
+		Analytic first = point(2, 2.2);
+		Analytic second = point(3, 2.5);
+
+		var results = this.engine.evaluate(List.of(second, first));
+
+		assertEquals(EnumSet.of(WestgardRule.ONE_TWO_S), results.get(first));
+		assertTrue(results.get(second).contains(WestgardRule.TWO_TWO_S));
+		// A rolled-back ingest never reaches record(), so nothing is left behind
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Should replay a back-dated point among the stored history")
+	void evaluate_WithBackDatedPoint_ShouldReplayHistory() {
+		this.warmWith(0.1, 2.4, 0.3);
+		this.engine.evaluate(NAME, LEVEL, LOT);
+		Analytic backDated = point(1, 2.6);
+		backDated.setId(99L);
+		backDated.setMeasurementDate(START.plusDays(1).plusHours(1));
+
+		var results = this.engine.evaluate(List.of(backDated));
+
+		assertTrue(results.get(backDated).contains(WestgardRule.TWO_TWO_S));
+	}
+
+	@Test
+	@DisplayName("Should warm a cold window after commit without counting the new point twice")
+	void record_WithColdWindow_ShouldSkipPointsAlreadyLoaded() {
+		// The warm-up query already sees the committed point
+		this.warmWith(0.1, 2.5);
+
+		this.engine.record(List.of(point(1, 2.5)));
+
+		assertEquals(EnumSet.of(WestgardRule.ONE_TWO_S), this.engine.evaluate(NAME, LEVEL, LOT));
+		verify(this.analyticsRepository, times(1))
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						NAME, LEVEL, LOT);
+	}
+
+	@Test
+	@DisplayName("Should warm outside the window map so a commit landing meanwhile is kept")
+	void record_WithCommitDuringWarmUp_ShouldKeepBothPoints() {
+		List<Analytic> history = List.of(point(1, 2.5), point(0, 0.1));
+		AtomicBoolean raced = new AtomicBoolean();
+		when(this.analyticsRepository
+				.findTop10ByTestNameAndControlLevelAndControlLevelLotOrderByMeasurementDateDesc(
+						NAME, LEVEL, LOT)).thenAnswer(invocation -> {
+							// Another commit records its point while this query is running
+							if (raced.compareAndSet(false, true)) {
+								this.engine.record(List.of(point(2, 2.4)));
+							}
+							return history;
+						});
+
+		this.engine.record(List.of(point(1, 2.5)));
+
+		assertTrue(this.engine.evaluate(NAME, LEVEL, LOT).contains(WestgardRule.TWO_TWO_S));
+	}
+}
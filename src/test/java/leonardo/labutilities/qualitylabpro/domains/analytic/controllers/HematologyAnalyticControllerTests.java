@@ -1,15 +1,24 @@
 package leonardo.labutilities.qualitylabpro.domains.analytic.controllers;
 
 import static leonardo.labutilities.qualitylabpro.utils.AnalyticsHelperMocks.createSampleRecordList;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -23,21 +32,31 @@ import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import leonardo.labutilities.qualitylabpro.configs.TestSecurityConfig;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
+import leonardo.labutilities.qualitylabpro.domains.analytics.constants.AvailableHematologyAnalytics;
 import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.HematologyAnalyticsController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyteStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.DescriptiveStatisticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedResultsByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedValuesByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.HematologyAnalyticService;
 import leonardo.labutilities.qualitylabpro.domains.shared.authentication.TokenService;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 import leonardo.labutilities.qualitylabpro.domains.users.repositories.UserRepository;
 
 @WebMvcTest(HematologyAnalyticsController.class)
@@ -86,14 +105,80 @@ class HematologyAnalyticControllerTests {
 		when(this.hematologyAnalyticsService.findAnalyticsByNameInByLevel(anyList(), any(), any(),
 				any(), any(Pageable.class))).thenReturn(page);
 
+		// Without a cursor the plain page shape is kept; HAL links are only for cursor pages
 		this.mockMvc.perform(get("/hematology-analytics/level-date-range").param("level", "PCCC1")
 				.param("startDate", "2025-01-01 00:00:00").param("endDate", "2025-01-05 00:00:00"))
-				.andExpect(status().isOk());
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.length()").value(records.size()))
+				.andExpect(jsonPath("$._links").doesNotExist());
 
 		verify(this.hematologyAnalyticsService, times(1)).findAnalyticsByNameInByLevel(anyList(),
 				any(), any(), any(), any(Pageable.class));
 	}
 
+	@Test
+	@DisplayName("Should page by cursor and expose the next cursor link when cursor is supplied")
+	void shouldReturnCursorPageWhenCursorParameterIsPresent() throws Exception {
+		List<AnalyticsDTO> records = createSampleRecordList();
+		AnalyticsDTO last = records.getLast();
+		Slice<AnalyticsDTO> slice = new SliceImpl<>(records, PageRequest.ofSize(4), true);
+
+		when(this.hematologyAnalyticsService.findAnalyticsByNameInByLevelAfterCursor(anyList(),
+				eq("PCCC1"), any(), any(), eq(KeysetPageRequest.first(4)))).thenReturn(slice);
+
+		this.mockMvc
+				.perform(get("/hematology-analytics/level-date-range").param("level", "PCCC1")
+						.param("startDate", "2025-01-01 00:00:00")
+						.param("endDate", "2025-01-05 00:00:00").param("size", "4")
+						.param("cursor", ""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._links.next.href").value(containsString(
+						"cursor=" + KeysetPageRequest.encode(last.date(), last.id()))));
+
+		verify(this.hematologyAnalyticsService, never()).findAnalyticsByNameInByLevel(anyList(),
+				any(), any(), any(), any(Pageable.class));
+	}
+
+	@Test
+	@DisplayName("Should return bad request when the cursor cannot be decoded")
+	void shouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+		this.mockMvc.perform(get("/hematology-analytics").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Should stream the export body as CSV when requested")
+	void shouldStreamCsvExportForDateRange() throws Exception {
+		doAnswer(invocation -> {
+			OutputStream outputStream = invocation.getArgument(4);
+			outputStream.write("id,date\n1,2025-01-01 00:00:00\n".getBytes());
+			return 1L;
+		}).when(this.hematologyAnalyticsService).exportAnalyticsByNameInAndDateBetween(anyList(),
+				any(), any(), eq(ExportFormat.CSV), any(OutputStream.class));
+
+		MvcResult result = this.mockMvc
+				.perform(get("/hematology-analytics/export")
+						.param("startDate", "2025-01-01 00:00:00")
+						.param("endDate", "2025-01-05 00:00:00").param("format", "CSV"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", containsString("text/csv")))
+				.andExpect(header().string("Content-Disposition",
+						containsString("analytics-2025-01-01-2025-01-05.csv")))
+				.andExpect(content().string("id,date\n1,2025-01-01 00:00:00\n"));
+	}
+
+	@Test
+	@DisplayName("Should reject export formats that cannot be streamed")
+	void shouldReturnBadRequestForUnsupportedExportFormat() throws Exception {
+		this.mockMvc
+				.perform(get("/hematology-analytics/export")
+						.param("startDate", "2025-01-01 00:00:00")
+						.param("endDate", "2025-01-05 00:00:00").param("format", "PDF"))
+				.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	@DisplayName("Should return created status when saving valid analytics records")
 	void shouldReturnCreatedStatusWhenSavingAnalyticsRecords() throws Exception {
@@ -157,6 +242,35 @@ class HematologyAnalyticControllerTests {
 				eq("High"), eq(startDate), eq(endDate), any(Pageable.class));
 	}
 
+	@Test
+	@DisplayName("Should return statistics for every hematology analyte in one response")
+	void shouldReturnStatisticsForEveryAnalyte() throws Exception {
+		LocalDateTime startDate = this.parse("2025-01-01 00:00:00");
+		LocalDateTime endDate = this.parse("2025-01-05 00:00:00");
+		var statistics = new AnalyteStatisticsDTO("WBC", "low",
+				new DescriptiveStatisticsDTO(30, 3.2, 0.1, 3.0, 3.4, 3.13));
+
+		when(this.hematologyAnalyticsService.calculateStatisticsByNameAndLevel(
+				AvailableHematologyAnalytics.DEFAULT_HEMATO_ANALYTICS, startDate, endDate))
+						.thenReturn(List.of(statistics));
+
+		this.mockMvc.perform(get("/hematology-analytics/statistics")
+				.param("startDate", "2025-01-01 00:00:00").param("endDate", "2025-01-05 00:00:00"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[0].name").value("WBC"))
+				.andExpect(jsonPath("$[0].statistics.count").value(30));
+	}
+
+	@Test
+	@DisplayName("Should open a live event stream for the hematology analytes")
+	void shouldOpenLiveStreamForHematologyAnalytes() throws Exception {
+		when(this.hematologyAnalyticsService
+				.streamNewAnalytics(AvailableHematologyAnalytics.DEFAULT_HEMATO_ANALYTICS))
+						.thenReturn(new SseEmitter());
+
+		this.mockMvc.perform(get("/hematology-analytics/live").accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted());
+	}
+
 	@Test
 	void shouldReturnGroupedAnalyticsByLevel() throws Exception {
 		String name = "Hemoglobin";
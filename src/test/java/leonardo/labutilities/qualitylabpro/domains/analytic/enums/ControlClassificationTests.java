@@ -0,0 +1,60 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.enums;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+
+class ControlClassificationTests {
+
+	@ParameterizedTest
+	@CsvSource({"100.0, WITHIN_LIMITS", "101.9, WITHIN_LIMITS", "102.0, PLUS_1S",
+			"98.0, MINUS_1S", "104.0, PLUS_2S", "95.5, MINUS_2S", "106.0, PLUS_3S",
+			"93.9, MINUS_3S"})
+	@DisplayName("Should classify values into the band of their distance from the mean")
+	void classify_WithValues_ShouldReturnExpectedBand(double value,
+			ControlClassification expected) {
+		assertSame(expected, ControlClassification.classify(value, 100.0, 2.0));
+	}
+
+	@Test
+	@DisplayName("Should keep the legacy rule codes and descriptions")
+	void classify_WithLegacyBands_ShouldExposeSameLabels() {
+		assertEquals("+3s", ControlClassification.PLUS_3S.getRules());
+		assertEquals("Rule violation: exceeded negative limit (-3s)",
+				ControlClassification.MINUS_3S.getDescription());
+		assertEquals("No rule broken", ControlClassification.WITHIN_LIMITS.getRules());
+		assertEquals("Approved according to current Westgard configured rules",
+				ControlClassification.WITHIN_LIMITS.getDescription());
+	}
+
+	@Test
+	@DisplayName("Should match the previous threshold-list classification for every input")
+	void classify_WithSweep_ShouldMatchLegacyThresholdAlgorithm() {
+		IntStream.rangeClosed(-800, 800).mapToDouble(i -> 100.0 + i * 0.01).forEach(value -> {
+			assertSame(legacyClassify(value, 100.0, 2.0),
+					ControlClassification.classify(value, 100.0, 2.0));
+		});
+		assertSame(legacyClassify(5.0, 5.0, 0.0), ControlClassification.classify(5.0, 5.0, 0.0));
+	}
+
+	private static ControlClassification legacyClassify(double value, double mean, double sd) {
+		List<Double> thresholds = List.of(mean + sd, mean + 2 * sd, mean + 3 * sd, mean - sd,
+				mean - 2 * sd, mean - 3 * sd);
+		List<ControlClassification> upper = List.of(ControlClassification.PLUS_1S,
+				ControlClassification.PLUS_2S, ControlClassification.PLUS_3S);
+		List<ControlClassification> lower = List.of(ControlClassification.MINUS_1S,
+				ControlClassification.MINUS_2S, ControlClassification.MINUS_3S);
+		for (int i = 2; i >= 0; i--) {
+			if (value >= thresholds.get(i) || value <= thresholds.get(i + 3)) {
+				return value >= thresholds.get(i) ? upper.get(i) : lower.get(i);
+			}
+		}
+		return ControlClassification.WITHIN_LIMITS;
+	}
+}
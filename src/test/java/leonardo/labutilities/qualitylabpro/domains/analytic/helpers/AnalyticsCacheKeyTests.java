@@ -0,0 +1,113 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import leonardo.labutilities.qualitylabpro.domains.analytics.constants.AvailableBiochemistryAnalytics;
+import leonardo.labutilities.qualitylabpro.domains.analytics.constants.AvailableHematologyAnalytics;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsCacheKey;
+
+class AnalyticsCacheKeyTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final LocalDateTime END = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+	private static final PageRequest PAGE = PageRequest.of(0, 100);
+
+	@Test
+	@DisplayName("Should treat the same query as the same entry")
+	void of_WithSameQuery_ShouldBeEqual() {
+		var first = AnalyticsCacheKey.of(new ArrayList<>(List.of("GLUC3", "ALB2")), START, END,
+				PAGE);
+		var second = AnalyticsCacheKey.of(List.of("GLUC3", "ALB2"), START, END,
+				PageRequest.of(0, 100));
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertEquals(first.disciplineId(), second.disciplineId());
+	}
+
+	@Test
+	@DisplayName("Should never share an entry between name lists with the same hashCode")
+	void of_WithCollidingNameListHashCodes_ShouldNotBeEqual() {
+		// "Aa" and "BB" have the same String hashCode, so both lists hash alike too
+		List<String> first = List.of("Aa", "GLUC3");
+		List<String> second = List.of("BB", "GLUC3");
+		assertEquals(first.hashCode(), second.hashCode());
+
+		var firstKey = AnalyticsCacheKey.of(first, START, END, PAGE);
+		var secondKey = AnalyticsCacheKey.of(second, START, END, PAGE);
+
+		assertNotEquals(firstKey, secondKey);
+		assertNotEquals(firstKey.disciplineId(), secondKey.disciplineId());
+	}
+
+	@Test
+	@DisplayName("Should keep every query dimension in the key")
+	void of_WithDistinctQueries_ShouldNeverShareAnEntry() {
+		List<String> biochemistry = AvailableBiochemistryAnalytics.DEFAULT_BIO_ANALYTICS;
+		List<String> hematology = AvailableHematologyAnalytics.DEFAULT_HEMATO_ANALYTICS;
+		List<AnalyticsCacheKey> keys = List.of(
+				AnalyticsCacheKey.of(biochemistry, START, END, PAGE),
+				AnalyticsCacheKey.of(hematology, START, END, PAGE),
+				AnalyticsCacheKey.of(biochemistry, START.plusSeconds(1), END, PAGE),
+				AnalyticsCacheKey.of(biochemistry, START.plusNanos(1), END, PAGE),
+				AnalyticsCacheKey.of(biochemistry, START, END.plusSeconds(1), PAGE),
+				AnalyticsCacheKey.of(biochemistry, START, END, PageRequest.of(1, 100)),
+				AnalyticsCacheKey.of(biochemistry, START, END, PageRequest.of(0, 101)),
+				AnalyticsCacheKey.of(biochemistry, START, END,
+						PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "measurementDate"))),
+				AnalyticsCacheKey.of(biochemistry, START, END,
+						PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "measurementDate"))),
+				AnalyticsCacheKey.of(biochemistry, START, END,
+						PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "id"))),
+				AnalyticsCacheKey.of("GLUC3", "PCCC1", START, END, PAGE),
+				AnalyticsCacheKey.of("GLUC3", "PCCC2", START, END, PAGE),
+				AnalyticsCacheKey.of("GLUC3", null, START, END, PAGE),
+				AnalyticsCacheKey.of("ALB2", "PCCC1", START, END, PAGE),
+				AnalyticsCacheKey.ofName("GLUC3", PAGE),
+				AnalyticsCacheKey.ofName("GLUC3", Pageable.unpaged()),
+				AnalyticsCacheKey.ofName("GLUC3",
+						PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "measurementDate"))));
+
+		Set<AnalyticsCacheKey> distinct = new HashSet<>(keys);
+
+		assertEquals(keys.size(), distinct.size());
+	}
+
+	@Test
+	@DisplayName("Should stay correct for name lists past the interning cap")
+	void of_PastInterningCap_ShouldCompareByNames() {
+		for (int i = 0; i < 5_000; i++) {
+			var first = AnalyticsCacheKey.ofName("TEST-" + i, PAGE);
+			var second = AnalyticsCacheKey.ofName("TEST-" + i, PAGE);
+			var other = AnalyticsCacheKey.ofName("TEST-" + (i + 1), PAGE);
+
+			assertEquals(first, second);
+			assertNotEquals(first, other);
+		}
+	}
+
+	@Test
+	@DisplayName("Should overlap writes of a covered test inside the date range only")
+	void overlaps_ShouldMatchTestAndDateRange() {
+		var key = AnalyticsCacheKey.of(List.of("WBC", "RBC"), START, END, PAGE);
+
+		assertTrue(key.overlaps("wbc", START.plusDays(3), START.plusDays(3)));
+		assertTrue(key.overlaps("RBC", START.minusDays(3), START));
+		assertTrue(key.overlaps("RBC", null, null));
+		assertFalse(key.overlaps("RBC", END.plusNanos(1), END.plusDays(1)));
+		assertFalse(key.overlaps("PLT", START.plusDays(3), START.plusDays(3)));
+		assertTrue(AnalyticsCacheKey.ofName("WBC", PAGE).overlaps("WBC", END, END));
+	}
+}
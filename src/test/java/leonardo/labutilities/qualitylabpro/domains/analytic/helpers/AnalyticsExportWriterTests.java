@@ -0,0 +1,74 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static leonardo.labutilities.qualitylabpro.utils.AnalyticsHelperMocks.createSampleRecord;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsExportWriter;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
+
+class AnalyticsExportWriterTests {
+
+	private static String export(ExportFormat format, Analytic... analytics) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		AnalyticsExportWriter writer = AnalyticsExportWriter.of(format, outputStream);
+		writer.writeHeader();
+		for (Analytic analytic : analytics) {
+			writer.write(analytic);
+		}
+		writer.flush();
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	@DisplayName("Should write a CSV header followed by one line per row")
+	void write_WithCsvFormat_ShouldWriteHeaderAndRows() {
+		Analytic analytic = AnalyticMapper.toEntity(createSampleRecord());
+
+		String[] lines = export(ExportFormat.CSV, analytic, analytic).split("\n");
+
+		assertEquals(3, lines.length);
+		assertEquals("id,date,level_lot,test_lot,name,level,value,mean,sd,unit_value,rules,"
+				+ "description", lines[0]);
+		assertEquals("1,2024-12-16 07:53:00,0774693,608384,ALB2,PCCC1,3.45,3.35,0.2,g/dL,"
+				+ "No rule broken,Approved according to current Westgard configured rules",
+				lines[1]);
+	}
+
+	@Test
+	@DisplayName("Should quote CSV fields containing separators or quotes")
+	void write_WithSpecialCharacters_ShouldQuoteCsvFields() {
+		Analytic analytic = AnalyticMapper.toEntity(createSampleRecord());
+		analytic.setDescription("Shift, \"check\" calibrator");
+
+		String csv = export(ExportFormat.CSV, analytic);
+
+		assertTrue(csv.contains(",\"Shift, \"\"check\"\" calibrator\"\n"));
+	}
+
+	@Test
+	@DisplayName("Should write newline-delimited JSON objects without a header")
+	void write_WithJsonFormat_ShouldWriteOneObjectPerLine() {
+		Analytic analytic = AnalyticMapper.toEntity(createSampleRecord());
+
+		String[] lines = export(ExportFormat.JSON, analytic, analytic).split("\n");
+
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("{\"id\":1,\"date\":\"2024-12-16 07:53:00\""));
+		assertFalse(lines[0].contains("\n"));
+	}
+
+	@Test
+	@DisplayName("Should reject export formats without a streaming writer")
+	void of_WithUnsupportedFormat_ShouldThrow() {
+		assertThrows(IllegalArgumentException.class,
+				() -> AnalyticsExportWriter.of(ExportFormat.PDF, new ByteArrayOutputStream()));
+	}
+}
@@ -0,0 +1,193 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static leonardo.labutilities.qualitylabpro.utils.AnalyticsHelperMocks.createSampleRecordList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import leonardo.labutilities.qualitylabpro.configs.pagination.KeysetPageRequest;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.AnalyticsHelperController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.BiochemistryAnalyticsController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.CoagulationAnalyticsController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.controllers.HematologyAnalyticsController;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsHelperUtility;
+
+// Pins the link output to the original linkTo/methodOn and UriComponentsBuilder implementation
+class AnalyticsHelperUtilityTests {
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	private static void bindRequest(String scheme, int port, String contextPath, String uri,
+			String query) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + uri);
+		request.setScheme(scheme);
+		request.setServerName("lab.example.com");
+		request.setServerPort(port);
+		request.setContextPath(contextPath);
+		request.setQueryString(query);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	static Stream<Arguments> requests() {
+		return Stream.of(
+				Arguments.of("http", 80, "", "/hematology-analytics/date-range",
+						"startDate=2024-01-01 00:00:00&endDate=2024-12-31 23:59:59&page=1"),
+				Arguments.of("https", 8443, "/api", "/biochemistry-analytics",
+						"startDate=2024-01-01%2000:00:00&page=2&size=50&sort=date,desc"),
+				Arguments.of("http", 8080, "", "/coagulation-analytics/level-date-range",
+						"level=PCCC1&name=ALB2&name=ALT%20S"),
+				Arguments.of("http", 8080, "", "/hematology-analytics", null));
+	}
+
+	private static List<AnalyticsHelperController> controllers() {
+		return List.of(new HematologyAnalyticsController(null),
+				new BiochemistryAnalyticsController(null),
+				new CoagulationAnalyticsController(null));
+	}
+
+	@ParameterizedTest
+	@MethodSource("requests")
+	void createEntityModels_MatchesLegacySelfLinks(String scheme, int port, String contextPath,
+			String uri, String query) {
+		bindRequest(scheme, port, contextPath, uri, query);
+		List<AnalyticsDTO> records = createSampleRecordList();
+
+		for (AnalyticsHelperController controller : controllers()) {
+			List<EntityModel<AnalyticsDTO>> models =
+					AnalyticsHelperUtility.createEntityModels(records, controller);
+
+			for (int i = 0; i < records.size(); i++) {
+				EntityModel<AnalyticsDTO> legacy = Legacy.createEntityModel(records.get(i), controller);
+				assertEquals(legacy.getLinks(), models.get(i).getLinks());
+				assertEquals(legacy.getLinks(),
+						AnalyticsHelperUtility.createEntityModel(records.get(i), controller)
+								.getLinks());
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("requests")
+	void addPaginationLinks_MatchesLegacyPageLinks(String scheme, int port, String contextPath,
+			String uri, String query) {
+		bindRequest(scheme, port, contextPath, uri, query);
+		List<AnalyticsDTO> content = createSampleRecordList();
+
+		for (int pageNumber : new int[] {0, 1, 4}) {
+			var pageable = PageRequest.of(pageNumber, 20);
+			var page = new PageImpl<>(content, pageable, 100);
+
+			assertEquals(
+					Legacy.addPaginationLinks(CollectionModel.empty(), page, pageable).getLinks(),
+					AnalyticsHelperUtility.addPaginationLinks(CollectionModel.empty(), page, pageable)
+							.getLinks());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("requests")
+	void addKeysetPaginationLinks_MatchesLegacyCursorLinks(String scheme, int port,
+			String contextPath, String uri, String query) {
+		bindRequest(scheme, port, contextPath, uri, query);
+		List<AnalyticsDTO> content = createSampleRecordList();
+		var keyset = KeysetPageRequest.first(20);
+
+		for (boolean hasNext : new boolean[] {true, false}) {
+			var slice = new SliceImpl<>(content, keyset, hasNext);
+
+			assertEquals(Legacy.addPaginationLinks(CollectionModel.empty(), slice, keyset).getLinks(),
+					AnalyticsHelperUtility.addPaginationLinks(CollectionModel.empty(), slice, keyset)
+							.getLinks());
+		}
+	}
+
+	private static final class Legacy {
+
+		static EntityModel<AnalyticsDTO> createEntityModel(AnalyticsDTO analyticsRecord,
+				AnalyticsHelperController controller) {
+			return EntityModel.of(analyticsRecord, Link.of(ServletUriComponentsBuilder
+					.fromCurrentContextPath().path("/backend")
+					.path(linkTo(methodOn(controller.getClass())
+							.getAnalyticsById(analyticsRecord.id())).toUri().getPath())
+					.toUriString()).withSelfRel());
+		}
+
+		static CollectionModel<EntityModel<AnalyticsDTO>> addPaginationLinks(
+				CollectionModel<EntityModel<AnalyticsDTO>> collectionModel,
+				org.springframework.data.domain.Page<AnalyticsDTO> page,
+				org.springframework.data.domain.Pageable pageable) {
+			UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replacePath("/backend-api"
+							+ ServletUriComponentsBuilder.fromCurrentRequest().build().getPath());
+			collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", 0)
+					.replaceQueryParam("size", pageable.getPageSize()).toUriString()
+					.replace("%2520", "%20")).withRel("first"));
+			if (page.hasPrevious()) {
+				collectionModel.add(Link.of(uriBuilder
+						.replaceQueryParam("page", pageable.getPageNumber() - 1)
+						.replaceQueryParam("size", pageable.getPageSize()).toUriString()
+						.replace("%2520", "%20")).withRel("prev"));
+			}
+			if (page.hasNext()) {
+				collectionModel.add(Link.of(uriBuilder
+						.replaceQueryParam("page", pageable.getPageNumber() + 1)
+						.replaceQueryParam("size", pageable.getPageSize()).toUriString()
+						.replace("%2520", "%20")).withRel("next"));
+			}
+			collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", page.getTotalPages() - 1)
+					.replaceQueryParam("size", pageable.getPageSize()).toUriString()
+					.replace("%2520", "%20")).withRel("last"));
+			collectionModel.add(Link.of(uriBuilder.replaceQueryParam("page", pageable.getPageNumber())
+					.replaceQueryParam("size", pageable.getPageSize()).toUriString()
+					.replace("%2520", "%20")).withRel("current-page"));
+			collectionModel.add(Link.of(String.valueOf(page.getTotalPages()), "totalPages"));
+			collectionModel.add(Link.of(String.valueOf(page.getNumber()), "currentPage"));
+			return collectionModel;
+		}
+
+		static CollectionModel<EntityModel<AnalyticsDTO>> addPaginationLinks(
+				CollectionModel<EntityModel<AnalyticsDTO>> collectionModel,
+				org.springframework.data.domain.Slice<AnalyticsDTO> slice,
+				KeysetPageRequest keyset) {
+			UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replacePath("/backend-api"
+							+ ServletUriComponentsBuilder.fromCurrentRequest().build().getPath())
+					.replaceQueryParam("page").replaceQueryParam("size", keyset.getPageSize());
+			collectionModel.add(Link.of(uriBuilder
+					.replaceQueryParam(KeysetPageRequest.CURSOR_PARAMETER, "").toUriString()
+					.replace("%2520", "%20")).withRel("first"));
+			if (slice.hasNext()) {
+				AnalyticsDTO last = slice.getContent().getLast();
+				collectionModel.add(Link.of(uriBuilder
+						.replaceQueryParam(KeysetPageRequest.CURSOR_PARAMETER,
+								KeysetPageRequest.encode(last.date(), last.id()))
+						.toUriString().replace("%2520", "%20")).withRel("next"));
+			}
+			collectionModel.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+					.replacePath("/backend-api"
+							+ ServletUriComponentsBuilder.fromCurrentRequest().build().getPath())
+					.toUriString().replace("%2520", "%20")).withRel("current-page"));
+			return collectionModel;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsHotSeries;
+
+class AnalyticsHotSeriesTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+	private static AnalyticsDTO point(long id, int day, double value) {
+		return new AnalyticsDTO(id, START.plusDays(day), "LOT" + (day % 2), "TEST1", "GLUC3",
+				"PCCC1", value, 100.0, 2.0, "mg/dL", "No rule broken", "Approved");
+	}
+
+	private static long day(int day) {
+		return AnalyticsHotSeries.epochSecond(START.plusDays(day));
+	}
+
+	private static List<Long> ids(List<AnalyticsDTO> records) {
+		return records.stream().map(AnalyticsDTO::id).toList();
+	}
+
+	@Test
+	@DisplayName("Should return the same columns it was given, in date order")
+	void range_ShouldRebuildRecordsInDateOrder() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(0), 16);
+		series.append(point(1, 0, 98.0));
+		series.append(point(3, 2, 103.0));
+		series.append(point(2, 1, 101.0));
+
+		List<AnalyticsDTO> records = series.range(day(0), day(2), 0, Integer.MAX_VALUE);
+
+		assertEquals(List.of(1L, 2L, 3L), ids(records));
+		assertEquals(point(2, 1, 101.0), records.get(1));
+	}
+
+	@Test
+	@DisplayName("Should apply inclusive bounds and then the page window")
+	void range_ShouldApplyBoundsAndPaging() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(0), 16);
+		for (int i = 0; i < 6; i++) {
+			series.append(point(i, i, 100.0 + i));
+		}
+
+		assertEquals(List.of(1L, 2L, 3L, 4L), ids(series.range(day(1), day(4), 0, 10)));
+		assertEquals(List.of(3L, 4L), ids(series.range(day(1), day(4), 2, 5)));
+		assertEquals(List.of(), ids(series.range(day(1), day(4), 10, 5)));
+	}
+
+	@Test
+	@DisplayName("Should page points sharing a date by id, whatever order they arrived in")
+	void range_WithTiedDates_ShouldPageById() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(0), 16);
+		series.append(point(1, 0, 100.0));
+		series.append(point(5, 1, 100.0));
+		series.append(point(3, 1, 100.0));
+		series.append(point(4, 1, 100.0));
+		series.append(point(2, 1, 100.0));
+
+		assertEquals(List.of(1L, 2L), ids(series.range(day(0), day(1), 0, 2)));
+		assertEquals(List.of(3L, 4L), ids(series.range(day(0), day(1), 2, 2)));
+		assertEquals(List.of(5L), ids(series.range(day(0), day(1), 4, 2)));
+	}
+
+	@Test
+	@DisplayName("Should ignore repeated ids and points before the covered range")
+	void append_ShouldRejectDuplicatesAndUncoveredPoints() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(1), 16);
+
+		assertTrue(series.append(point(1, 1, 100.0)));
+		assertFalse(series.append(point(1, 1, 100.0)));
+		assertFalse(series.append(point(2, 0, 100.0)));
+		assertEquals(1, series.size());
+	}
+
+	@Test
+	@DisplayName("Should drop the oldest point when full and stop covering its date")
+	void append_WhenFull_ShouldEvictOldestAndAdvanceCoverage() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(0), 3);
+		for (int i = 0; i < 4; i++) {
+			series.append(point(i, i, 100.0));
+		}
+
+		assertEquals(3, series.size());
+		assertFalse(series.covers(day(0)));
+		assertTrue(series.covers(day(1)));
+		assertEquals(List.of(1L, 2L, 3L), ids(series.range(day(1), day(3), 0, 10)));
+	}
+
+	@Test
+	@DisplayName("Should trim points older than the horizon and keep growing afterwards")
+	void trim_ShouldDropExpiredPoints() {
+		AnalyticsHotSeries series = new AnalyticsHotSeries(day(0), 256);
+		for (int i = 0; i < 100; i++) {
+			series.append(point(i, i, 100.0));
+		}
+
+		assertEquals(90, series.trim(day(90)));
+
+		assertEquals(10, series.size());
+		assertFalse(series.covers(day(89)));
+		assertTrue(series.append(point(100, 100, 100.0)));
+		assertEquals(List.of(98L, 99L, 100L), ids(series.range(day(98), day(100), 0, 10)));
+	}
+}
@@ -0,0 +1,110 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsLiveEventDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.AnalyticsLiveBuffer;
+
+class AnalyticsLiveBufferTests {
+
+	private static final Duration NO_WAIT = Duration.ZERO;
+
+	private static AnalyticsLiveEventDTO event(long id, String name, boolean violation) {
+		AnalyticsDTO analytics = new AnalyticsDTO(id, LocalDateTime.of(2024, 1, 1, 8, 0),
+				"LOT1", "TEST1", name, "PCCC1", 1.0, 1.0, 0.1, "mg/dL", "No rule broken", null);
+		return new AnalyticsLiveEventDTO(analytics,
+				violation ? ControlClassification.PLUS_3S : ControlClassification.WITHIN_LIMITS,
+				violation);
+	}
+
+	private static List<Long> ids(List<AnalyticsLiveEventDTO> events) {
+		return events.stream().map(event -> event.analytics().id()).toList();
+	}
+
+	@Test
+	@DisplayName("Should hand out pending events in arrival order")
+	void drain_ShouldReturnPendingEventsInOrder() throws InterruptedException {
+		AnalyticsLiveBuffer buffer = new AnalyticsLiveBuffer(4);
+		buffer.offer(event(1, "GLUC3", false));
+		buffer.offer(event(2, "CHOL2", false));
+
+		assertEquals(List.of(1L, 2L), ids(buffer.drain(NO_WAIT)));
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	@DisplayName("Should keep the newest point per series and every violation when full")
+	void offer_WhenFull_ShouldConflatePerSeriesAndKeepViolations() throws InterruptedException {
+		AnalyticsLiveBuffer buffer = new AnalyticsLiveBuffer(4);
+		buffer.offer(event(1, "GLUC3", false));
+		buffer.offer(event(2, "GLUC3", true));
+		buffer.offer(event(3, "GLUC3", false));
+		buffer.offer(event(4, "CHOL2", false));
+
+		int discarded = buffer.offer(event(5, "GLUC3", false));
+
+		assertEquals(1, discarded);
+		assertEquals(List.of(2L, 3L, 4L, 5L), ids(buffer.drain(NO_WAIT)));
+	}
+
+	@Test
+	@DisplayName("Should drop the oldest event when conflation frees nothing")
+	void offer_WhenOnlyViolationsPending_ShouldDropOldest() throws InterruptedException {
+		AnalyticsLiveBuffer buffer = new AnalyticsLiveBuffer(2);
+		buffer.offer(event(1, "GLUC3", true));
+		buffer.offer(event(2, "GLUC3", true));
+
+		assertEquals(1, buffer.offer(event(3, "GLUC3", true)));
+		assertEquals(List.of(2L, 3L), ids(buffer.drain(NO_WAIT)));
+	}
+
+	@Test
+	@DisplayName("Should return empty after the timeout so the reader can send a heartbeat")
+	void drain_WhenNothingArrives_ShouldReturnEmptyAfterTimeout() throws InterruptedException {
+		AnalyticsLiveBuffer buffer = new AnalyticsLiveBuffer(2);
+
+		assertTrue(buffer.drain(Duration.ofMillis(10)).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Should wake a waiting reader on offer and on close")
+	void drain_ShouldWakeOnOfferAndClose() throws Exception {
+		AnalyticsLiveBuffer buffer = new AnalyticsLiveBuffer(2);
+		CompletableFuture<List<AnalyticsLiveEventDTO>> first =
+				CompletableFuture.supplyAsync(() -> drainQuietly(buffer));
+		buffer.offer(event(1, "GLUC3", false));
+		assertEquals(List.of(1L), ids(first.get(5, TimeUnit.SECONDS)));
+
+		CompletableFuture<List<AnalyticsLiveEventDTO>> second =
+				CompletableFuture.supplyAsync(() -> drainQuietly(buffer));
+		buffer.close();
+		assertTrue(second.get(5, TimeUnit.SECONDS).isEmpty());
+		assertTrue(buffer.isClosed());
+		assertEquals(0, buffer.offer(event(2, "GLUC3", false)));
+	}
+
+	@Test
+	@DisplayName("Should reject a non-positive capacity")
+	void constructor_WithZeroCapacity_ShouldThrow() {
+		assertThrows(IllegalArgumentException.class, () -> new AnalyticsLiveBuffer(0));
+	}
+
+	private static List<AnalyticsLiveEventDTO> drainQuietly(AnalyticsLiveBuffer buffer) {
+		try {
+			return buffer.drain(Duration.ofSeconds(30));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return List.of();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.DescriptiveStatisticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.StatisticsAccumulator;
+
+class StatisticsAccumulatorTests {
+
+	private static final double TOLERANCE = 1e-9;
+
+	@Test
+	@DisplayName("Should compute population mean and standard deviation in a single pass")
+	void accept_WithValues_ShouldComputePopulationStatistics() {
+		StatisticsAccumulator accumulator = StatisticsAccumulator.of(2, 4, 4, 4, 5, 5, 7, 9);
+
+		assertEquals(8, accumulator.getCount());
+		assertEquals(5.0, accumulator.getMean(), TOLERANCE);
+		assertEquals(2.0, accumulator.getStandardDeviation(), TOLERANCE);
+		assertEquals(2.0, accumulator.getMin(), TOLERANCE);
+		assertEquals(9.0, accumulator.getMax(), TOLERANCE);
+		assertEquals(40.0, accumulator.getCoefficientOfVariation(), TOLERANCE);
+	}
+
+	@Test
+	@DisplayName("Should keep NaN mean and zero deviation for empty input")
+	void of_WithNoValues_ShouldReturnNaNMeanAndZeroDeviation() {
+		StatisticsAccumulator accumulator = StatisticsAccumulator.of();
+
+		assertEquals(0, accumulator.getCount());
+		assertTrue(Double.isNaN(accumulator.getMean()));
+		assertEquals(0.0, accumulator.getStandardDeviation());
+		assertTrue(Double.isNaN(accumulator.getCoefficientOfVariation()));
+	}
+
+	@Test
+	@DisplayName("Should produce the same result when merging partial accumulators")
+	void merge_WithPartialResults_ShouldMatchSequentialResult() {
+		double[] values = IntStream.range(0, 1000).mapToDouble(i -> 100.0 + Math.sin(i) * 5)
+				.toArray();
+		StatisticsAccumulator sequential = StatisticsAccumulator.of(values);
+
+		StatisticsAccumulator left = new StatisticsAccumulator();
+		StatisticsAccumulator right = new StatisticsAccumulator();
+		for (int i = 0; i < values.length; i++) {
+			(i < 337 ? left : right).accept(values[i]);
+		}
+		StatisticsAccumulator merged = left.merge(right).merge(new StatisticsAccumulator());
+
+		assertEquals(sequential.getCount(), merged.getCount());
+		assertEquals(sequential.getMean(), merged.getMean(), TOLERANCE);
+		assertEquals(sequential.getStandardDeviation(), merged.getStandardDeviation(),
+				TOLERANCE);
+		assertEquals(sequential.getMin(), merged.getMin(), TOLERANCE);
+		assertEquals(sequential.getMax(), merged.getMax(), TOLERANCE);
+	}
+
+	@Test
+	@DisplayName("Should summarize a parallel stream through the collector")
+	void summarizing_WithParallelStream_ShouldMatchSequentialResult() {
+		double[] values = DoubleStream.iterate(1.0, v -> v + 0.5).limit(10_000).toArray();
+
+		DescriptiveStatisticsDTO expected = StatisticsAccumulator.of(values)
+				.toDescriptiveStatistics();
+		DescriptiveStatisticsDTO actual = DoubleStream.of(values).boxed().parallel()
+				.collect(StatisticsAccumulator.summarizing(Double::doubleValue))
+				.toDescriptiveStatistics();
+
+		assertEquals(expected.count(), actual.count());
+		assertEquals(expected.mean(), actual.mean(), TOLERANCE);
+		assertEquals(expected.standardDeviation(), actual.standardDeviation(), TOLERANCE);
+	}
+
+	@Test
+	@DisplayName("Should rebuild an accumulator from stored count, mean and M2")
+	void fromMoments_WithStoredMoments_ShouldMatchSequentialResult() {
+		double[] values = {98.2, 101.5, 99.9, 100.4, 97.1, 102.8};
+		StatisticsAccumulator sequential = StatisticsAccumulator.of(values);
+
+		StatisticsAccumulator restored = StatisticsAccumulator.fromMoments(values.length,
+				sequential.getMean(), sequential.getSumOfSquaredDeviations(), 97.1, 102.8);
+
+		assertEquals(sequential.getCount(), restored.getCount());
+		assertEquals(sequential.getMean(), restored.getMean(), TOLERANCE);
+		assertEquals(sequential.getStandardDeviation(), restored.getStandardDeviation(),
+				TOLERANCE);
+		assertEquals(0, StatisticsAccumulator.fromMoments(0, 0, 0, 0, 0).getCount());
+	}
+
+	@Test
+	@DisplayName("Should stay numerically stable for values with a large offset")
+	void accept_WithLargeOffset_ShouldRemainStable() {
+		StatisticsAccumulator accumulator =
+				StatisticsAccumulator.of(1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16);
+
+		assertEquals(1e9 + 10, accumulator.getMean(), 1e-6);
+		assertEquals(Math.sqrt(22.5), accumulator.getStandardDeviation(), 1e-6);
+	}
+}
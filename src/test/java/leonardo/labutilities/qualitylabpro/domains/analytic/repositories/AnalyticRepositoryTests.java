@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -105,8 +106,7 @@ class AnalyticRepositoryTests {
 	@DisplayName("Should return paginated analytics when searching by name")
 	void testFindAllByName() {
 		PageRequest pageable = PageRequest.of(0, 10);
-		List<AnalyticsDTO> results = this.repository.findByTestName("ALB2", pageable).stream()
-				.map(AnalyticMapper::toRecord).toList();
+		List<AnalyticsDTO> results = this.repository.findByTestName("ALB2", pageable);
 		assertThat(results).isNotEmpty();
 		assertThat(results.getFirst().name()).isEqualTo("ALB2");
 	}
@@ -125,8 +125,7 @@ class AnalyticRepositoryTests {
 	void testFindAllByNameAndLevel() {
 		PageRequest pageable = PageRequest.of(0, 10);
 
-		List<AnalyticsDTO> results = this.repository.findByNameAndLevel(pageable, "ALB2", "PCCC1")
-				.stream().map(AnalyticMapper::toRecord).toList();
+		List<AnalyticsDTO> results = this.repository.findByNameAndLevel(pageable, "ALB2", "PCCC1");
 
 		assertThat(results).isNotEmpty();
 		assertThat(results.getFirst().name()).isEqualTo("ALB2");
@@ -151,8 +150,7 @@ class AnalyticRepositoryTests {
 		List<String> names = List.of("ALB2");
 		PageRequest pageable = PageRequest.of(0, 10);
 
-		List<AnalyticsDTO> results = this.repository.findByNameIn(names, pageable).stream()
-				.map(AnalyticMapper::toRecord).toList();
+		List<AnalyticsDTO> results = this.repository.findByNameIn(names, pageable);
 
 		assertThat(results).isNotEmpty();
 		assertThat(results.getFirst().name()).isEqualTo("ALB2");
@@ -165,20 +163,38 @@ class AnalyticRepositoryTests {
 
 		List<AnalyticsDTO> results = this.repository
 				.findByNameAndLevelAndDateBetween("ALB2", "PCCC1", this.testDate.minusDays(1),
-						this.testDate.plusDays(1), pageable)
-				.stream().map(AnalyticMapper::toRecord).toList();
+						this.testDate.plusDays(1), pageable);
 
 		assertThat(results).isNotEmpty();
 		assertThat(results.getFirst().name()).isEqualTo("ALB2");
 		assertThat(results.getFirst().level()).isEqualTo("PCCC1");
 	}
 
+	@Test
+	@DisplayName("Should page rows sharing a measurement date by id without repeating or skipping any")
+	void testFindAllByNameAndLevelAndDateBetweenWithTiedDates() {
+		for (int i = 0; i < 4; i++) {
+			Analytic analytic = AnalyticMapper.toEntity(createSampleRecord());
+			analytic.setId(null);
+			this.repository.saveAndFlush(analytic);
+		}
+		this.entityManager.clear();
+
+		List<AnalyticsDTO> firstPage = this.repository.findByNameAndLevelAndDateBetween("ALB2",
+				"PCCC1", this.testDate, this.testDate, PageRequest.of(0, 3));
+		List<AnalyticsDTO> secondPage = this.repository.findByNameAndLevelAndDateBetween("ALB2",
+				"PCCC1", this.testDate, this.testDate, PageRequest.of(1, 3));
+
+		List<Long> ids = Stream.concat(firstPage.stream(), secondPage.stream())
+				.map(AnalyticsDTO::id).toList();
+		assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+	}
+
 	@Test
 	@DisplayName("Should return all analytics when searching within date range")
 	void testFindAllByDateBetween() {
 		List<AnalyticsDTO> results = this.repository
-				.findByDateBetween(this.testDate.minusDays(1), this.testDate.plusDays(1)).stream()
-				.map(AnalyticMapper::toRecord).toList();
+				.findByDateBetween(this.testDate.minusDays(1), this.testDate.plusDays(1));
 		assertThat(results).isNotEmpty();
 	}
 
@@ -189,10 +205,36 @@ class AnalyticRepositoryTests {
 
 		List<AnalyticsDTO> results = this.repository
 				.findByNameAndDateBetweenGroupByLevel("ALB2", this.testDate.minusDays(1),
-						this.testDate.plusDays(1), pageable)
-				.stream().map(AnalyticMapper::toRecord).toList();
+						this.testDate.plusDays(1), pageable);
 
 		assertThat(results).isNotEmpty();
 		assertThat(results.getFirst().name()).isEqualTo("ALB2");
 	}
+
+	@Test
+	@DisplayName("Should aggregate count, mean and deviation per level in the database")
+	void testAggregateStatisticsByNameAndDateBetweenGroupByLevel() {
+		var results = this.repository.aggregateStatisticsByNameAndDateBetweenGroupByLevel("ALB2",
+				this.testDate.minusDays(1), this.testDate.plusDays(1));
+
+		assertThat(results).hasSize(1);
+		assertThat(results.getFirst().getLevel()).isEqualTo("PCCC1");
+		assertThat(results.getFirst().getCount()).isEqualTo(1L);
+		assertThat(results.getFirst().getStandardDeviation()).isZero();
+	}
+
+	@Test
+	@DisplayName("Should seek past the cursor without counting the result set")
+	void testFindByNameInAfterCursor() {
+		var firstSlice = this.repository.findByNameInAfterCursor(ANALYTICS_NAME_LIST,
+				this.testDate.plusYears(100), Long.MAX_VALUE, PageRequest.ofSize(10));
+
+		assertThat(firstSlice.getContent()).isNotEmpty();
+
+		AnalyticsDTO last = firstSlice.getContent().getLast();
+		var nextSlice = this.repository.findByNameInAfterCursor(ANALYTICS_NAME_LIST, last.date(),
+				last.id(), PageRequest.ofSize(10));
+
+		assertThat(nextSlice.getContent()).doesNotContain(last);
+	}
 }
@@ -11,12 +11,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,19 +29,40 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.AnalyticsKeyDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelStatisticsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.NameLevelMomentsProjection;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.requests.UpdateAnalyticsMeanDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestReportDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsIngestRowDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedValuesByLevelDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.MeanAndStdDeviationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.WestgardViolationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.AnalyticsIngestStatus;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+import leonardo.labutilities.qualitylabpro.domains.analytics.events.AnalyticsPersistedEvent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
 import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.users.enums.ExportFormat;
 
 @ExtendWith(MockitoExtension.class)
 class AnalyticHelperServiceTests {
@@ -48,9 +72,24 @@ class AnalyticHelperServiceTests {
 	@Mock
 	private AnalyticHelperService analyticHelperService;
 	@Mock
-	private EmailService emailService;
+	private AnalyticsAlertOutbox analyticsAlertOutbox;
 	@Mock
 	private RulesProviderComponent controlRulesValidators;
+	@Mock
+	private AnalyticsRollupService analyticsRollupService;
+	@Mock
+	private AnalyticsCacheInvalidator analyticsCacheInvalidator;
+	private final AnalyticsRequestCoalescer analyticsRequestCoalescer =
+			new AnalyticsRequestCoalescer(new SimpleMeterRegistry());
+
+	@Mock
+	private AnalyticsLiveFeed analyticsLiveFeed;
+
+	@Mock
+	private AnalyticsHotWindow analyticsHotWindow;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
 
 	public AnalyticHelperServiceTests() {
 		super();
@@ -60,14 +99,16 @@ class AnalyticHelperServiceTests {
 	void setUp() {
 		try (AutoCloseable closeable = MockitoAnnotations.openMocks(this)) {
 			this.analyticHelperService = new AnalyticHelperService(this.analyticsRepository,
-					this.emailService, this.controlRulesValidators) {
+					this.analyticsAlertOutbox, this.controlRulesValidators,
+					this.analyticsRollupService, this.analyticsCacheInvalidator,
+					this.analyticsRequestCoalescer, this.analyticsLiveFeed,
+					this.analyticsHotWindow, this.eventPublisher) {
 
 				@Override
 				public List<AnalyticsDTO> findAnalyticsByNameAndLevel(Pageable pageable,
 						String name, String level) {
 					return AnalyticHelperServiceTests.this.analyticsRepository
-							.findByNameAndLevel(pageable, name, level).stream()
-							.map(AnalyticMapper::toRecord).toList();
+							.findByNameAndLevel(pageable, name, level);
 				}
 
 				@Override
@@ -76,8 +117,7 @@ class AnalyticHelperServiceTests {
 						Pageable pageable) {
 					return AnalyticHelperServiceTests.this.analyticsRepository
 							.findByNameAndLevelAndDateBetween(name, level, dateStart, dateEnd,
-									PageRequest.of(0, 200))
-							.stream().map(AnalyticMapper::toRecord).toList();
+									PageRequest.of(0, 200));
 				}
 
 				@Override
@@ -106,6 +146,9 @@ class AnalyticHelperServiceTests {
 				mockDto.level(), mockDto.levelLot(), mockDto.mean());
 		verify(this.analyticsRepository).updateMeanByNameAndLevelAndLevelLot(mockDto.name(),
 				mockDto.level(), mockDto.levelLot(), mockDto.mean());
+		verify(this.analyticsRollupService).rebuildGroup(mockDto.name(), mockDto.level(),
+				mockDto.levelLot());
+		verify(this.analyticsCacheInvalidator).evictTest(mockDto.name());
 	}
 
 	@Test
@@ -128,27 +171,104 @@ class AnalyticHelperServiceTests {
 	@DisplayName("Should save records successfully when valid analytics data is provided")
 	void saveNewAnalyticsRecords_WithValidRecords_ShouldSaveSuccessfully() {
 		List<AnalyticsDTO> records = createSampleRecordList();
-		when(this.analyticsRepository.existsByMeasurementDateAndControlLevelAndTestName(any(),
-				any(), any())).thenReturn(false);
+		when(this.analyticsRepository.findKeysByNameInAndLevelInAndDateBetween(any(), any(),
+				any(), any())).thenReturn(List.of());
 		when(this.analyticsRepository.saveAll(any()))
 				.thenAnswer(invocation -> invocation.getArgument(0));
 
 		assertDoesNotThrow(() -> this.analyticHelperService.saveNewAnalyticsRecords(records));
 		verify(this.analyticsRepository, times(1)).saveAll(any());
+		verify(this.analyticsRollupService, times(1)).recordMeasurements(any());
+		verify(this.analyticsCacheInvalidator, times(1)).evictMeasurements(any());
+		verify(this.eventPublisher, times(1)).publishEvent(any(AnalyticsPersistedEvent.class));
+		verify(this.analyticsLiveFeed, never()).publish(any());
+		verify(this.analyticsHotWindow, never()).recordMeasurements(any());
 	}
 
 	@Test
 	@DisplayName("Should throw exception when trying to save duplicate analytics records")
 	void saveNewAnalyticsRecords_WithDuplicateRecords_ShouldThrowException() {
 		List<AnalyticsDTO> records = createSampleRecordList();
-		when(this.analyticsRepository.existsByMeasurementDateAndControlLevelAndTestName(any(),
-				any(), any())).thenReturn(true);
+		when(this.analyticsRepository.findKeysByNameInAndLevelInAndDateBetween(any(), any(),
+				any(), any()))
+						.thenReturn(records.stream().map(AnalyticsKeyDTO::of).toList());
 
 		assertThrows(CustomGlobalErrorHandling.DataIntegrityViolationException.class,
 				() -> this.analyticHelperService.saveNewAnalyticsRecords(records));
 		verify(this.analyticsRepository, never()).saveAll(any());
 	}
 
+	@Test
+	@DisplayName("Should report accepted and duplicate rows when ingesting a bulk batch")
+	void ingestAnalyticsRecords_WithExistingAndRepeatedRows_ShouldReportPerRow() {
+		List<AnalyticsDTO> records = new ArrayList<>(createSampleRecordList());
+		records.add(records.get(1));
+		when(this.analyticsRepository.findKeysByNameInAndLevelInAndDateBetween(any(), any(),
+				any(), any())).thenReturn(List.of(AnalyticsKeyDTO.of(records.get(0))));
+		when(this.analyticsRepository.saveAll(any()))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		AnalyticsIngestReportDTO report =
+				this.analyticHelperService.ingestAnalyticsRecords(records);
+
+		assertEquals(5, report.received());
+		assertEquals(3, report.accepted());
+		assertEquals(2, report.duplicates());
+		assertEquals(List.of(AnalyticsIngestStatus.DUPLICATE, AnalyticsIngestStatus.ACCEPTED,
+				AnalyticsIngestStatus.ACCEPTED, AnalyticsIngestStatus.ACCEPTED,
+				AnalyticsIngestStatus.DUPLICATE),
+				report.rows().stream().map(AnalyticsIngestRowDTO::status).toList());
+		verify(this.analyticsRepository, times(1)).findKeysByNameInAndLevelInAndDateBetween(any(),
+				any(), any(), any());
+		verify(this.analyticsRepository, never())
+				.existsByMeasurementDateAndControlLevelAndTestName(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Should treat rows differing only in name or level case as duplicates")
+	void ingestAnalyticsRecords_WithDifferentCase_ShouldReportDuplicates() {
+		AnalyticsDTO stored = createSampleRecord();
+		AnalyticsDTO sameKeyLowerCase = new AnalyticsDTO(null, stored.date(), stored.level_lot(),
+				stored.test_lot(), stored.name().toLowerCase(), stored.level().toLowerCase(),
+				stored.value(), stored.mean(), stored.sd(), stored.unit_value(), stored.rules(),
+				stored.description());
+		AnalyticsDTO sameKeyUpperCase = new AnalyticsDTO(null, stored.date(), stored.level_lot(),
+				stored.test_lot(), stored.name().toUpperCase(), stored.level().toUpperCase(),
+				stored.value(), stored.mean(), stored.sd(), stored.unit_value(), stored.rules(),
+				stored.description());
+		when(this.analyticsRepository.findKeysByNameInAndLevelInAndDateBetween(any(), any(),
+				any(), any())).thenReturn(List.of(AnalyticsKeyDTO.of(sameKeyUpperCase)));
+
+		AnalyticsIngestReportDTO report = this.analyticHelperService
+				.ingestAnalyticsRecords(List.of(sameKeyLowerCase, sameKeyUpperCase));
+
+		assertEquals(0, report.accepted());
+		assertEquals(2, report.duplicates());
+		verify(this.analyticsRepository, never()).saveAll(any());
+	}
+
+	@Test
+	@DisplayName("Should stream every row to the output and detach it from the persistence context")
+	void exportAnalyticsByNameInAndDateBetween_WithRows_ShouldStreamAndDetach() {
+		EntityManager entityManager = mock(EntityManager.class);
+		ReflectionTestUtils.setField(this.analyticHelperService, "entityManager", entityManager);
+		List<Analytic> analytics =
+				createSampleRecordList().stream().map(AnalyticMapper::toEntity).toList();
+		LocalDateTime startDate = LocalDateTime.of(2024, 12, 1, 0, 0);
+		LocalDateTime endDate = LocalDateTime.of(2024, 12, 31, 0, 0);
+		when(this.analyticsRepository.streamByNameInAndDateBetween(List.of("ALB2"), startDate,
+				endDate)).thenReturn(analytics.stream());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		long rows = this.analyticHelperService.exportAnalyticsByNameInAndDateBetween(
+				List.of("ALB2"), startDate, endDate, ExportFormat.CSV, outputStream);
+
+		assertEquals(analytics.size(), rows);
+		assertEquals(analytics.size() + 1,
+				outputStream.toString(StandardCharsets.UTF_8).split("\n").length);
+		verify(entityManager, times(analytics.size())).detach(any(Analytic.class));
+	}
+
 	@Test
 	@DisplayName("Should return record when searching by valid ID")
 	void findById_WithValidId_ShouldReturnRecord() {
@@ -181,9 +301,8 @@ class AnalyticHelperServiceTests {
 		String name = "Glucose";
 		String level = "Normal";
 		Pageable pageable = PageRequest.of(0, 10);
-		List<Analytic> expectedRecords = createSampleRecordList().stream()
-				.filter(r -> r.name().equals(name) && r.level().equals(level)).toList().stream()
-				.map(AnalyticMapper::toNewEntity).toList();
+		List<AnalyticsDTO> expectedRecords = createSampleRecordList().stream()
+				.filter(r -> r.name().equals(name) && r.level().equals(level)).toList();
 
 		when(this.analyticsRepository.findByNameAndLevel(pageable, name, level))
 				.thenReturn(expectedRecords);
@@ -202,8 +321,7 @@ class AnalyticHelperServiceTests {
 		String level = "Normal";
 		LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
 		LocalDateTime endDate = LocalDateTime.of(2024, 1, 2, 0, 0);
-		List<Analytic> expectedRecords =
-				createDateRangeRecords().stream().map(AnalyticMapper::toNewEntity).toList();
+		List<AnalyticsDTO> expectedRecords = createDateRangeRecords();
 
 		when(this.analyticsRepository.findByNameAndLevelAndDateBetween(eq(name), eq(level),
 				eq(startDate), eq(endDate), any(Pageable.class))).thenReturn(expectedRecords);
@@ -219,23 +337,29 @@ class AnalyticHelperServiceTests {
 	@DisplayName("Should delete analytics when valid ID is provided")
 	void deleteAnalyticsById_WithValidId_ShouldDelete() {
 		Long id = 1L;
-		when(this.analyticsRepository.existsById(id)).thenReturn(true);
-		doNothing().when(this.analyticsRepository).deleteById(id);
+		Analytic analytic = AnalyticMapper.toEntity(createSampleRecord());
+		when(this.analyticsRepository.findById(id)).thenReturn(Optional.of(analytic));
 
 		assertDoesNotThrow(() -> this.analyticHelperService.deleteAnalyticsById(id));
 
-		verify(this.analyticsRepository).deleteById(id);
+		verify(this.analyticsRepository).delete(analytic);
+		verify(this.analyticsRollupService).rebuildGroup(analytic.getTestName(),
+				analytic.getControlLevel(), analytic.getControlLevelLot());
+		verify(this.controlRulesValidators).invalidate(analytic.getTestName(),
+				analytic.getControlLevel(), analytic.getControlLevelLot());
+		verify(this.analyticsCacheInvalidator).evictMeasurement(analytic.getTestName(),
+				analytic.getMeasurementDate());
 	}
 
 	@Test
 	@DisplayName("Should throw exception when deleting analytics with invalid ID")
 	void deleteAnalyticsById_WithInvalidId_ShouldThrowException() {
 		Long id = 999L;
-		when(this.analyticsRepository.existsById(id)).thenReturn(false);
+		when(this.analyticsRepository.findById(id)).thenReturn(Optional.empty());
 
 		assertThrows(CustomGlobalErrorHandling.ResourceNotFoundException.class,
 				() -> this.analyticHelperService.deleteAnalyticsById(id));
-		verify(this.analyticsRepository, never()).deleteById(id);
+		verify(this.analyticsRepository, never()).delete(any());
 	}
 
 	@Test
@@ -302,8 +426,7 @@ class AnalyticHelperServiceTests {
 		String name = "Glucose";
 		LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
 		LocalDateTime endDate = LocalDateTime.of(2024, 1, 2, 0, 0);
-		List<Analytic> records =
-				createSampleRecordList().stream().map(AnalyticMapper::toNewEntity).toList();
+		List<AnalyticsDTO> records = createSampleRecordList();
 
 		when(this.analyticsRepository.findByNameAndDateBetweenGroupByLevel(eq(name), eq(startDate),
 				eq(endDate), any(Pageable.class))).thenReturn(records);
@@ -325,8 +448,7 @@ class AnalyticHelperServiceTests {
 		String level = "Normal";
 		LocalDateTime startDate = LocalDateTime.now().minusDays(7);
 		LocalDateTime endDate = LocalDateTime.now();
-		List<Analytic> analytics =
-				createSampleRecordList().stream().map(AnalyticMapper::toNewEntity).toList();
+		List<AnalyticsDTO> analytics = createSampleRecordList();
 
 		when(this.analyticsRepository.findByNameAndLevelAndDateBetween(eq(name), eq(level),
 				eq(startDate), eq(endDate), any(Pageable.class))).thenReturn(analytics);
@@ -342,33 +464,65 @@ class AnalyticHelperServiceTests {
 	}
 
 	@Test
-	@DisplayName("Should process failed records notification correctly")
+	@DisplayName("Should calculate count, min, max and CV with mean and standard deviation")
+	void calculateDescriptiveStatistics_WithValidData_ShouldReturnAllMoments() {
+		// Arrange
+		String name = "Glucose";
+		String level = "Normal";
+		LocalDateTime startDate = LocalDateTime.now().minusDays(7);
+		LocalDateTime endDate = LocalDateTime.now();
+		List<AnalyticsDTO> analytics = createSampleRecordList();
+
+		when(this.analyticsRepository.findByNameAndLevelAndDateBetween(eq(name), eq(level),
+				eq(startDate), eq(endDate), any(Pageable.class))).thenReturn(analytics);
+
+		// Act
+		var result = this.analyticHelperService.calculateDescriptiveStatistics(name, level,
+				startDate, endDate, Pageable.unpaged());
+		var meanAndStd = this.analyticHelperService.calcMeanAndStandardDeviationOptimized(analytics);
+
+		// Assert
+		assertEquals(analytics.size(), result.count());
+		assertEquals(meanAndStd.mean(), result.mean(), 1e-9);
+		assertEquals(meanAndStd.standardDeviation(), result.standardDeviation(), 1e-9);
+		assertTrue(result.min() <= result.mean() && result.mean() <= result.max());
+	}
+
+	@Test
+	@DisplayName("Should queue failed records with the violations evaluated at ingest")
 	void processFailedRecordsNotification_WithFailedRecords_ShouldSendNotification() {
 		// Arrange
-		List<AnalyticsDTO> failedRecords = createSampleRecordList();
-		when(this.controlRulesValidators.validateRules(any())).thenReturn("Validation Results");
-		doNothing().when(this.emailService).sendFailedAnalyticsNotification(any(), any());
+		List<Analytic> persistedRecords =
+				createSampleRecordList().stream().map(AnalyticMapper::toEntity).toList();
+		Analytic failed = persistedRecords.get(2);
+		var violations = List.of(new WestgardViolationDTO(failed.getTestName(),
+				failed.getControlLevel(), failed.getControlLevelLot(),
+				failed.getMeasurementDate(), WestgardRule.ONE_THREE_S));
+		when(this.controlRulesValidators.findViolations(persistedRecords, List.of(failed)))
+				.thenReturn(violations);
 
 		// Act
-		this.analyticHelperService.processFailedRecordsNotification(failedRecords);
+		this.analyticHelperService.processFailedRecordsNotification(persistedRecords);
 
 		// Assert
-		verify(this.emailService).sendFailedAnalyticsNotification(eq(failedRecords), any());
-		verify(this.controlRulesValidators).validateRules(failedRecords);
+		verify(this.analyticsAlertOutbox).enqueue(List.of(AnalyticMapper.toRecord(failed)),
+				violations);
 	}
 
 	@Test
-	@DisplayName("Should handle empty failed records list correctly")
+	@DisplayName("Should handle batches without failed records correctly")
 	void processFailedRecordsNotification_WithEmptyList_ShouldNotSendNotification() {
 		// Arrange
-		List<AnalyticsDTO> emptyList = List.of();
+		List<Analytic> passingRecords = createSampleRecordList().stream()
+				.filter(analytic -> !"Failed".equals(analytic.description()))
+				.map(AnalyticMapper::toEntity).toList();
 
 		// Act
-		this.analyticHelperService.processFailedRecordsNotification(emptyList);
+		this.analyticHelperService.processFailedRecordsNotification(passingRecords);
 
 		// Assert
-		verify(this.emailService, never()).sendFailedAnalyticsNotification(any(), any());
-		verify(this.controlRulesValidators, never()).validateRules(any());
+		verify(this.analyticsAlertOutbox, never()).enqueue(any(), any());
+		verify(this.controlRulesValidators, never()).findViolations(any(), any());
 	}
 
 	@Test
@@ -420,11 +574,13 @@ class AnalyticHelperServiceTests {
 		String name = "Glucose";
 		LocalDateTime startDate = LocalDateTime.now().minusDays(7);
 		LocalDateTime endDate = LocalDateTime.now();
-		List<Analytic> analytics =
-				createSampleRecordList().stream().map(AnalyticMapper::toNewEntity).toList();
+		LevelStatisticsProjection levelStats = mock(LevelStatisticsProjection.class);
+		when(levelStats.getLevel()).thenReturn("PCCC1");
+		when(levelStats.getMean()).thenReturn(3.45);
+		when(levelStats.getStandardDeviation()).thenReturn(0.2);
 
-		when(this.analyticsRepository.findByNameAndDateBetweenGroupByLevel(eq(name), eq(startDate),
-				eq(endDate), any(Pageable.class))).thenReturn(analytics);
+		when(this.analyticsRepository.aggregateStatisticsByNameAndDateBetweenGroupByLevel(name,
+				startDate, endDate)).thenReturn(List.of(levelStats));
 
 		// Act
 		var result = this.analyticHelperService.calculateGroupedMeanAndStandardDeviation(name,
@@ -438,6 +594,57 @@ class AnalyticHelperServiceTests {
 			assertTrue(group.values().get(0).mean() > 0);
 			assertTrue(group.values().get(0).standardDeviation() >= 0);
 		});
+		verify(this.analyticsRepository, never()).findByNameAndDateBetweenGroupByLevel(any(),
+				any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Should answer long-range grouped statistics from the daily rollups")
+	void calculateGroupedMeanAndStandardDeviation_WithLongRange_ShouldUseRollups() {
+		String name = "Glucose";
+		LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+		LocalDateTime endDate = LocalDateTime.of(2024, 12, 31, 23, 59);
+		var expected = List.of(new GroupedMeanAndStdByLevelDTO("PCCC1",
+				List.of(new MeanAndStdDeviationDTO(3.45, 0.2))));
+		when(this.analyticsRollupService.covers(startDate, endDate)).thenReturn(true);
+		when(this.analyticsRollupService.aggregateByLevel(name, startDate, endDate))
+				.thenReturn(expected);
+
+		var result = this.analyticHelperService.calculateGroupedMeanAndStandardDeviation(name,
+				startDate, endDate, Pageable.unpaged());
+
+		assertEquals(expected, result);
+		verify(this.analyticsRepository, never())
+				.aggregateStatisticsByNameAndDateBetweenGroupByLevel(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Should summarize every analyte of the discipline from one grouped query")
+	void calculateStatisticsByNameAndLevel_WithShortRange_ShouldUseOneGroupedQuery() {
+		List<String> names = List.of("GLUC3", "CHOL2");
+		LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+		LocalDateTime endDate = LocalDateTime.of(2024, 1, 7, 23, 59);
+		NameLevelMomentsProjection glucose = mock(NameLevelMomentsProjection.class);
+		when(glucose.getName()).thenReturn("GLUC3");
+		when(glucose.getLevel()).thenReturn("PCCC1");
+		when(glucose.getCount()).thenReturn(4L);
+		when(glucose.getValueMean()).thenReturn(2.0);
+		when(glucose.getValueM2()).thenReturn(4.0);
+		when(glucose.getValueMin()).thenReturn(1.0);
+		when(glucose.getValueMax()).thenReturn(3.0);
+		when(this.analyticsRepository.aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(
+				names, startDate, endDate)).thenReturn(List.of(glucose));
+
+		var result =
+				this.analyticHelperService.calculateStatisticsByNameAndLevel(names, startDate, endDate);
+
+		assertEquals(1, result.size());
+		assertEquals("GLUC3", result.get(0).name());
+		assertEquals("PCCC1", result.get(0).level());
+		assertEquals(4, result.get(0).statistics().count());
+		assertEquals(2.0, result.get(0).statistics().mean(), 1e-9);
+		assertEquals(1.0, result.get(0).statistics().standardDeviation(), 1e-9);
+		verify(this.analyticsRollupService, never()).aggregateByNameAndLevel(any(), any(), any());
 	}
 
 	@Test
@@ -446,8 +653,7 @@ class AnalyticHelperServiceTests {
 		// Arrange
 		LocalDateTime startDate = LocalDateTime.now().minusDays(7);
 		LocalDateTime endDate = LocalDateTime.now();
-		List<Analytic> expectedAnalytics =
-				createDateRangeRecords().stream().map(AnalyticMapper::toNewEntity).toList();
+		List<AnalyticsDTO> expectedAnalytics = createDateRangeRecords();
 
 		when(this.analyticsRepository.findByDateBetween(startDate, endDate))
 				.thenReturn(expectedAnalytics);
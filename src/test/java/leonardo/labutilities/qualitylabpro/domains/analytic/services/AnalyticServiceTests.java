@@ -13,19 +13,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.constants.AvailableAnalyticsNames;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
-import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticHelperService;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
-import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 
 @ExtendWith(MockitoExtension.class)
 class AnalyticServiceTests {
@@ -33,11 +38,29 @@ class AnalyticServiceTests {
         private AnalyticsRepository analyticsRepository;
 
         @Mock
-        private EmailService emailService;
+        private AnalyticsAlertOutbox analyticsAlertOutbox;
 
         @Mock
         private RulesProviderComponent controlRulesValidators;
 
+        @Mock
+        private AnalyticsRollupService analyticsRollupService;
+
+        @Mock
+        private AnalyticsCacheInvalidator analyticsCacheInvalidator;
+
+        private final AnalyticsRequestCoalescer analyticsRequestCoalescer =
+                        new AnalyticsRequestCoalescer(new SimpleMeterRegistry());
+
+        @Mock
+        private AnalyticsLiveFeed analyticsLiveFeed;
+
+        @Mock
+        private AnalyticsHotWindow analyticsHotWindow;
+
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
         private AnalyticHelperService analyticHelperService;
 
         private Pageable pageable;
@@ -47,7 +70,10 @@ class AnalyticServiceTests {
         @BeforeEach
         void setUp() {
                 this.analyticHelperService = new AnalyticHelperService(this.analyticsRepository,
-                                this.emailService, this.controlRulesValidators);
+                                this.analyticsAlertOutbox, this.controlRulesValidators,
+                                this.analyticsRollupService, this.analyticsCacheInvalidator,
+                                this.analyticsRequestCoalescer, this.analyticsLiveFeed,
+                                this.analyticsHotWindow, this.eventPublisher);
                 this.pageable = PageRequest.of(0, 10);
                 this.startDate = LocalDateTime.now().minusDays(7);
                 this.endDate = LocalDateTime.now();
@@ -73,8 +99,7 @@ class AnalyticServiceTests {
         @Test
         void findAnalyticsByNameAndLevel_ShouldReturnAnalyticsList() {
                 String name = "ALB2";
-                List<Analytic> analytics = createSampleRecordList().stream()
-                                .map(AnalyticMapper::toEntity).toList();
+                List<AnalyticsDTO> analytics = createSampleRecordList();
 
                 when(this.analyticsRepository.existsByTestName(name)).thenReturn(true);
 
@@ -93,8 +118,7 @@ class AnalyticServiceTests {
         @Test
         void findAnalyticsByNameAndLevelAndDate_ShouldReturnAnalyticsList() {
                 String name = "test";
-                List<Analytic> analytics = createSampleRecordList().stream()
-                                .map(AnalyticMapper::toEntity).toList();
+                List<AnalyticsDTO> analytics = createSampleRecordList();
 
                 when(this.analyticsRepository.findByNameAndLevelAndDateBetween(any(), any(), any(),
                                 any(), any())).thenReturn(analytics);
@@ -115,8 +139,7 @@ class AnalyticServiceTests {
         void findAnalyticsByNameLevelDate_ShouldReturnAnalyticsWithCalcDTO() {
                 // Arrange
                 String name = "ALB2";
-                List<Analytic> mockAnalytics = createSampleRecordList().stream()
-                                .map(AnalyticMapper::toEntity).toList();
+                List<AnalyticsDTO> mockAnalytics = createSampleRecordList();
 
                 // Mock repository behavior
                 when(this.analyticsRepository.findByNameAndLevelAndDateBetween(name, "PCCC1",
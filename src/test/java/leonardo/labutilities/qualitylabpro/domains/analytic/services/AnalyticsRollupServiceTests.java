@@ -0,0 +1,354 @@
+package leonardo.labutilities.qualitylabpro.domains.analytic.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.LevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.projections.NameLevelMomentsProjection;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyteStatisticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.GroupedMeanAndStdByLevelDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.ControlClassification;
+import leonardo.labutilities.qualitylabpro.domains.analytics.helpers.StatisticsAccumulator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRollupRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceTests {
+
+	private static final double TOLERANCE = 1e-9;
+	private static final String NAME = "GLUC3";
+	private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Mock
+	private AnalyticsRollupRepository rollupRepository;
+
+	@Mock
+	private AnalyticsRepository analyticsRepository;
+
+	private AnalyticsRollupService analyticsRollupService;
+
+	@BeforeEach
+	void setUp() {
+		this.analyticsRollupService =
+				new AnalyticsRollupService(this.rollupRepository, this.analyticsRepository);
+		ReflectionTestUtils.setField(this.analyticsRollupService, "minRange",
+				Duration.ofDays(31));
+	}
+
+	private static List<Analytic> rawHistory(int days) {
+		return rawHistory(days, 98.0, 251.0, 3.1);
+	}
+
+	private static List<Analytic> rawHistory(int days, double lowMean, double highMean,
+			double standardDeviation) {
+		SplittableRandom random = new SplittableRandom(7);
+		List<Analytic> rows = new ArrayList<>();
+		for (int day = 0; day < days; day++) {
+			for (int run = 0; run < 6; run++) {
+				String level = run % 2 == 0 ? "PCCC1" : "PCCC2";
+				double mean = "PCCC1".equals(level) ? lowMean : highMean;
+				double value = mean + random.nextGaussian() * standardDeviation;
+				Analytic analytic = new Analytic();
+				analytic.setTestName(NAME);
+				analytic.setControlLevel(level);
+				analytic.setControlLevelLot(day < days / 2 ? "LOT-A" : "LOT-B");
+				analytic.setMeasurementDate(FIRST_DAY.plusDays(day).plusHours(run * 4L));
+				analytic.setMeasurementValue(value);
+				analytic.setControlRules(ControlClassification
+						.classify(value, mean, standardDeviation).getRules());
+				rows.add(analytic);
+			}
+		}
+		return rows;
+	}
+
+	// Plays AVG and VAR_POP * COUNT over the raw rows of each level
+	private static List<LevelMomentsProjection> rawMoments(List<Analytic> rows,
+			Predicate<LocalDateTime> inRange) {
+		Map<String, StatisticsAccumulator> byLevel = new TreeMap<>();
+		rows.stream().filter(row -> inRange.test(row.getMeasurementDate()))
+				.forEach(row -> byLevel.computeIfAbsent(row.getControlLevel(),
+						level -> new StatisticsAccumulator()).accept(row.getMeasurementValue()));
+		List<LevelMomentsProjection> moments = new ArrayList<>();
+		byLevel.forEach((level, values) -> moments.add(Moments.of(level, values)));
+		return moments;
+	}
+
+	// Feeds rows through recordMeasurements into a stand-in rollup table, then aggregates a
+	// range whose first and last days are partial
+	private List<GroupedMeanAndStdByLevelDTO> aggregateThroughRollups(List<Analytic> rows,
+			LocalDateTime startDate, LocalDateTime endDate) {
+		// Plays the rollup table: merges the deltas with Chan's update as the upsert does
+		Map<LocalDate, Map<String, StatisticsAccumulator>> stored = new TreeMap<>();
+		doAnswer(invocation -> {
+			StatisticsAccumulator delta = StatisticsAccumulator.fromMoments(
+					invocation.getArgument(4), invocation.getArgument(5),
+					invocation.getArgument(6), invocation.getArgument(7),
+					invocation.getArgument(8));
+			stored.computeIfAbsent(invocation.getArgument(3), day -> new TreeMap<>())
+					.merge(invocation.getArgument(1), delta, StatisticsAccumulator::merge);
+			return null;
+		}).when(this.rollupRepository).accumulate(any(), any(), any(), any(), anyLong(),
+				anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyLong(), anyLong());
+		this.analyticsRollupService.recordMeasurements(rows);
+
+		LocalDateTime firstFullDay = startDate.toLocalDate().plusDays(1).atStartOfDay();
+		LocalDateTime lastDay = endDate.toLocalDate().atStartOfDay();
+		when(this.analyticsRepository.aggregateMomentsByNameAndDateRangeGroupByLevel(NAME,
+				startDate, firstFullDay)).thenReturn(rawMoments(rows,
+						date -> !date.isBefore(startDate) && date.isBefore(firstFullDay)));
+		when(this.rollupRepository.aggregateByNameAndDayBetweenGroupByLevel(NAME,
+				firstFullDay.toLocalDate(), lastDay.toLocalDate().minusDays(1)))
+						.thenAnswer(invocation -> {
+							LocalDate from = invocation.getArgument(1);
+							LocalDate to = invocation.getArgument(2);
+							List<LevelMomentsProjection> moments = new ArrayList<>();
+							stored.forEach((day, levels) -> {
+								if (!day.isBefore(from) && !day.isAfter(to)) {
+									levels.forEach((level, values) -> moments
+											.add(Moments.of(level, values)));
+								}
+							});
+							return moments;
+						});
+		when(this.analyticsRepository.aggregateMomentsByNameAndDateBetweenGroupByLevel(NAME,
+				lastDay, endDate)).thenReturn(rawMoments(rows,
+						date -> !date.isBefore(lastDay) && !date.isAfter(endDate)));
+
+		return this.analyticsRollupService.aggregateByLevel(NAME, startDate, endDate);
+	}
+
+	private static void assertMatchesRaw(List<Analytic> rows, LocalDateTime startDate,
+			LocalDateTime endDate, List<GroupedMeanAndStdByLevelDTO> result,
+			double relativeTolerance) {
+		assertEquals(List.of("PCCC1", "PCCC2"),
+				result.stream().map(GroupedMeanAndStdByLevelDTO::level).toList());
+		for (GroupedMeanAndStdByLevelDTO group : result) {
+			StatisticsAccumulator expected = rows.stream()
+					.filter(row -> row.getControlLevel().equals(group.level()))
+					.filter(row -> !row.getMeasurementDate().isBefore(startDate)
+							&& !row.getMeasurementDate().isAfter(endDate))
+					.collect(StatisticsAccumulator.summarizing(Analytic::getMeasurementValue));
+			assertEquals(expected.getMean(), group.values().get(0).mean(),
+					Math.abs(expected.getMean()) * relativeTolerance);
+			assertEquals(expected.getStandardDeviation(),
+					group.values().get(0).standardDeviation(),
+					expected.getStandardDeviation() * relativeTolerance);
+		}
+	}
+
+	@Test
+	@DisplayName("Should only use rollups for ranges at least as long as the configured minimum")
+	void covers_ShouldCompareRangeWithMinimum() {
+		assertTrue(this.analyticsRollupService.covers(FIRST_DAY, FIRST_DAY.plusDays(31)));
+		assertFalse(this.analyticsRollupService.covers(FIRST_DAY, FIRST_DAY.plusDays(30)));
+	}
+
+	@Test
+	@DisplayName("Should accumulate one delta per test, level, lot and day")
+	void recordMeasurements_ShouldAccumulateOneDeltaPerDailyGroup() {
+		List<Analytic> rows = rawHistory(2);
+
+		this.analyticsRollupService.recordMeasurements(rows);
+
+		// 2 days x 2 levels, three runs each; the lot switches on the second day
+		verify(this.rollupRepository, times(2)).accumulate(eq(NAME), anyString(), eq("LOT-A"),
+				eq(FIRST_DAY.toLocalDate()), eq(3L), anyDouble(), anyDouble(), anyDouble(),
+				anyDouble(), anyLong(), anyLong());
+		verify(this.rollupRepository, times(2)).accumulate(eq(NAME), anyString(), eq("LOT-B"),
+				eq(FIRST_DAY.toLocalDate().plusDays(1)), eq(3L), anyDouble(), anyDouble(),
+				anyDouble(), anyDouble(), anyLong(), anyLong());
+	}
+
+	@Test
+	@DisplayName("Should count +/-2s as warnings and +/-3s as rejections")
+	void recordMeasurements_ShouldCountRuleViolations() {
+		Analytic warning = rawHistory(1).get(0);
+		warning.setControlRules("+2s");
+		Analytic rejection = rawHistory(1).get(2);
+		rejection.setControlRules("-3s");
+
+		this.analyticsRollupService.recordMeasurements(List.of(warning, rejection));
+
+		verify(this.rollupRepository).accumulate(eq(NAME), eq("PCCC1"), eq("LOT-B"),
+				eq(FIRST_DAY.toLocalDate()), eq(2L), anyDouble(), anyDouble(), anyDouble(),
+				anyDouble(), eq(1L), eq(1L));
+	}
+
+	@Test
+	@DisplayName("Should match the raw computation when combining rollups with partial edge days")
+	void aggregateByLevel_WithPartialEdgeDays_ShouldMatchRawStatistics() {
+		List<Analytic> rows = rawHistory(120);
+		LocalDateTime startDate = FIRST_DAY.plusDays(3).plusHours(9);
+		LocalDateTime endDate = FIRST_DAY.plusDays(100).plusHours(13);
+
+		assertMatchesRaw(rows, startDate, endDate,
+				this.aggregateThroughRollups(rows, startDate, endDate), TOLERANCE);
+	}
+
+	@Test
+	@DisplayName("Should match the raw computation for high-mean, low-SD controls")
+	void aggregateByLevel_WithHighMeanLowSpread_ShouldMatchRawStatistics() {
+		// Sums of squares near 1e14 lose every digit of a variance around 4e-6
+		List<Analytic> rows = rawHistory(120, 8.5e6, 9.1e6, 0.002);
+		LocalDateTime startDate = FIRST_DAY.plusDays(3).plusHours(9);
+		LocalDateTime endDate = FIRST_DAY.plusDays(100).plusHours(13);
+
+		assertMatchesRaw(rows, startDate, endDate,
+				this.aggregateThroughRollups(rows, startDate, endDate), 1e-6);
+	}
+
+	@Test
+	@DisplayName("Should skip the leading raw query when the range starts at midnight")
+	void aggregateByLevel_WithMidnightStart_ShouldSkipLeadingEdge() {
+		LocalDateTime startDate = FIRST_DAY;
+		LocalDateTime endDate = FIRST_DAY.plusDays(40);
+
+		this.analyticsRollupService.aggregateByLevel(NAME, startDate, endDate);
+
+		verify(this.analyticsRepository, never())
+				.aggregateMomentsByNameAndDateRangeGroupByLevel(any(), any(), any());
+		verify(this.rollupRepository).aggregateByNameAndDayBetweenGroupByLevel(NAME,
+				startDate.toLocalDate(), endDate.toLocalDate().minusDays(1));
+		verify(this.analyticsRepository).aggregateMomentsByNameAndDateBetweenGroupByLevel(NAME,
+				endDate, endDate);
+	}
+
+	private static NameLevelMomentsProjection named(String name, String level, double... values) {
+		NameLevelMomentsProjection moments = mock(NameLevelMomentsProjection.class);
+		when(moments.getName()).thenReturn(name);
+		when(moments.getLevel()).thenReturn(level);
+		when(moments.getCount()).thenReturn((long) values.length);
+		when(moments.getValueMean()).thenReturn(StatisticsAccumulator.of(values).getMean());
+		when(moments.getValueM2())
+				.thenReturn(StatisticsAccumulator.of(values).getSumOfSquaredDeviations());
+		when(moments.getValueMin()).thenReturn(Arrays.stream(values).min().orElseThrow());
+		when(moments.getValueMax()).thenReturn(Arrays.stream(values).max().orElseThrow());
+		return moments;
+	}
+
+	@Test
+	@DisplayName("Should merge rollups and edge days per analyte and level")
+	void aggregateByNameAndLevel_ShouldMergePartialsPerAnalyteAndLevel() {
+		List<String> names = List.of(NAME, "CHOL2");
+		LocalDateTime startDate = FIRST_DAY;
+		LocalDateTime endDate = FIRST_DAY.plusDays(40).plusHours(12);
+		List<NameLevelMomentsProjection> rollups =
+				List.of(named(NAME, "PCCC1", 1.0, 3.0), named("CHOL2", "", 5.0));
+		List<NameLevelMomentsProjection> trailingEdge = List.of(named(NAME, "PCCC1", 5.0));
+		when(this.rollupRepository.aggregateByNameInAndDayBetweenGroupByNameAndLevel(names,
+				FIRST_DAY.toLocalDate(), FIRST_DAY.plusDays(39).toLocalDate())).thenReturn(rollups);
+		when(this.analyticsRepository.aggregateMomentsByNameInAndDateBetweenGroupByNameAndLevel(
+				names, FIRST_DAY.plusDays(40), endDate)).thenReturn(trailingEdge);
+
+		List<AnalyteStatisticsDTO> result =
+				this.analyticsRollupService.aggregateByNameAndLevel(names, startDate, endDate);
+
+		assertEquals(List.of("CHOL2", NAME),
+				result.stream().map(AnalyteStatisticsDTO::name).toList());
+		assertNull(result.get(0).level());
+		AnalyteStatisticsDTO glucose = result.get(1);
+		assertEquals("PCCC1", glucose.level());
+		assertEquals(3, glucose.statistics().count());
+		assertEquals(3.0, glucose.statistics().mean(), TOLERANCE);
+		assertEquals(StatisticsAccumulator.of(1.0, 3.0, 5.0).getStandardDeviation(),
+				glucose.statistics().standardDeviation(), TOLERANCE);
+		assertEquals(1.0, glucose.statistics().min(), TOLERANCE);
+		assertEquals(5.0, glucose.statistics().max(), TOLERANCE);
+		verify(this.analyticsRepository, never())
+				.aggregateMomentsByNameInAndDateRangeGroupByNameAndLevel(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Should rebuild whole days from raw rows")
+	void rebuildDays_ShouldDeleteThenRebuildHalfOpenRange() {
+		LocalDate startDay = LocalDate.of(2024, 1, 1);
+		LocalDate endDay = LocalDate.of(2024, 1, 31);
+		when(this.rollupRepository.rebuildDateRange(startDay.atStartOfDay(),
+				endDay.plusDays(1).atStartOfDay())).thenReturn(62);
+
+		assertEquals(62, this.analyticsRollupService.rebuildDays(startDay, endDay));
+		verify(this.rollupRepository).deleteDaysBetween(startDay, endDay);
+	}
+
+	private record Moments(String level, long count, double valueMean, double valueM2,
+			double valueMin, double valueMax, long warningCount, long rejectionCount)
+			implements LevelMomentsProjection {
+
+		static Moments of(String level, StatisticsAccumulator values) {
+			return new Moments(level, values.getCount(), values.getMean(),
+					values.getSumOfSquaredDeviations(), values.getMin(), values.getMax(), 0, 0);
+		}
+
+		@Override
+		public String getLevel() {
+			return this.level;
+		}
+
+		@Override
+		public long getCount() {
+			return this.count;
+		}
+
+		@Override
+		public double getValueMean() {
+			return this.valueMean;
+		}
+
+		@Override
+		public double getValueM2() {
+			return this.valueM2;
+		}
+
+		@Override
+		public double getValueMin() {
+			return this.valueMin;
+		}
+
+		@Override
+		public double getValueMax() {
+			return this.valueMax;
+		}
+
+		@Override
+		public long getWarningCount() {
+			return this.warningCount;
+		}
+
+		@Override
+		public long getRejectionCount() {
+			return this.rejectionCount;
+		}
+	}
+}
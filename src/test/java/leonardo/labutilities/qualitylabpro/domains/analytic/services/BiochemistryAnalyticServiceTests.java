@@ -6,10 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.BiochemistryAnalyticService;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,16 +26,37 @@ class BiochemistryAnalyticServiceTests extends AnalyticServiceTests {
 	private AnalyticsRepository analyticsRepository;
 
 	@Mock
-	private EmailService emailService;
+	private AnalyticsAlertOutbox analyticsAlertOutbox;
 
 	@Mock
 	private RulesProviderComponent controlRulesValidators;
 
+	@Mock
+	private AnalyticsRollupService analyticsRollupService;
+
+	@Mock
+	private AnalyticsCacheInvalidator analyticsCacheInvalidator;
+
+	private final AnalyticsRequestCoalescer analyticsRequestCoalescer =
+			new AnalyticsRequestCoalescer(new SimpleMeterRegistry());
+
+	@Mock
+	private AnalyticsLiveFeed analyticsLiveFeed;
+
+	@Mock
+	private AnalyticsHotWindow analyticsHotWindow;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	private BiochemistryAnalyticService biochemistryAnalyticService;
 
 	BiochemistryAnalyticServiceTests() {
 		this.biochemistryAnalyticService = new BiochemistryAnalyticService(this.analyticsRepository,
-				this.emailService, this.controlRulesValidators);
+				this.analyticsAlertOutbox, this.controlRulesValidators,
+				this.analyticsRollupService, this.analyticsCacheInvalidator,
+				this.analyticsRequestCoalescer, this.analyticsLiveFeed,
+				this.analyticsHotWindow, this.eventPublisher);
 	}
 
 	@Override
@@ -13,20 +13,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsCacheInvalidator;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsHotWindow;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsLiveFeed;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.AnalyticsRequestCoalescer;
 import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
 import leonardo.labutilities.qualitylabpro.domains.analytics.constants.AvailableAnalyticsNames;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
 import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsWithCalcDTO;
-import leonardo.labutilities.qualitylabpro.domains.analytics.models.Analytic;
 import leonardo.labutilities.qualitylabpro.domains.analytics.repositories.AnalyticsRepository;
+import leonardo.labutilities.qualitylabpro.domains.analytics.services.AnalyticsRollupService;
 import leonardo.labutilities.qualitylabpro.domains.analytics.services.HematologyAnalyticService;
-import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.outbox.AnalyticsAlertOutbox;
 import leonardo.labutilities.qualitylabpro.domains.shared.exception.CustomGlobalErrorHandling;
-import leonardo.labutilities.qualitylabpro.domains.shared.mappers.AnalyticMapper;
 
 @ExtendWith(MockitoExtension.class)
 class HematologyAnalyticServiceTests {
@@ -34,10 +39,28 @@ class HematologyAnalyticServiceTests {
 	@Mock
 	private AnalyticsRepository analyticsRepository;
 	@Mock
-	private EmailService emailService;
+	private AnalyticsAlertOutbox analyticsAlertOutbox;
 	@Mock
 	private RulesProviderComponent controlRulesValidators;
 
+	@Mock
+	private AnalyticsRollupService analyticsRollupService;
+
+	@Mock
+	private AnalyticsCacheInvalidator analyticsCacheInvalidator;
+
+	private final AnalyticsRequestCoalescer analyticsRequestCoalescer =
+			new AnalyticsRequestCoalescer(new SimpleMeterRegistry());
+
+	@Mock
+	private AnalyticsLiveFeed analyticsLiveFeed;
+
+	@Mock
+	private AnalyticsHotWindow analyticsHotWindow;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	private HematologyAnalyticService hematologyAnalyticService;
 	private Pageable pageable;
 	private LocalDateTime startDate;
@@ -46,7 +69,10 @@ class HematologyAnalyticServiceTests {
 	@BeforeEach
 	void setUp() {
 		this.hematologyAnalyticService = new HematologyAnalyticService(this.analyticsRepository,
-				this.emailService, this.controlRulesValidators);
+				this.analyticsAlertOutbox, this.controlRulesValidators,
+				this.analyticsRollupService, this.analyticsCacheInvalidator,
+				this.analyticsRequestCoalescer, this.analyticsLiveFeed,
+				this.analyticsHotWindow, this.eventPublisher);
 		this.pageable = PageRequest.of(0, 10);
 		this.startDate = LocalDateTime.now().minusDays(7);
 		this.endDate = LocalDateTime.now();
@@ -71,8 +97,7 @@ class HematologyAnalyticServiceTests {
 	@Test
 	void findAnalyticsByNameAndLevel_ShouldReturnAnalyticsList() {
 		String name = "WBC";
-		List<Analytic> analytics =
-				createSampleRecordList().stream().map(AnalyticMapper::toEntity).toList();
+		List<AnalyticsDTO> analytics = createSampleRecordList();
 
 		when(this.analyticsRepository.existsByTestName(name)).thenReturn(true);
 		when(this.analyticsRepository.findByNameAndLevel(any(), any(), any()))
@@ -89,8 +114,7 @@ class HematologyAnalyticServiceTests {
 	@Test
 	void findAnalyticsByNameAndLevelAndDate_ShouldReturnAnalyticsList() {
 		String name = "HGB";
-		List<Analytic> analytics =
-				createSampleRecordList().stream().map(AnalyticMapper::toEntity).toList();
+		List<AnalyticsDTO> analytics = createSampleRecordList();
 
 		when(this.analyticsRepository.findByNameAndLevelAndDateBetween(any(), any(), any(), any(),
 				any())).thenReturn(analytics);
@@ -107,8 +131,7 @@ class HematologyAnalyticServiceTests {
 	@Test
 	void findAnalyticsByNameLevelDate_ShouldReturnAnalyticsWithCalcDTO() {
 		String name = "PLT";
-		List<Analytic> mockAnalytics =
-				createSampleRecordList().stream().map(AnalyticMapper::toEntity).toList();
+		List<AnalyticsDTO> mockAnalytics = createSampleRecordList();
 
 		when(this.analyticsRepository.findByNameAndLevelAndDateBetween(name, "normal",
 				this.startDate, this.endDate, this.pageable)).thenReturn(mockAnalytics);
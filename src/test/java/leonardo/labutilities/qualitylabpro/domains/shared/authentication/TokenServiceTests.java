@@ -83,4 +83,26 @@ class TokenServiceTests {
 			this.tokenService.getSubject(expiredToken);
 		});
 	}
+
+	@Test
+	void getSubject_SameTokenTwice_ReturnsCachedSubject() {
+		User user = new User();
+		user.setUsername("testuser");
+		var token = this.tokenService.generateToken(user).tokenJWT();
+
+		assertEquals("testuser", this.tokenService.getSubject(token));
+		assertEquals("testuser", this.tokenService.getSubject(token));
+	}
+
+	@Test
+	void getSubject_TamperedTokenAfterValidOne_ThrowsJWTVerificationException() {
+		User user = new User();
+		user.setUsername("testuser");
+		var token = this.tokenService.generateToken(user).tokenJWT();
+		this.tokenService.getSubject(token);
+
+		String tampered = token.substring(0, token.length() - 2) + "xx";
+
+		assertThrows(JWTVerificationException.class, () -> this.tokenService.getSubject(tampered));
+	}
 }
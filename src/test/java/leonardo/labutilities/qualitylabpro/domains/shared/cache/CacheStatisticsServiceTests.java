@@ -0,0 +1,62 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageImpl;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import leonardo.labutilities.qualitylabpro.configs.cache.AnalyticsCacheWeigher;
+import leonardo.labutilities.qualitylabpro.domains.shared.cache.dtos.responses.CacheStatisticsDTO;
+
+class CacheStatisticsServiceTests {
+
+	private CaffeineCacheManager cacheManager;
+	private CacheStatisticsService cacheStatisticsService;
+
+	@BeforeEach
+	void setUp() {
+		this.cacheManager = new CaffeineCacheManager();
+		this.cacheManager.registerCustomCache("rows", Caffeine.newBuilder().maximumWeight(1_000)
+				.weigher(new AnalyticsCacheWeigher()).recordStats().build());
+		this.cacheManager.registerCustomCache("entries",
+				Caffeine.newBuilder().maximumSize(50).recordStats().build());
+		this.cacheStatisticsService = new CacheStatisticsService(this.cacheManager);
+	}
+
+	@Test
+	@DisplayName("Should report hit ratio, rows and estimated memory per cache")
+	void describeCaches_ShouldReportPerCacheStatistics() {
+		var rows = this.cacheManager.getCache("rows");
+		rows.put("page", new PageImpl<>(List.of("a", "b", "c")));
+		rows.put("list", List.of("d", "e"));
+		rows.get("page");
+		rows.get("page");
+		rows.get("missing");
+
+		List<CacheStatisticsDTO> statistics = this.cacheStatisticsService.describeCaches();
+
+		assertEquals(List.of("entries", "rows"),
+				statistics.stream().map(CacheStatisticsDTO::name).toList());
+		CacheStatisticsDTO rowStatistics = statistics.get(1);
+		assertEquals(2, rowStatistics.entries());
+		assertEquals(5, rowStatistics.rows());
+		assertEquals(1_000, rowStatistics.maximum());
+		assertTrue(rowStatistics.weighted());
+		assertEquals(2, rowStatistics.hitCount());
+		assertEquals(1, rowStatistics.missCount());
+		assertEquals(2.0 / 3, rowStatistics.hitRatio(), 1e-9);
+		assertEquals(5 * CacheStatisticsService.ESTIMATED_BYTES_PER_ROW
+				+ 2 * CacheStatisticsService.ESTIMATED_BYTES_PER_ENTRY,
+				rowStatistics.estimatedBytes());
+
+		CacheStatisticsDTO entryStatistics = statistics.get(0);
+		assertEquals(50, entryStatistics.maximum());
+		assertFalse(entryStatistics.weighted());
+		assertEquals(0, entryStatistics.rows());
+	}
+}
@@ -0,0 +1,207 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import leonardo.labutilities.qualitylabpro.domains.analytics.components.RulesProviderComponent;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.WestgardViolationDTO;
+import leonardo.labutilities.qualitylabpro.domains.analytics.enums.WestgardRule;
+import leonardo.labutilities.qualitylabpro.domains.shared.email.EmailService;
+
+class AnalyticsAlertOutboxTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private static final String RECIPIENTS = "qc@lab.test";
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private AlertOutboxRepository alertOutboxRepository;
+	private RulesProviderComponent controlRulesValidators;
+
+	@BeforeEach
+	void setUp() {
+		this.alertOutboxRepository = mock(AlertOutboxRepository.class);
+		this.controlRulesValidators = mock(RulesProviderComponent.class);
+		when(this.controlRulesValidators.renderViolations(anyList())).thenReturn("");
+	}
+
+	private AnalyticsAlertOutbox outbox(int smtpPort) {
+		var sender = new JavaMailSenderImpl();
+		sender.setHost("localhost");
+		sender.setPort(smtpPort);
+		var emailService = new EmailService(sender);
+		ReflectionTestUtils.setField(emailService, "emailFrom", "labgraph@lab.test");
+
+		var outbox = new AnalyticsAlertOutbox(this.alertOutboxRepository, emailService,
+				this.controlRulesValidators, this.objectMapper);
+		ReflectionTestUtils.setField(outbox, "recipients", RECIPIENTS);
+		ReflectionTestUtils.setField(outbox, "coalesceWindow", Duration.ofMinutes(2));
+		ReflectionTestUtils.setField(outbox, "initialBackoff", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(outbox, "maxBackoff", Duration.ofMinutes(30));
+		ReflectionTestUtils.setField(outbox, "maxAttempts", 3);
+		ReflectionTestUtils.setField(outbox, "batchSize", 500);
+		ReflectionTestUtils.setField(outbox, "lease", Duration.ofMinutes(5));
+		return outbox;
+	}
+
+	private static List<AnalyticsDTO> failingHematology(int from, int count) {
+		List<AnalyticsDTO> records = new ArrayList<>(count);
+		for (int i = from; i < from + count; i++) {
+			records.add(new AnalyticsDTO((long) i, LocalDateTime.of(2025, 1, 6, 8, 0), "L1",
+					"T1", "HEMA" + i, "NORMAL", 14.2, 12.0, 0.5, "g/dL", "+3s", "Failed"));
+		}
+		return records;
+	}
+
+	private static WestgardViolationDTO violation(AnalyticsDTO analytic, WestgardRule rule) {
+		return new WestgardViolationDTO(analytic.name(), analytic.level(), analytic.level_lot(),
+				analytic.date(), rule);
+	}
+
+	private AlertOutboxEntry queued(List<AnalyticsDTO> records) throws Exception {
+		var past = LocalDateTime.now().minusMinutes(5);
+		var violations = List.of(violation(records.get(0), WestgardRule.ONE_THREE_S));
+		var entry = new AlertOutboxEntry(RECIPIENTS, this.objectMapper.writeValueAsString(records),
+				this.objectMapper.writeValueAsString(violations), past, past);
+		entry.setStatus(AlertOutboxStatus.IN_FLIGHT);
+		entry.setClaimToken("lease");
+		entry.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+		return entry;
+	}
+
+	private void claims(List<AlertOutboxEntry> entries) {
+		when(this.alertOutboxRepository.claimDue(anyString(), any(), any(), anyInt()))
+				.thenReturn(entries.size());
+		when(this.alertOutboxRepository.findByClaimTokenOrderByIdAsc(anyString()))
+				.thenReturn(entries);
+	}
+
+	@Test
+	void dispatchDue_BurstAcrossIngests_SendsSingleDigest() throws Exception {
+		var first = this.queued(failingHematology(0, 25));
+		var second = this.queued(failingHematology(25, 15));
+		this.claims(List.of(first, second));
+
+		int digests = this.outbox(ServerSetupTest.SMTP.getPort()).dispatchDue();
+
+		assertEquals(1, digests);
+		var messages = greenMail.getReceivedMessages();
+		assertEquals(1, messages.length);
+		String body = GreenMailUtil.getBody(messages[0]);
+		assertTrue(body.contains("HEMA0"));
+		assertTrue(body.contains("HEMA39"));
+		assertEquals(AlertOutboxStatus.SENT, first.getStatus());
+		assertEquals(AlertOutboxStatus.SENT, second.getStatus());
+		assertNull(first.getClaimToken());
+		verify(this.alertOutboxRepository).saveAll(List.of(first, second));
+		// Rules captured at ingest are reported as they were, not re-evaluated at dispatch
+		verify(this.controlRulesValidators).renderViolations(List.of(
+				violation(failingHematology(0, 1).get(0), WestgardRule.ONE_THREE_S),
+				violation(failingHematology(25, 1).get(0), WestgardRule.ONE_THREE_S)));
+	}
+
+	@Test
+	void dispatchDue_SmtpUnavailable_SchedulesRetryWithBackoff() throws Exception {
+		var entry = this.queued(failingHematology(0, 3));
+		this.claims(List.of(entry));
+		var before = LocalDateTime.now();
+
+		int digests = this.outbox(ServerSetupTest.SMTP.getPort() + 1).dispatchDue();
+
+		assertEquals(0, digests);
+		assertEquals(AlertOutboxStatus.PENDING, entry.getStatus());
+		assertEquals(1, entry.getAttempts());
+		assertFalse(entry.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+		assertNotNull(entry.getLastError());
+		assertNull(entry.getLeaseUntil());
+		assertEquals(0, greenMail.getReceivedMessages().length);
+	}
+
+	@Test
+	void dispatchDue_NothingDue_DoesNotLoadEntries() {
+		int digests = this.outbox(ServerSetupTest.SMTP.getPort()).dispatchDue();
+
+		assertEquals(0, digests);
+		verify(this.alertOutboxRepository, never()).findByClaimTokenOrderByIdAsc(anyString());
+	}
+
+	@Test
+	void dispatchDue_LeaseTakenOverBeforeCompletion_LeavesOutcomeToNewOwner() throws Exception {
+		var entry = this.queued(failingHematology(0, 3));
+		this.claims(List.of(entry));
+		when(this.alertOutboxRepository.saveAll(anyList()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(AlertOutboxEntry.class, 1L));
+
+		int digests = this.outbox(ServerSetupTest.SMTP.getPort()).dispatchDue();
+
+		assertEquals(1, digests);
+		assertEquals(1, greenMail.getReceivedMessages().length);
+	}
+
+	@Test
+	void dispatchDue_LastAttemptFails_MarksEntryDead() throws Exception {
+		var entry = this.queued(failingHematology(0, 3));
+		entry.setAttempts(2);
+		this.claims(List.of(entry));
+
+		this.outbox(ServerSetupTest.SMTP.getPort() + 1).dispatchDue();
+
+		assertEquals(AlertOutboxStatus.DEAD, entry.getStatus());
+		assertEquals(3, entry.getAttempts());
+	}
+
+	@Test
+	void enqueue_OpenWindowForRecipients_JoinsExistingDeadline() {
+		var deadline = LocalDateTime.now().plusSeconds(40);
+		when(this.alertOutboxRepository.findOpenWindowDeadline(RECIPIENTS,
+				AlertOutboxStatus.PENDING)).thenReturn(deadline);
+
+		var records = failingHematology(0, 2);
+
+		this.outbox(ServerSetupTest.SMTP.getPort()).enqueue(records,
+				List.of(violation(records.get(1), WestgardRule.TWO_TWO_S)));
+
+		var captor = ArgumentCaptor.forClass(AlertOutboxEntry.class);
+		verify(this.alertOutboxRepository).save(captor.capture());
+		assertEquals(deadline, captor.getValue().getNextAttemptAt());
+		assertEquals(RECIPIENTS, captor.getValue().getRecipients());
+		assertTrue(captor.getValue().getViolations().contains("TWO_TWO_S"));
+	}
+
+	@Test
+	void backoff_GrowsExponentiallyUpToCap() {
+		var outbox = this.outbox(ServerSetupTest.SMTP.getPort());
+
+		assertEquals(Duration.ofSeconds(30), outbox.backoff(1));
+		assertEquals(Duration.ofSeconds(120), outbox.backoff(3));
+		assertEquals(Duration.ofMinutes(30), outbox.backoff(12));
+	}
+}
@@ -0,0 +1,100 @@
+package leonardo.labutilities.qualitylabpro.domains.shared.email.templates;
+
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ANALYTICS_WARNING_HEADER;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.ERROR_MESSAGE_TEMPLATE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.HTML_TEMPLATE;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.LAST_ANALYTICS_PARAGRAPH;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_ROW;
+import static leonardo.labutilities.qualitylabpro.domains.shared.email.constants.EmailTemplate.TABLE_STYLE;
+import static leonardo.labutilities.qualitylabpro.utils.AnalyticsHelperMocks.createComprehensiveRecordList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import leonardo.labutilities.qualitylabpro.domains.analytics.dtos.responses.AnalyticsDTO;
+
+class EmailTemplateRendererTests {
+
+	private static String legacyFailedAnalyticsBody(List<AnalyticsDTO> rows, String other) {
+		String formattedList = rows.stream()
+				.map(analytics -> String.format(TABLE_ROW, analytics.name(), analytics.level(),
+						analytics.value().toString(), analytics.mean().toString(),
+						analytics.rules(), analytics.description(),
+						analytics.date().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))))
+				.collect(Collectors.joining("\n"));
+		return String.format(HTML_TEMPLATE, ANALYTICS_WARNING_HEADER
+				+ String.format(TABLE_STYLE, formattedList) + LAST_ANALYTICS_PARAGRAPH + "\n" + other);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {HTML_TEMPLATE, TABLE_STYLE, TABLE_ROW, ERROR_MESSAGE_TEMPLATE})
+	@DisplayName("Compiled templates should render exactly like String.format for plain values")
+	void render_PlainValues_MatchesStringFormat(String template) {
+		CompiledTemplate compiled = CompiledTemplate.compile(template);
+		String[] values = new String[compiled.slots()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = "value" + i;
+		}
+
+		assertEquals(String.format(template, (Object[]) values),
+				compiled.render(new StringBuilder(), values).toString());
+	}
+
+	@Test
+	@DisplayName("Failed analytics body should match the previous String.format output")
+	void failedAnalyticsBody_PlainRecords_MatchesLegacyOutput() {
+		List<AnalyticsDTO> rows = createComprehensiveRecordList();
+		String other = "<div>Rule validation summary</div>";
+
+		assertEquals(legacyFailedAnalyticsBody(rows, other),
+				EmailTemplateRenderer.failedAnalyticsBody(rows, other));
+	}
+
+	@Test
+	@DisplayName("Row values should be HTML-escaped")
+	void failedAnalyticsBody_MarkupInValues_EscapesThem() {
+		AnalyticsDTO row = new AnalyticsDTO(1L, LocalDateTime.of(2025, 1, 6, 8, 0), "L1", "T1",
+				"<script>alert('x')</script>", "A&B", 1.0, 1.0, 0.1, "g/dL", "+3s",
+				"\"Failed\"");
+
+		String body = EmailTemplateRenderer.failedAnalyticsBody(List.of(row), "");
+
+		assertFalse(body.contains("<script>"));
+		assertTrue(body.contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;"));
+		assertTrue(body.contains(">A&amp;B</td>"));
+		assertTrue(body.contains(">&quot;Failed&quot;</td>"));
+	}
+
+	@Test
+	@DisplayName("User action content should escape the username and email")
+	void userAction_MarkupInUsername_EscapesIt() {
+		String content = EmailTemplateRenderer.userAction("Account Creation", "<b>bob</b>",
+				"bob@example.com", LocalDateTime.of(2025, 1, 6, 8, 0));
+
+		assertTrue(content.startsWith("<html><head></head><body><p>User <b>&lt;b&gt;bob"));
+		assertTrue(content.contains("Time: <b>2025-01-06T08:00</b>"));
+	}
+
+	@Test
+	@DisplayName("Unsupported format specifiers should be rejected at compile time")
+	void compile_UnsupportedSpecifier_Throws() {
+		assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("%d rows"));
+	}
+
+	@Test
+	@DisplayName("Rendering with the wrong number of values should fail")
+	void render_WrongValueCount_Throws() {
+		CompiledTemplate compiled = CompiledTemplate.compile(HTML_TEMPLATE);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> compiled.render(new StringBuilder(), "a", "b"));
+	}
+}